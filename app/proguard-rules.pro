@@ -1,21 +1,53 @@
-# Add project specific ProGuard rules here.
-# You can control the set of applied configuration files using the
-# proguardFiles setting in build.gradle.
-#
-# For more details, see
-#   http://developer.android.com/guide/developing/tools/proguard.html
+# R8 rules for the release build. The bundled Zebra AARs ship no consumer rules, so the
+# reflective entry points of the SDKs are kept here; everything else is shrunk and optimized.
 
-# If your project uses WebView with JS, uncomment the following
-# and specify the fully qualified class name to the JavaScript interface
-# class:
-#-keepclassmembers class fqcn.of.javascript.interface.for.webview {
-#   public *;
-#}
+# Keep line numbers so field stack traces stay readable; the mapping file restores names.
+-keepattributes SourceFile,LineNumberTable,Signature,InnerClasses,EnclosingMethod,*Annotation*
+-renamesourcefileattribute SourceFile
 
-# Uncomment this to preserve the line number information for
-# debugging stack traces.
-#-keepattributes SourceFile,LineNumberTable
+# --- Zebra RFID API3 (com.zebra.rfid.api3) ---
+# API3TransportWrapper, API3ProtocolWrapper and Actions create transports, protocols and access
+# helpers by class name, RFIDReader and the USB serial probers look up methods reflectively, and
+# API3Natives binds JNI methods by name. The public API is what the app calls, so the whole package
+# is kept rather than a list of names that may change with an SDK update.
+-keep class com.zebra.rfid.api3.** { *; }
+-keep interface com.zebra.rfid.api3.** { *; }
+-keepclasseswithmembernames,includedescriptorclasses class com.zebra.rfid.api3.** {
+    native <methods>;
+}
+# ZIOTC responses are mapped from JSON onto fields.
+-keepclassmembers class com.zebra.rfid.ZIOTC_SDK.** {
+    <fields>;
+    <init>(...);
+}
+# LLRP (FX readers) and ASCII protocol message classes: code paths this app cannot exercise on the
+# sleds it is tested with, so they are kept whole instead of relying on reachability analysis.
+-keep class com.zebra.LTK.org.llrp.ltk.generated.** { *; }
+-keep class com.zebra.ASCII_SDK.** { *; }
 
-# If you keep the line number information, uncomment this to
-# hide the original source file name.
-#-renamesourcefileattribute SourceFile
+# --- Zebra scanner SDK (com.zebra.scannercontrol) ---
+# SDKHandler reflects on Bluetooth classes and calls back through IDcsSdkApiDelegate; the app's
+# ScannerHandler implements that interface.
+-keep class com.zebra.scannercontrol.** { *; }
+-keep interface com.zebra.scannercontrol.** { *; }
+-keep class com.zebra.commoniolib.** { *; }
+
+# --- RFID host and serial services (AIDL/HIDL binder interfaces) ---
+-keep class com.zebra.rfidhost.** { *; }
+-keep class com.zebra.rfidserial.** { *; }
+-keep class vendor.zebra.hardware.** { *; }
+
+# Optional dependencies of SDK features the app does not use (FX reader SSH/firmware update, IoT
+# connector websockets, XML schema validation); their classes are not bundled.
+-dontwarn com.jcraft.jsch.**
+-dontwarn org.bouncycastle.**
+-dontwarn org.java_websocket.**
+-dontwarn org.apache.xerces.**
+
+# --- App ---
+# Activities, the service and the SDK callbacks are referenced from the manifest or implement
+# kept SDK interfaces; R8 keeps those automatically. Release builds strip verbose and debug logging.
+-assumenosideeffects class android.util.Log {
+    public static int v(...);
+    public static int d(...);
+}
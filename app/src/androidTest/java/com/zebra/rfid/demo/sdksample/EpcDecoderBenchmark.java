@@ -0,0 +1,69 @@
+package com.zebra.rfid.demo.sdksample;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Per-call cost and allocations of EPC decoding, which runs once per new tag on the enrichment
+ * path. The non-GS1 case measures the early header rejection most TIDs and proprietary EPCs take.
+ * <p>
+ * {@code ./gradlew :app:connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.zebra.rfid.demo.sdksample.EpcDecoderBenchmark}
+ */
+@RunWith(AndroidJUnit4.class)
+public class EpcDecoderBenchmark {
+    private static final String SGTIN_96 = "3074257BF7194E4000001A85";
+    private static final String SSCC_96 = "3174257BF4499602D2000000";
+    private static final String NON_GS1 = "E2801170200001234567ABCD";
+    private static final byte[] SGTIN_96_BYTES = {0x30, 0x74, 0x25, 0x7B, (byte) 0xF7, 0x19, 0x4E, 0x40, 0x00, 0x00, 0x1A, (byte) 0x85};
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    /** Keeps results reachable so the calls are not optimized away. */
+    private Object sink;
+
+    @Test
+    public void decodeSgtinHex() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            sink = EpcDecoder.decode(SGTIN_96);
+        }
+    }
+
+    @Test
+    public void decodeSsccHex() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            sink = EpcDecoder.decode(SSCC_96);
+        }
+    }
+
+    @Test
+    public void decodeSgtinBytes() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            sink = EpcDecoder.decode(SGTIN_96_BYTES);
+        }
+    }
+
+    @Test
+    public void rejectNonGs1() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            sink = EpcDecoder.decode(NON_GS1);
+        }
+    }
+
+    @Test
+    public void toGtin() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            sink = EpcDecoder.toGtin(SGTIN_96);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.Debug;
+
+/**
+ * Debug helper reading ART's process-wide allocation counter, used to measure the allocation
+ * rate of the tag ingest path on a device.
+ */
+final class AllocationMeter {
+    private static final String BYTES_ALLOCATED = "art.gc.bytes-allocated";
+    private static final String GC_COUNT = "art.gc.gc-count";
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * @return Total bytes allocated by the process so far, or -1 if the runtime does not report it.
+     */
+    static long bytesAllocated() {
+        return parse(Debug.getRuntimeStat(BYTES_ALLOCATED));
+    }
+
+    /**
+     * @return Number of garbage collections so far, or -1 if the runtime does not report it.
+     */
+    static long gcCount() {
+        return parse(Debug.getRuntimeStat(GC_COUNT));
+    }
+
+    private static long parse(String value) {
+        if (value == null) return -1;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
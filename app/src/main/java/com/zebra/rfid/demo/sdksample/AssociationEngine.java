@@ -0,0 +1,218 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pairs each scanned barcode with the best nearby RFID tag for commissioning.
+ * <p>
+ * Runs as a tag pipeline stage and keeps a sliding window of the last {@link #WINDOW_MS} of reads.
+ * Per-tag aggregates (read count, RSSI sum) are updated incrementally as reads enter and leave
+ * the window, so answering a scan only walks the tags currently in the window, not their reads.
+ * A candidate's score is its mean RSSI plus a bonus growing with the log of its read count, so a
+ * tag held close to the reader wins over a strong but rarely read tag further away. Scans are
+ * handed over from the barcode thread and answered on the stage thread; results go to
+ * {@link Listener}s as {@link Pair}s.
+ */
+class AssociationEngine implements TagRingBuffer.Handler, BarcodeDispatcher.Listener {
+    private static final String TAG = "RFID_SAMPLE Association";
+    /**
+     * Length of the read window considered for a scan.
+     */
+    static final long WINDOW_MS = 1000;
+    /**
+     * Score bonus per e-fold of reads in the window, in dBm.
+     */
+    static final double READ_COUNT_WEIGHT = 4.0;
+    /**
+     * Minimum score lead over the runner-up for a pair to count as unambiguous, in dBm.
+     */
+    static final double MIN_MARGIN = 3.0;
+    /**
+     * Maximum reads held in the window; older reads are evicted early when it is full.
+     */
+    private static final int WINDOW_CAPACITY = 8192;
+
+    /**
+     * A barcode paired with a tag.
+     */
+    static final class Pair {
+        final BarcodeScan scan;
+        /** Best candidate, or null if no tag was read in the window. */
+        final String epc;
+        final double score;
+        /** Score lead over the runner-up; infinite if there was none. */
+        final double margin;
+        final int reads;
+        final double meanRssi;
+        /** Number of tags in the window. */
+        final int candidates;
+
+        Pair(BarcodeScan scan, String epc, double score, double margin, int reads, double meanRssi, int candidates) {
+            this.scan = scan;
+            this.epc = epc;
+            this.score = score;
+            this.margin = margin;
+            this.reads = reads;
+            this.meanRssi = meanRssi;
+            this.candidates = candidates;
+        }
+
+        boolean isAmbiguous() {
+            return epc == null || margin < MIN_MARGIN;
+        }
+    }
+
+    /**
+     * Receives pairs on the association stage thread.
+     */
+    interface Listener {
+        void onPair(Pair pair);
+    }
+
+    /** Window aggregate for one tag. Stage thread only. */
+    private static final class Candidate {
+        final String epc;
+        int reads;
+        long rssiSum;
+        /** Position in {@link #active}, -1 when the tag has no reads in the window. */
+        int activeIndex = -1;
+
+        Candidate(String epc) {
+            this.epc = epc;
+        }
+    }
+
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<BarcodeScan> pendingScans = new ConcurrentLinkedQueue<>();
+    private volatile TagRingBuffer.Consumer stage;
+
+    // Stage thread state.
+    private final HashMap<String, Candidate> candidates = new HashMap<>();
+    private final ArrayList<Candidate> active = new ArrayList<>();
+    private final Candidate[] windowTags = new Candidate[WINDOW_CAPACITY];
+    private final short[] windowRssi = new short[WINDOW_CAPACITY];
+    private final long[] windowTimes = new long[WINDOW_CAPACITY];
+    private int windowHead = 0;
+    private int windowSize = 0;
+    private long latestRead = 0;
+
+    /**
+     * Attaches the engine to the read pipeline and the barcode stream. Call once.
+     */
+    void attach(TagPipeline pipeline, BarcodeDispatcher barcodes) {
+        stage = pipeline.addStage("association", this, false);
+        barcodes.addListener(this);
+    }
+
+    void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void onBarcodes(List<BarcodeScan> burst) {
+        pendingScans.addAll(burst);
+        TagRingBuffer.Consumer s = stage;
+        if (s != null) s.alert();
+    }
+
+    @Override
+    public void onRead(String epc, short rssi, long timestamp) {
+        Candidate candidate = candidates.get(epc);
+        if (candidate == null) {
+            candidate = new Candidate(epc);
+            candidates.put(epc, candidate);
+        }
+        if (windowSize == WINDOW_CAPACITY) evictOldest();
+        int slot = (windowHead + windowSize) % WINDOW_CAPACITY;
+        windowTags[slot] = candidate;
+        windowRssi[slot] = rssi;
+        windowTimes[slot] = timestamp;
+        windowSize++;
+        if (candidate.reads++ == 0) {
+            candidate.activeIndex = active.size();
+            active.add(candidate);
+        }
+        candidate.rssiSum += rssi;
+        if (timestamp > latestRead) latestRead = timestamp;
+    }
+
+    @Override
+    public void onEndOfBatch() {
+        BarcodeScan scan;
+        while ((scan = pendingScans.poll()) != null) {
+            answer(scan);
+        }
+        // Keep the window trimmed while idle so it reflects the field when the next scan arrives.
+        evictBefore(latestRead - WINDOW_MS);
+    }
+
+    private void answer(BarcodeScan scan) {
+        evictBefore(scan.timestamp - WINDOW_MS);
+        Candidate best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        double secondScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0, n = active.size(); i < n; i++) {
+            Candidate c = active.get(i);
+            double score = score(c);
+            if (score > bestScore) {
+                secondScore = bestScore;
+                bestScore = score;
+                best = c;
+            } else if (score > secondScore) {
+                secondScore = score;
+            }
+        }
+        Pair pair = best == null
+                ? new Pair(scan, null, 0, 0, 0, 0, 0)
+                : new Pair(scan, best.epc, bestScore, bestScore - secondScore, best.reads,
+                        (double) best.rssiSum / best.reads, active.size());
+        if (BuildConfig.DEBUG) {
+            Log.d(TAG, "Pair \"" + scan.text + "\" -> " + pair.epc + " score=" + pair.score
+                    + " margin=" + pair.margin + " of " + pair.candidates);
+        }
+        for (Listener listener : listeners) {
+            try {
+                listener.onPair(pair);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Pair listener failed", e);
+            }
+        }
+    }
+
+    private static double score(Candidate c) {
+        return (double) c.rssiSum / c.reads + READ_COUNT_WEIGHT * Math.log(c.reads);
+    }
+
+    private void evictBefore(long cutoff) {
+        while (windowSize > 0 && windowTimes[windowHead] < cutoff) evictOldest();
+    }
+
+    private void evictOldest() {
+        Candidate c = windowTags[windowHead];
+        windowTags[windowHead] = null;
+        c.rssiSum -= windowRssi[windowHead];
+        if (--c.reads == 0) {
+            // Swap-remove from the active list.
+            Candidate last = active.remove(active.size() - 1);
+            if (last != c) {
+                active.set(c.activeIndex, last);
+                last.activeIndex = c.activeIndex;
+            }
+            c.activeIndex = -1;
+            // Only tags in the window are kept, which bounds memory in long sessions.
+            candidates.remove(c.epc);
+        }
+        windowHead = (windowHead + 1) % WINDOW_CAPACITY;
+        windowSize--;
+    }
+}
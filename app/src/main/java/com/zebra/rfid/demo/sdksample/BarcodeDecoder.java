@@ -0,0 +1,84 @@
+package com.zebra.rfid.demo.sdksample;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns raw scanner SDK barcode bytes into text using the symbology reported with them.
+ * <p>
+ * Linear symbologies encode single bytes (ISO/IEC 8859-1 by default), so they are decoded as
+ * Latin-1 without charset lookup. 2D symbologies commonly carry UTF-8; those are decoded strictly
+ * as UTF-8 when they contain non-ASCII bytes and fall back to Latin-1 if that fails. GS1 symbologies
+ * are flagged so callers can split element strings on the GS (FNC1) separator. Trailing CR/LF
+ * suffixes added by the scanner are dropped. Not thread-safe; use one instance per thread.
+ */
+final class BarcodeDecoder {
+    /** Symbology codes as reported in {@code dcssdkEventBarcode}. */
+    static final int CODE_128 = 0x03;
+    static final int EAN_13 = 0x0B;
+    static final int GS1_128 = 0x0F;
+    static final int PDF_417 = 0x11;
+    static final int DATA_MATRIX = 0x1B;
+    static final int QR_CODE = 0x1C;
+    static final int GS1_DATA_MATRIX = 0xC1;
+    static final int GS1_QR = 0xC2;
+
+    /** Group separator; stands in for FNC1 between GS1 element strings. */
+    static final char GS1_SEPARATOR = '\u001D';
+
+    private static final boolean[] TWO_DIMENSIONAL = new boolean[256];
+    private static final boolean[] GS1 = new boolean[256];
+
+    static {
+        int[] twoDimensional = {PDF_417, 0x1A, DATA_MATRIX, QR_CODE, 0x25, 0x28, 0x29, 0x2C, 0x2D, 0x2E,
+                0x9A, 0xB7, GS1_DATA_MATRIX, GS1_QR, 0xC4, 0xC8};
+        for (int type : twoDimensional) TWO_DIMENSIONAL[type] = true;
+        // GS1-128, GS1 DataBar family, GS1 DataMatrix/QR and the GS1 composite codes.
+        int[] gs1 = {GS1_128, 0x30, 0x31, 0x32, 0xB4, GS1_DATA_MATRIX, GS1_QR};
+        for (int type : gs1) GS1[type] = true;
+        for (int type = 0x51; type <= 0x59; type++) GS1[type] = true;
+        for (int type = 0x61; type <= 0x68; type++) GS1[type] = true;
+    }
+
+    private final CharsetDecoder utf8 = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+    static boolean isTwoDimensional(int symbology) {
+        return symbology >= 0 && symbology < 256 && TWO_DIMENSIONAL[symbology];
+    }
+
+    static boolean isGs1(int symbology) {
+        return symbology >= 0 && symbology < 256 && GS1[symbology];
+    }
+
+    /**
+     * Decodes barcode data without copying the input array.
+     * @param data Bytes as delivered by the scanner SDK.
+     * @param symbology Barcode type reported with the data.
+     * @return The barcode text; empty for null input.
+     */
+    String decode(byte[] data, int symbology) {
+        if (data == null) return "";
+        int end = data.length;
+        while (end > 0 && (data[end - 1] == '\r' || data[end - 1] == '\n')) end--;
+        if (!isTwoDimensional(symbology) || isAscii(data, end)) {
+            return new String(data, 0, end, StandardCharsets.ISO_8859_1);
+        }
+        try {
+            return utf8.decode(ByteBuffer.wrap(data, 0, end)).toString();
+        } catch (CharacterCodingException e) {
+            return new String(data, 0, end, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private static boolean isAscii(byte[] data, int end) {
+        for (int i = 0; i < end; i++) {
+            if (data[i] < 0) return false;
+        }
+        return true;
+    }
+}
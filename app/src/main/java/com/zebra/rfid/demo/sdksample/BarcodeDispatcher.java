@@ -0,0 +1,145 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves barcode events off the scanner SDK callback thread, decodes them and hands them to
+ * listeners in bursts.
+ * <p>
+ * {@link #submit} only stamps the event and queues the SDK's byte array; decoding, correlation
+ * with RFID reads and listener calls run on the "barcode" thread. Events arriving while a burst is
+ * being processed (batch scanning, multi-code capture) are drained together and delivered as one
+ * list, so listeners see each burst once instead of one hop per code.
+ * <p>
+ * Each scan is correlated with the {@link TagStore}: tags read within {@link #CORRELATION_WINDOW_MS}
+ * of the scan are counted and the strongest one is attached to the scan.
+ */
+class BarcodeDispatcher {
+    private static final String TAG = "RFID_SAMPLE Barcode";
+    /**
+     * Maximum distance between a tag read and a barcode scan for them to be correlated.
+     */
+    static final long CORRELATION_WINDOW_MS = 500;
+
+    /**
+     * Receives decoded bursts on the barcode thread.
+     */
+    interface Listener {
+        void onBarcodes(List<BarcodeScan> burst);
+    }
+
+    private static final class RawScan {
+        final byte[] data;
+        final int symbology;
+        final int scannerId;
+        final long timestamp;
+
+        RawScan(byte[] data, int symbology, int scannerId, long timestamp) {
+            this.data = data;
+            this.symbology = symbology;
+            this.scannerId = scannerId;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private final TagStore store;
+    private final BarcodeDecoder decoder = new BarcodeDecoder();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "barcode"));
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ArrayDeque<RawScan> pending = new ArrayDeque<>();
+    private boolean drainScheduled = false;
+    private final Metrics.Histogram latency;
+
+    /**
+     * @param store Tag store used to correlate scans with RFID reads.
+     * @param metrics Registry receiving the time from scan to listener delivery.
+     */
+    BarcodeDispatcher(TagStore store, Metrics metrics) {
+        this.store = store;
+        latency = metrics.histogram(Metrics.BARCODE_LATENCY, "ms");
+    }
+
+    void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Queues one barcode event. Safe to call from the SDK callback thread; does not decode.
+     * @param data Raw barcode bytes; kept by reference, must not be modified afterwards.
+     */
+    void submit(byte[] data, int symbology, int scannerId) {
+        RawScan scan = new RawScan(data, symbology, scannerId, SystemClock.elapsedRealtime());
+        EventLog.record(EventLog.Event.BARCODE, symbology, data != null ? data.length : 0);
+        boolean schedule;
+        synchronized (pending) {
+            pending.add(scan);
+            schedule = !drainScheduled;
+            drainScheduled = true;
+        }
+        if (schedule) executor.execute(this::drain);
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void drain() {
+        ArrayList<RawScan> burst = new ArrayList<>();
+        synchronized (pending) {
+            burst.addAll(pending);
+            pending.clear();
+            drainScheduled = false;
+        }
+        ArrayList<BarcodeScan> scans = new ArrayList<>(burst.size());
+        for (RawScan raw : burst) {
+            scans.add(correlate(decoder.decode(raw.data, raw.symbology), raw));
+        }
+        if (BuildConfig.DEBUG) {
+            BarcodeScan last = scans.get(scans.size() - 1);
+            Log.d(TAG, "Burst of " + scans.size() + ", last: type=0x" + Integer.toHexString(last.symbology)
+                    + " \"" + last.text + "\" tag=" + last.correlatedEpc + " (" + last.correlatedTags + " in window)");
+        }
+        for (Listener listener : listeners) {
+            try {
+                listener.onBarcodes(scans);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Barcode listener failed", e);
+            }
+        }
+        long now = SystemClock.elapsedRealtime();
+        for (RawScan raw : burst) latency.record(now - raw.timestamp);
+    }
+
+    private BarcodeScan correlate(String text, RawScan raw) {
+        long from = raw.timestamp - CORRELATION_WINDOW_MS;
+        long to = raw.timestamp + CORRELATION_WINDOW_MS;
+        String best = null;
+        short bestRssi = Short.MIN_VALUE;
+        int count = 0;
+        int size = store.size();
+        for (int i = 0; i < size; i++) {
+            if (store.getLastSeen(i) < from || store.getFirstSeen(i) > to) continue;
+            String epc = store.getEpc(i);
+            if (epc == null) continue;
+            count++;
+            short rssi = store.getRssi(i);
+            if (best == null || rssi > bestRssi) {
+                best = epc;
+                bestRssi = rssi;
+            }
+        }
+        return new BarcodeScan(text, raw.symbology, raw.scannerId, raw.timestamp, best, count);
+    }
+}
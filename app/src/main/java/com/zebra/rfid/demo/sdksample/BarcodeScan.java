@@ -0,0 +1,28 @@
+package com.zebra.rfid.demo.sdksample;
+
+/**
+ * One decoded barcode, with the RFID tag read around the same time if there was one.
+ */
+final class BarcodeScan {
+    final String text;
+    /** Barcode type as reported by the scanner SDK. */
+    final int symbology;
+    final boolean gs1;
+    final int scannerId;
+    /** Arrival time on the {@code SystemClock.elapsedRealtime()} clock shared with tag reads. */
+    final long timestamp;
+    /** Strongest tag seen within the correlation window, or null. */
+    final String correlatedEpc;
+    /** Number of tags seen within the correlation window. */
+    final int correlatedTags;
+
+    BarcodeScan(String text, int symbology, int scannerId, long timestamp, String correlatedEpc, int correlatedTags) {
+        this.text = text;
+        this.symbology = symbology;
+        this.gs1 = BarcodeDecoder.isGs1(symbology);
+        this.scannerId = scannerId;
+        this.timestamp = timestamp;
+        this.correlatedEpc = correlatedEpc;
+        this.correlatedTags = correlatedTags;
+    }
+}
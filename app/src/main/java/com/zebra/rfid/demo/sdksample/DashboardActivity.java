@@ -0,0 +1,151 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.content.ComponentName;
+import android.content.Intent;
+import android.content.ServiceConnection;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import java.util.Locale;
+
+/**
+ * Live performance dashboard for operators and support.
+ * <p>
+ * Attaches to the running {@link InventoryService} without starting it and samples the reader's
+ * {@link Metrics} every {@link #REFRESH_MS}. Rates and latency percentiles cover the interval
+ * since the previous sample, computed from the difference of two cumulative samples, so the
+ * dashboard adds no work to the read path.
+ */
+public class DashboardActivity extends AppCompatActivity {
+    private static final long REFRESH_MS = 500;
+
+    private final Handler refreshHandler = new Handler(Looper.getMainLooper());
+    private final Runnable refreshTask = new Runnable() {
+        @Override
+        public void run() {
+            refresh();
+            refreshHandler.postDelayed(this, REFRESH_MS);
+        }
+    };
+    private TextView metricsText;
+    private boolean serviceBound = false;
+    private Metrics metrics;
+
+    // Previous sample, for rates and windowed percentiles.
+    private long sampledAt = 0;
+    private long reads;
+    private long newTags;
+    private long gcCount;
+    private long allocated;
+    private Metrics.HistogramSnapshot tagToScreen;
+    private Metrics.HistogramSnapshot commandTime;
+    private Metrics.HistogramSnapshot notifySize;
+    private Metrics.HistogramSnapshot barcodeLatency;
+
+    private final ServiceConnection serviceConnection = new ServiceConnection() {
+        @Override
+        public void onServiceConnected(ComponentName name, IBinder service) {
+            metrics = ((InventoryService.LocalBinder) service).getService().getRfidHandler().getMetrics();
+            sampledAt = 0;
+        }
+
+        @Override
+        public void onServiceDisconnected(ComponentName name) {
+            metrics = null;
+        }
+    };
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_dashboard);
+        setTitle(R.string.dashboard);
+        metricsText = findViewById(R.id.dashboard_metrics);
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        // Flag 0: only attach to a service MainActivity already started.
+        serviceBound = bindService(new Intent(this, InventoryService.class), serviceConnection, 0);
+        refreshHandler.post(refreshTask);
+    }
+
+    @Override
+    protected void onStop() {
+        refreshHandler.removeCallbacks(refreshTask);
+        if (serviceBound) {
+            unbindService(serviceConnection);
+            serviceBound = false;
+        }
+        metrics = null;
+        super.onStop();
+    }
+
+    private void refresh() {
+        Metrics m = metrics;
+        if (m == null) {
+            metricsText.setText(R.string.dashboard_no_service);
+            return;
+        }
+        long now = SystemClock.elapsedRealtime();
+        long reads = m.value(Metrics.TAG_READS);
+        long newTags = m.value(Metrics.TAGS_NEW);
+        long gcCount = m.value(Metrics.GC_COUNT);
+        long allocated = m.value(Metrics.ALLOCATED_BYTES);
+        Metrics.HistogramSnapshot tagToScreen = m.snapshot(Metrics.TAG_TO_SCREEN);
+        Metrics.HistogramSnapshot commandTime = m.snapshot(Metrics.COMMAND_TIME);
+        Metrics.HistogramSnapshot notifySize = m.snapshot(Metrics.READ_NOTIFY_TAGS);
+        Metrics.HistogramSnapshot barcodeLatency = m.snapshot(Metrics.BARCODE_LATENCY);
+        if (sampledAt > 0 && now > sampledAt) {
+            double seconds = (now - sampledAt) / 1000.0;
+            Metrics.HistogramSnapshot screen = tagToScreen.since(this.tagToScreen);
+            Metrics.HistogramSnapshot commands = commandTime.since(this.commandTime);
+            Metrics.HistogramSnapshot notifies = notifySize.since(this.notifySize);
+            Metrics.HistogramSnapshot barcodes = barcodeLatency.since(this.barcodeLatency);
+            StringBuilder sb = new StringBuilder();
+            line(sb, "Reads/s", "%.0f", (reads - this.reads) / seconds);
+            line(sb, "Unique/s", "%.0f", (newTags - this.newTags) / seconds);
+            line(sb, "Unique tags", "%d", m.value(Metrics.TAGS_UNIQUE));
+            line(sb, "Tags/notify", "%.1f", notifies.mean());
+            sb.append('\n');
+            line(sb, "Tag to screen", "p50 %d  p95 %d  p99 %d ms",
+                    screen.percentile(0.5), screen.percentile(0.95), screen.percentile(0.99));
+            line(sb, "Ring backlog", "%d", m.value(Metrics.TAG_RING_BACKLOG));
+            line(sb, "Reads dropped", "%d", m.value(Metrics.TAG_READS_DROPPED));
+            sb.append('\n');
+            line(sb, "Commands/s", "%.1f", commands.count / seconds);
+            line(sb, "Command time", "p50 %.1f  p99 %.1f ms",
+                    commands.percentile(0.5) / 1000.0, commands.percentile(0.99) / 1000.0);
+            line(sb, "Executor backlog", "%d", m.value(Metrics.COMMAND_BACKLOG));
+            line(sb, "Commands saved", "%d of %d", m.value(Metrics.COMMANDS_COALESCED), m.value(Metrics.COMMANDS_SUBMITTED));
+            sb.append('\n');
+            line(sb, "Barcodes", "%d", m.value(Metrics.BARCODES));
+            line(sb, "Barcode latency", "p50 %d  p99 %d ms", barcodes.percentile(0.5), barcodes.percentile(0.99));
+            sb.append('\n');
+            if (gcCount >= 0) line(sb, "GC/s", "%.1f", (gcCount - this.gcCount) / seconds);
+            if (allocated >= 0) line(sb, "Allocated", "%.2f MB/s", (allocated - this.allocated) / seconds / 1e6);
+            line(sb, "Heap used", "%.1f MB", m.value(Metrics.HEAP_USED_BYTES) / 1e6);
+            metricsText.setText(sb);
+        }
+        sampledAt = now;
+        this.reads = reads;
+        this.newTags = newTags;
+        this.gcCount = gcCount;
+        this.allocated = allocated;
+        this.tagToScreen = tagToScreen;
+        this.commandTime = commandTime;
+        this.notifySize = notifySize;
+        this.barcodeLatency = barcodeLatency;
+    }
+
+    private static void line(StringBuilder sb, String label, String format, Object... args) {
+        sb.append(String.format(Locale.US, "%-18s", label)).append(String.format(Locale.US, format, args)).append('\n');
+    }
+}
@@ -0,0 +1,162 @@
+package com.zebra.rfid.demo.sdksample;
+
+import java.util.Arrays;
+
+/**
+ * Decodes GS1 EPC binary encodings from the hex tag IDs reported by the SDK.
+ * <p>
+ * Supports the 96-bit schemes of the EPC Tag Data Standard in common use: SGTIN-96 (trade items),
+ * SSCC-96 (logistic units) and GRAI-96 (returnable assets). Decoding is table-driven: hex digits
+ * map to bytes through a lookup table, the header selects the {@link Scheme}, and the partition
+ * value selects precomputed field widths, so each field is one masked read of a 64-bit window.
+ * Non-GS1 tag IDs (TIDs, proprietary EPCs) decode to null.
+ */
+final class EpcDecoder {
+    private static final int EPC_96_BYTES = 12;
+
+    /**
+     * Supported schemes. For partition value p, the company prefix takes {@code COMPANY_BITS[p]}
+     * bits and {@code COMPANY_DIGITS[p]} digits; the reference field takes the rest of the
+     * {@code partitionedBits} and of the {@code referenceDigits}.
+     */
+    enum Scheme {
+        SGTIN_96(0x30, "sgtin", 44, 13, 38),
+        SSCC_96(0x31, "sscc", 58, 17, 0),
+        GRAI_96(0x33, "grai", 44, 12, 38);
+
+        private static final int[] COMPANY_BITS = {40, 37, 34, 30, 27, 24, 20};
+        private static final int[] COMPANY_DIGITS = {12, 11, 10, 9, 8, 7, 6};
+
+        final int header;
+        final String uriName;
+        final int partitionedBits;
+        final int referenceDigits;
+        /** Serial number bits after the partitioned fields; 0 if the rest is reserved and zero. */
+        final int serialBits;
+
+        Scheme(int header, String uriName, int partitionedBits, int referenceDigits, int serialBits) {
+            this.header = header;
+            this.uriName = uriName;
+            this.partitionedBits = partitionedBits;
+            this.referenceDigits = referenceDigits;
+            this.serialBits = serialBits;
+        }
+    }
+
+    private static final Scheme[] SCHEME_BY_HEADER = new Scheme[256];
+    /**
+     * Hex digit value per ASCII character, -1 for non-hex characters.
+     */
+    private static final byte[] HEX_VALUE = new byte[128];
+    private static final long[] POW10 = new long[19];
+
+    static {
+        for (Scheme scheme : Scheme.values()) SCHEME_BY_HEADER[scheme.header] = scheme;
+        Arrays.fill(HEX_VALUE, (byte) -1);
+        for (int i = 0; i < 10; i++) HEX_VALUE['0' + i] = (byte) i;
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUE['A' + i] = (byte) (10 + i);
+            HEX_VALUE['a' + i] = (byte) (10 + i);
+        }
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10;
+    }
+
+    private EpcDecoder() {
+    }
+
+    /**
+     * @param epc Tag ID in hex, as reported by the SDK.
+     * @return The decoded EPC, or null for unsupported schemes and invalid values.
+     */
+    static Gs1Epc decode(String epc) {
+        if (epc == null || epc.length() != EPC_96_BYTES * 2) return null;
+        // The header alone rules out most non-GS1 IDs before any conversion.
+        int header = hexValue(epc.charAt(0)) << 4 | hexValue(epc.charAt(1));
+        if (header < 0 || SCHEME_BY_HEADER[header] == null) return null;
+        byte[] bytes = new byte[EPC_96_BYTES];
+        for (int i = 0; i < EPC_96_BYTES; i++) {
+            int high = hexValue(epc.charAt(2 * i));
+            int low = hexValue(epc.charAt(2 * i + 1));
+            if ((high | low) < 0) return null;
+            bytes[i] = (byte) (high << 4 | low);
+        }
+        return decode(bytes);
+    }
+
+    /**
+     * @param epc EPC bank contents starting at the header, at least 12 bytes.
+     * @return The decoded EPC, or null for unsupported schemes and invalid values.
+     */
+    static Gs1Epc decode(byte[] epc) {
+        if (epc == null || epc.length < EPC_96_BYTES) return null;
+        Scheme scheme = SCHEME_BY_HEADER[epc[0] & 0xFF];
+        if (scheme == null) return null;
+        int filter = (int) bits(epc, 8, 3);
+        int partition = (int) bits(epc, 11, 3);
+        if (partition >= Scheme.COMPANY_BITS.length) return null;
+        int companyBits = Scheme.COMPANY_BITS[partition];
+        int companyDigits = Scheme.COMPANY_DIGITS[partition];
+        int referenceDigits = scheme.referenceDigits - companyDigits;
+        long company = bits(epc, 14, companyBits);
+        long reference = bits(epc, 14 + companyBits, scheme.partitionedBits - companyBits);
+        // Values that do not fit their digit count are invalid encodings.
+        if (company >= POW10[companyDigits] || reference >= POW10[referenceDigits]) return null;
+        int rest = 14 + scheme.partitionedBits;
+        String serial = null;
+        if (scheme.serialBits > 0) {
+            // Numeric serials carry no leading zeros in the TDS, so none are added.
+            serial = Long.toString(bits(epc, rest, scheme.serialBits));
+        } else if (bits(epc, rest, 96 - rest) != 0) {
+            return null;
+        }
+        return new Gs1Epc(scheme, filter, digits(company, companyDigits), digits(reference, referenceDigits), serial);
+    }
+
+    /**
+     * @param epc Tag ID in hex, as reported by the SDK.
+     * @return The GTIN-14 of an SGTIN EPC, or null for other EPCs.
+     */
+    static String toGtin(String epc) {
+        Gs1Epc decoded = decode(epc);
+        return decoded != null && decoded.scheme == Scheme.SGTIN_96 ? decoded.getGs1Key() : null;
+    }
+
+    /**
+     * @return The GS1 mod-10 check digit over the first {@code length} digits.
+     */
+    static int checkDigit(char[] digits, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            int d = digits[i] - '0';
+            // Weights 3 and 1 alternate from the rightmost data digit.
+            sum += ((length - i) & 1) == 1 ? 3 * d : d;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Reads a field of up to 56 bits, most significant bit first, from the bytes holding it.
+     */
+    static long bits(byte[] data, int offset, int length) {
+        int first = offset >> 3;
+        int last = (offset + length - 1) >> 3;
+        long window = 0;
+        for (int i = first; i <= last; i++) window = (window << 8) | (data[i] & 0xFF);
+        int trailing = ((last + 1) << 3) - (offset + length);
+        return (window >>> trailing) & ((1L << length) - 1);
+    }
+
+    private static int hexValue(char c) {
+        return c < 128 ? HEX_VALUE[c] : -1;
+    }
+
+    private static String digits(long value, int count) {
+        char[] out = new char[count];
+        for (int i = count - 1; i >= 0; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,152 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Structured, allocation-free event log for hot paths.
+ * <p>
+ * Each {@link #record} stores the event code, two numeric arguments, the thread and a timestamp in
+ * a fixed binary ring of the last {@link #CAPACITY} events; nothing is formatted at that point. A
+ * record is also printed to logcat only if its level passes {@link #isLoggable}, and the check
+ * happens before any string is built, so release builds (logcat from WARN) pay a few array writes
+ * per event. {@link #dump} formats the ring on demand, e.g. from the menu or after a field issue.
+ * <p>
+ * Any thread may record. Writers claim slots with a counter and stamp them before and after the
+ * write, like {@link TagRingBuffer}, so a dump racing with writers skips torn slots.
+ */
+final class EventLog {
+    private static final String TAG = "RFID_SAMPLE Event";
+    static final int CAPACITY = 2048;
+    private static final int MASK = CAPACITY - 1;
+    private static final int FIELDS = 4;
+    private static final long EMPTY = -1;
+    /**
+     * Lowest level also printed to logcat.
+     */
+    private static final int LOGCAT_LEVEL = BuildConfig.DEBUG ? Log.VERBOSE : Log.WARN;
+
+    /**
+     * Recorded events with their level and argument format.
+     */
+    enum Event {
+        TRIGGER(Log.DEBUG, "trigger pressed=%d"),
+        TRIGGER_DEBOUNCED(Log.DEBUG, "trigger debounced pressed=%d"),
+        TRIGGER_IGNORED_BUSY(Log.INFO, "trigger press ignored, reader busy"),
+        INVENTORY_START(Log.DEBUG, "inventory started"),
+        INVENTORY_STOP(Log.DEBUG, "inventory stopped"),
+        READ_NOTIFY(Log.VERBOSE, "read notify tags=%d"),
+        OPERATION_END_SUMMARY(Log.DEBUG, "operation end summary"),
+        BATTERY(Log.INFO, "battery level=%d%% charging=%d"),
+        UNHANDLED_STATUS(Log.DEBUG, "unhandled status event %d"),
+        BARCODE(Log.DEBUG, "barcode type=0x%x bytes=%d"),
+        COMMAND_COALESCED(Log.DEBUG, "command kind=%d coalesced, total=%d"),
+        TRIGGER_SUBSCRIBE(Log.VERBOSE, "trigger events rfid=%d"),
+        TRIGGER_MODE(Log.DEBUG, "trigger mode rfid=%d ok=%d");
+
+        final int level;
+        final String format;
+
+        Event(int level, String format) {
+            this.level = level;
+            this.format = format;
+        }
+    }
+
+    private static final Event[] EVENTS = Event.values();
+    private static final AtomicLongArray data = new AtomicLongArray(CAPACITY * FIELDS);
+    private static final AtomicLongArray stamps = new AtomicLongArray(CAPACITY);
+    private static final AtomicLong sequence = new AtomicLong();
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) stamps.set(i, EMPTY);
+    }
+
+    private EventLog() {
+    }
+
+    /**
+     * @return True if events of this level are printed to logcat; guard any string building with it.
+     */
+    static boolean isLoggable(int level) {
+        return level >= LOGCAT_LEVEL;
+    }
+
+    static void record(Event event) {
+        record(event, 0, 0);
+    }
+
+    static void record(Event event, long arg0) {
+        record(event, arg0, 0);
+    }
+
+    /**
+     * Appends an event to the ring, and to logcat if its level is enabled.
+     */
+    static void record(Event event, long arg0, long arg1) {
+        long seq = sequence.getAndIncrement();
+        int slot = (int) (seq & MASK);
+        int base = slot * FIELDS;
+        // Ordered (store-store) writes are enough for the stamp protocol and avoid a full fence per field.
+        stamps.lazySet(slot, EMPTY);
+        data.lazySet(base, SystemClock.elapsedRealtimeNanos());
+        data.lazySet(base + 1, ((long) event.ordinal() << 48) | (Thread.currentThread().getId() & 0xFFFFFFFFFFFFL));
+        data.lazySet(base + 2, arg0);
+        data.lazySet(base + 3, arg1);
+        stamps.lazySet(slot, seq);
+        if (isLoggable(event.level)) Log.println(event.level, TAG, format(event, arg0, arg1));
+    }
+
+    /**
+     * Writes the recorded events, oldest first, as text.
+     * @return Number of events written.
+     */
+    static int dump(PrintWriter out) {
+        long end = sequence.get();
+        long start = Math.max(0, end - CAPACITY);
+        int written = 0;
+        for (long seq = start; seq < end; seq++) {
+            int slot = (int) (seq & MASK);
+            int base = slot * FIELDS;
+            if (stamps.get(slot) != seq) continue;
+            long time = data.get(base);
+            long code = data.get(base + 1);
+            long arg0 = data.get(base + 2);
+            long arg1 = data.get(base + 3);
+            if (stamps.get(slot) != seq) continue;
+            int ordinal = (int) (code >>> 48);
+            if (ordinal >= EVENTS.length) continue;
+            Event event = EVENTS[ordinal];
+            out.printf(Locale.US, "%d.%06d %c tid=%d %s%n", time / 1000000000L, time / 1000 % 1000000,
+                    "VVVDIWEA".charAt(Math.min(event.level, 7)), code & 0xFFFFFFFFFFFFL, format(event, arg0, arg1));
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Dumps the ring into a new file.
+     * @param dir Target directory, e.g. the app's external files directory.
+     * @return The written file.
+     */
+    static File dumpToFile(File dir) throws IOException {
+        File file = new File(dir, "events-" + System.currentTimeMillis() + ".txt");
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            int count = dump(out);
+            Log.i(TAG, "Dumped " + count + " events to " + file);
+        }
+        return file;
+    }
+
+    private static String format(Event event, long arg0, long arg1) {
+        return String.format(Locale.US, event.format, arg0, arg1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.zebra.rfid.demo.sdksample;
+
+/**
+ * A decoded GS1 EPC: scheme, filter value and the GS1 key fields as decimal digit strings with their
+ * leading zeros, as laid out by the EPC Tag Data Standard.
+ * <p>
+ * {@link #getGs1Key()} gives the key with its check digit (GTIN-14, SSCC-18 or GRAI); the URI and
+ * element string forms are built on demand.
+ */
+final class Gs1Epc {
+    final EpcDecoder.Scheme scheme;
+    final int filter;
+    final String companyPrefix;
+    /**
+     * Second key field: indicator digit and item reference (SGTIN), extension digit and serial
+     * reference (SSCC) or asset type (GRAI).
+     */
+    final String reference;
+    /**
+     * Serial number, or null for SSCC.
+     */
+    final String serial;
+
+    Gs1Epc(EpcDecoder.Scheme scheme, int filter, String companyPrefix, String reference, String serial) {
+        this.scheme = scheme;
+        this.filter = filter;
+        this.companyPrefix = companyPrefix;
+        this.reference = reference;
+        this.serial = serial;
+    }
+
+    /**
+     * @return GTIN-14 for SGTIN, SSCC-18 for SSCC, the 14-digit GRAI without serial for GRAI.
+     */
+    String getGs1Key() {
+        char[] key;
+        int pos;
+        if (scheme == EpcDecoder.Scheme.GRAI_96) {
+            // GRAI: a leading 0, company prefix and asset type.
+            key = new char[14];
+            key[0] = '0';
+            pos = 1;
+        } else {
+            // Indicator/extension digit first, then company prefix and the rest of the reference.
+            key = new char[scheme == EpcDecoder.Scheme.SSCC_96 ? 18 : 14];
+            key[0] = reference.charAt(0);
+            pos = 1;
+        }
+        companyPrefix.getChars(0, companyPrefix.length(), key, pos);
+        pos += companyPrefix.length();
+        int from = scheme == EpcDecoder.Scheme.GRAI_96 ? 0 : 1;
+        reference.getChars(from, reference.length(), key, pos);
+        pos += reference.length() - from;
+        key[pos] = (char) ('0' + EpcDecoder.checkDigit(key, pos));
+        return new String(key);
+    }
+
+    /**
+     * @return The pure identity URI, e.g. {@code urn:epc:id:sgtin:0614141.812345.6789}.
+     */
+    String toUri() {
+        StringBuilder sb = new StringBuilder(48).append("urn:epc:id:").append(scheme.uriName).append(':')
+                .append(companyPrefix).append('.').append(reference);
+        if (serial != null) sb.append('.').append(serial);
+        return sb.toString();
+    }
+
+    /**
+     * @return The GS1 element string with application identifiers, e.g. {@code (01)80614141123458(21)6789}.
+     */
+    String toElementString() {
+        switch (scheme) {
+            case SGTIN_96:
+                return "(01)" + getGs1Key() + "(21)" + serial;
+            case SSCC_96:
+                return "(00)" + getGs1Key();
+            default:
+                return "(8003)" + getGs1Key() + serial;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toUri();
+    }
+}
@@ -0,0 +1,251 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs inventory in on/off duty cycles for long, battery-constrained sessions.
+ * <p>
+ * Each on-window starts the inventory through the handler's command queue and stops it after
+ * {@link DutyCycle#onMs}. In fixed mode the radio then rests for {@link DutyCycle#minOffMs}. In
+ * adaptive mode the rest doubles (up to {@link DutyCycle#maxOffMs}) whenever an on-window found
+ * fewer new unique tags per second than {@link DutyCycle#flatTagsPerSecond}, and drops back to
+ * the minimum as soon as discovery picks up again.
+ * <p>
+ * Radio time is taken from INVENTORY_START/STOP events. Energy is taken from the reader's remaining
+ * battery capacity, read at start and after each on-window, so {@link Report#readsPerMah()} is
+ * only known once the gauge has moved and the sled has not been charging.
+ */
+class InventoryScheduler {
+    private static final String TAG = "RFID_SAMPLE DutyCycle";
+
+    /**
+     * Duty cycle settings.
+     */
+    static final class DutyCycle {
+        final long onMs;
+        final long minOffMs;
+        final long maxOffMs;
+        /** Adaptive back-off threshold in new unique tags per second; 0 for a fixed cycle. */
+        final double flatTagsPerSecond;
+
+        private DutyCycle(long onMs, long minOffMs, long maxOffMs, double flatTagsPerSecond) {
+            this.onMs = onMs;
+            this.minOffMs = minOffMs;
+            this.maxOffMs = maxOffMs;
+            this.flatTagsPerSecond = flatTagsPerSecond;
+        }
+
+        static DutyCycle fixed(long onMs, long offMs) {
+            return new DutyCycle(onMs, offMs, offMs, 0);
+        }
+
+        static DutyCycle adaptive(long onMs, long minOffMs, long maxOffMs, double flatTagsPerSecond) {
+            return new DutyCycle(onMs, minOffMs, maxOffMs, flatTagsPerSecond);
+        }
+
+        boolean isAdaptive() {
+            return flatTagsPerSecond > 0;
+        }
+    }
+
+    /**
+     * Totals since {@link #start}.
+     */
+    static final class Report {
+        final long reads;
+        final int uniqueTags;
+        final long radioOnMs;
+        final long elapsedMs;
+        /** Battery capacity consumed, or -1 if unknown. */
+        final int mahUsed;
+
+        Report(long reads, int uniqueTags, long radioOnMs, long elapsedMs, int mahUsed) {
+            this.reads = reads;
+            this.uniqueTags = uniqueTags;
+            this.radioOnMs = radioOnMs;
+            this.elapsedMs = elapsedMs;
+            this.mahUsed = mahUsed;
+        }
+
+        double dutyRatio() {
+            return elapsedMs > 0 ? (double) radioOnMs / elapsedMs : 0;
+        }
+
+        /**
+         * @return Reads per mAh, or -1 while no consumption has been measured.
+         */
+        double readsPerMah() {
+            return mahUsed > 0 ? (double) reads / mahUsed : -1;
+        }
+
+        @Override
+        public String toString() {
+            return reads + " reads, " + uniqueTags + " unique, radio " + radioOnMs / 1000 + "/" + elapsedMs / 1000
+                    + " s (" + Math.round(dutyRatio() * 100) + "%)"
+                    + (mahUsed > 0 ? ", " + mahUsed + " mAh, " + Math.round(readsPerMah()) + " reads/mAh" : "");
+        }
+    }
+
+    private final RFIDHandler handler;
+    private final TagPipeline pipeline;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "duty-cycle");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this.
+    private boolean running = false;
+    private DutyCycle dutyCycle;
+    private ScheduledFuture<?> next;
+    private long offMs;
+    private long startedAt;
+    private long readsAtStart;
+    private int uniqueAtWindowStart;
+    private int storeGeneration;
+    private int uniqueTags;
+    private int mahAtStart = -1;
+    private int mahLatest = -1;
+    private boolean charged = false;
+
+    // Updated from reader status events.
+    private volatile long radioOnMs = 0;
+    private volatile long radioStartedAt = 0;
+
+    InventoryScheduler(RFIDHandler handler, TagPipeline pipeline) {
+        this.handler = handler;
+        this.pipeline = pipeline;
+    }
+
+    synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts cycling. Restarts with the new settings if already running.
+     */
+    synchronized void start(DutyCycle dutyCycle) {
+        if (running) stop();
+        this.dutyCycle = dutyCycle;
+        running = true;
+        offMs = dutyCycle.minOffMs;
+        startedAt = SystemClock.elapsedRealtime();
+        readsAtStart = pipeline.getTotalReads();
+        uniqueTags = 0;
+        uniqueAtWindowStart = pipeline.getStore().size();
+        storeGeneration = pipeline.getStore().getGeneration();
+        radioOnMs = 0;
+        mahAtStart = -1;
+        mahLatest = -1;
+        charged = false;
+        sampleBattery(true);
+        next = timer.schedule(this::onWindowStart, 0, TimeUnit.MILLISECONDS);
+        Log.d(TAG, "Started: on " + dutyCycle.onMs + " ms, off " + dutyCycle.minOffMs + "-" + dutyCycle.maxOffMs
+                + " ms" + (dutyCycle.isAdaptive() ? ", adaptive below " + dutyCycle.flatTagsPerSecond + " tags/s" : ""));
+    }
+
+    /**
+     * Stops cycling and the inventory.
+     * @return The totals of the run.
+     */
+    synchronized Report stop() {
+        if (!running) return getReport();
+        running = false;
+        if (next != null) next.cancel(false);
+        handler.stopInventoryAsync();
+        Report report = getReport();
+        Log.d(TAG, "Stopped: " + report);
+        return report;
+    }
+
+    void shutdown() {
+        stop();
+        timer.shutdownNow();
+    }
+
+    synchronized Report getReport() {
+        long elapsed = startedAt == 0 ? 0 : SystemClock.elapsedRealtime() - startedAt;
+        long onMs = radioOnMs;
+        long radioStart = radioStartedAt;
+        if (radioStart != 0) onMs += SystemClock.elapsedRealtime() - radioStart;
+        int mahUsed = !charged && mahAtStart >= 0 && mahLatest >= 0 ? mahAtStart - mahLatest : -1;
+        return new Report(pipeline.getTotalReads() - readsAtStart, uniqueTags + newUniqueTags(),
+                onMs, elapsed, mahUsed);
+    }
+
+    /**
+     * Called on INVENTORY_START_EVENT.
+     */
+    void onInventoryStarted() {
+        radioStartedAt = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * Called on INVENTORY_STOP_EVENT.
+     */
+    void onInventoryStopped() {
+        long start = radioStartedAt;
+        if (start == 0) return;
+        radioStartedAt = 0;
+        radioOnMs += SystemClock.elapsedRealtime() - start;
+    }
+
+    /**
+     * Called on battery events; a charging sled invalidates the energy figure.
+     */
+    synchronized void onBatteryEvent(int level, boolean charging) {
+        if (running && charging) charged = true;
+    }
+
+    private synchronized void onWindowStart() {
+        if (!running) return;
+        handler.performInventoryAsync();
+        next = timer.schedule(this::onWindowEnd, dutyCycle.onMs, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void onWindowEnd() {
+        if (!running) return;
+        handler.stopInventoryAsync();
+        int found = newUniqueTags();
+        uniqueTags += found;
+        uniqueAtWindowStart = pipeline.getStore().size();
+        if (dutyCycle.isAdaptive()) {
+            double rate = found * 1000.0 / dutyCycle.onMs;
+            offMs = rate < dutyCycle.flatTagsPerSecond ? Math.min(offMs * 2, dutyCycle.maxOffMs) : dutyCycle.minOffMs;
+            if (BuildConfig.DEBUG) Log.d(TAG, "Window found " + found + " new tags (" + rate + "/s), resting " + offMs + " ms");
+        }
+        sampleBattery(false);
+        next = timer.schedule(this::onWindowStart, offMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return New unique tags since the window started, following store clears.
+     */
+    private synchronized int newUniqueTags() {
+        TagStore store = pipeline.getStore();
+        int generation = store.getGeneration();
+        int size = store.size();
+        if (generation != storeGeneration) {
+            // Cleared by a trigger press or the UI: everything in the store is new.
+            storeGeneration = generation;
+            uniqueAtWindowStart = 0;
+        }
+        return Math.max(0, size - uniqueAtWindowStart);
+    }
+
+    private void sampleBattery(boolean baseline) {
+        handler.readBatteryRemainingMahAsync().thenAccept(mah -> {
+            if (mah == null || mah < 0) return;
+            synchronized (InventoryScheduler.this) {
+                if (baseline || mahAtStart < 0) mahAtStart = mah;
+                mahLatest = mah;
+            }
+        });
+    }
+}
@@ -0,0 +1,228 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.Intent;
+import android.content.pm.ServiceInfo;
+import android.os.Binder;
+import android.os.Build;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+/**
+ * Foreground service owning the {@link RFIDHandler}, so the reader connection, trigger handling
+ * and tag ingest keep running while {@link MainActivity} is paused, rotated or not shown.
+ * <p>
+ * The activity binds to this service and registers itself as the UI client; callbacks are
+ * forwarded to it while bound and otherwise dropped, except for the reader status and tag count
+ * which are kept for the notification and replayed to a newly bound client.
+ */
+public class InventoryService extends Service implements RFIDHandler.ResponseHandlerInterface {
+    private static final String TAG = "RFID_SAMPLE InventoryService";
+    private static final String CHANNEL_ID = "inventory";
+    private static final int NOTIFICATION_ID = 1;
+    /**
+     * Minimum interval between notification updates driven by tag count changes.
+     */
+    private static final long NOTIFICATION_UPDATE_INTERVAL_MS = 1000;
+    /**
+     * Tag population and read rate of the simulated reader, roughly a shelf of items under an RFD40.
+     */
+    private static final int SIMULATED_TAGS = 500;
+    private static final int SIMULATED_READS_PER_SECOND = 600;
+
+    /**
+     * Binder handing the service to clients in the same process.
+     */
+    class LocalBinder extends Binder {
+        InventoryService getService() {
+            return InventoryService.this;
+        }
+    }
+
+    private final IBinder binder = new LocalBinder();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private RFIDHandler rfidHandler;
+    private MetricsServer metricsServer;
+    private volatile RFIDHandler.ResponseHandlerInterface client;
+    private volatile String lastStatus;
+    private volatile boolean lastConnected = false;
+    private NotificationManager notificationManager;
+    private long lastNotificationMs = 0;
+    private boolean notificationUpdatePending = false;
+    private final Runnable notificationUpdateTask = () -> {
+        notificationUpdatePending = false;
+        updateNotification();
+    };
+
+    @Override
+    public void onCreate() {
+        StartupTrace.mark(StartupTrace.Phase.SERVICE_CREATE);
+        super.onCreate();
+        Log.d(TAG, "onCreate");
+        notificationManager = getSystemService(NotificationManager.class);
+        NotificationChannel channel = new NotificationChannel(CHANNEL_ID,
+                getString(R.string.inventory_channel_name), NotificationManager.IMPORTANCE_LOW);
+        notificationManager.createNotificationChannel(channel);
+        lastStatus = getString(R.string.not_connected);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            startForeground(NOTIFICATION_ID, buildNotification(), ServiceInfo.FOREGROUND_SERVICE_TYPE_CONNECTED_DEVICE);
+        } else {
+            startForeground(NOTIFICATION_ID, buildNotification());
+        }
+        rfidHandler = new RFIDHandler();
+        if (SimulatedReader.isRequested()) {
+            rfidHandler.useSimulatedReader(new SimulatedReader(SIMULATED_TAGS, SIMULATED_READS_PER_SECOND));
+        }
+        rfidHandler.onCreate(this, this);
+        metricsServer = new MetricsServer(rfidHandler.getMetrics(), MetricsServer.DEFAULT_PORT);
+        metricsServer.start();
+        StartupTrace.mark(StartupTrace.Phase.SERVICE_READY);
+    }
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        return START_NOT_STICKY;
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return binder;
+    }
+
+    @Override
+    public void onDestroy() {
+        Log.d(TAG, "onDestroy");
+        mainHandler.removeCallbacksAndMessages(null);
+        client = null;
+        if (metricsServer != null) {
+            metricsServer.stop();
+            metricsServer = null;
+        }
+        if (rfidHandler != null) {
+            rfidHandler.onDestroy();
+            rfidHandler = null;
+        }
+        super.onDestroy();
+    }
+
+    /**
+     * @return The reader handler owned by this service.
+     */
+    RFIDHandler getRfidHandler() {
+        return rfidHandler;
+    }
+
+    /**
+     * Attaches the UI client and replays the last reader status to it.
+     */
+    void setClient(RFIDHandler.ResponseHandlerInterface client) {
+        this.client = client;
+        if (client != null && lastStatus != null) {
+            client.updateReaderStatus(lastStatus, lastConnected);
+        }
+    }
+
+    /**
+     * Detaches the UI client if it is still the registered one.
+     */
+    void clearClient(RFIDHandler.ResponseHandlerInterface client) {
+        if (this.client == client) this.client = null;
+    }
+
+    private Notification buildNotification() {
+        Intent intent = new Intent(this, MainActivity.class);
+        intent.setFlags(Intent.FLAG_ACTIVITY_SINGLE_TOP);
+        PendingIntent contentIntent = PendingIntent.getActivity(this, 0, intent, PendingIntent.FLAG_IMMUTABLE);
+        String text = lastStatus;
+        if (rfidHandler != null && lastConnected) {
+            text += " - " + getString(R.string.unique_tags, rfidHandler.getTagStore().size());
+        }
+        return new Notification.Builder(this, CHANNEL_ID)
+                .setSmallIcon(R.mipmap.ic_launcher)
+                .setContentTitle(getString(R.string.app_name))
+                .setContentText(text)
+                .setContentIntent(contentIntent)
+                .setOnlyAlertOnce(true)
+                .setOngoing(true)
+                .build();
+    }
+
+    private void updateNotification() {
+        lastNotificationMs = SystemClock.uptimeMillis();
+        notificationManager.notify(NOTIFICATION_ID, buildNotification());
+    }
+
+    @Override
+    public void updateReaderStatus(String status, boolean isConnected) {
+        if (status != null) {
+            lastStatus = status.split("\n")[0];
+            lastConnected = isConnected;
+            mainHandler.post(this::updateNotification);
+        }
+        RFIDHandler.ResponseHandlerInterface c = client;
+        if (c != null) c.updateReaderStatus(status, isConnected);
+    }
+
+    @Override
+    public void onTagStoreChanged() {
+        RFIDHandler.ResponseHandlerInterface c = client;
+        if (c != null) c.onTagStoreChanged();
+        mainHandler.post(() -> {
+            // Tag counts change many times per second; keep notification updates to a trickle.
+            if (notificationUpdatePending) return;
+            long wait = lastNotificationMs + NOTIFICATION_UPDATE_INTERVAL_MS - SystemClock.uptimeMillis();
+            notificationUpdatePending = true;
+            mainHandler.postDelayed(notificationUpdateTask, Math.max(0, wait));
+        });
+    }
+
+    @Override
+    public void handleTriggerPress(boolean pressed) {
+        RFIDHandler.ResponseHandlerInterface c = client;
+        if (c != null) c.handleTriggerPress(pressed);
+    }
+
+    @Override
+    public void barcodeData(String val) {
+        RFIDHandler.ResponseHandlerInterface c = client;
+        if (c != null) c.barcodeData(val);
+    }
+
+    @Override
+    public void sendToast(String val) {
+        RFIDHandler.ResponseHandlerInterface c = client;
+        if (c != null) c.sendToast(val);
+    }
+
+    @Override
+    public void dismissToast() {
+        RFIDHandler.ResponseHandlerInterface c = client;
+        if (c != null) c.dismissToast();
+    }
+
+    @Override
+    public void showSnackbar(String message, boolean bAutoDisappear) {
+        RFIDHandler.ResponseHandlerInterface c = client;
+        if (c != null) c.showSnackbar(message, bAutoDisappear);
+    }
+
+    @Override
+    public void setScanButtonEnabled(boolean enabled) {
+        RFIDHandler.ResponseHandlerInterface c = client;
+        if (c != null) c.setScanButtonEnabled(enabled);
+    }
+
+    @Override
+    public boolean getTestStatus() {
+        // The trigger test flow is driven from the UI; without a client it is never active.
+        RFIDHandler.ResponseHandlerInterface c = client;
+        return c != null && c.getTestStatus();
+    }
+}
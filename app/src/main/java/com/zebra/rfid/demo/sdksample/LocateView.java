@@ -0,0 +1,116 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.media.AudioManager;
+import android.media.ToneGenerator;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.View;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+/**
+ * Proximity indicator of locate mode, drawn on the main thread.
+ * <p>
+ * A {@link Choreographer} frame callback samples the {@link TagLocator} once per display frame,
+ * so the main looper gets one message per vsync however fast the target is read, and views are
+ * only touched when the shown proximity changes. A short beep repeats faster as the tag gets
+ * closer, like a Geiger counter.
+ */
+class LocateView implements Choreographer.FrameCallback {
+    private static final String TAG = "RFID_SAMPLE Locate";
+    /**
+     * Beep interval at proximity 0 and 100.
+     */
+    private static final long SLOWEST_TICK_MS = 600;
+    private static final long FASTEST_TICK_MS = 50;
+    private static final int TICK_DURATION_MS = 15;
+
+    private final View card;
+    private final TextView epcText;
+    private final ProgressBar proximityBar;
+    private final TextView statusText;
+    private TagLocator locator;
+    private ToneGenerator tone;
+    private boolean posted = false;
+    private int shownProximity = -1;
+    private long lastTick = 0;
+
+    LocateView(View card, TextView epcText, ProgressBar proximityBar, TextView statusText) {
+        this.card = card;
+        this.epcText = epcText;
+        this.proximityBar = proximityBar;
+        this.statusText = statusText;
+        proximityBar.setMax(100);
+    }
+
+    /**
+     * Shows the indicator and starts sampling. Main thread only.
+     */
+    void show(TagLocator locator) {
+        this.locator = locator;
+        epcText.setText(locator.getTarget());
+        card.setVisibility(View.VISIBLE);
+        shownProximity = -1;
+        if (tone == null) {
+            try {
+                tone = new ToneGenerator(AudioManager.STREAM_NOTIFICATION, 60);
+            } catch (RuntimeException e) {
+                // No audio is not fatal; the bar still works.
+                Log.w(TAG, "Tone generator unavailable", e);
+            }
+        }
+        if (!posted) {
+            posted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Stops sampling and hides the indicator. Main thread only.
+     */
+    void hide() {
+        pause();
+        card.setVisibility(View.GONE);
+        locator = null;
+    }
+
+    /**
+     * Stops sampling and releases the tone generator, e.g. while the activity is stopped.
+     */
+    void pause() {
+        if (posted) {
+            posted = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+        if (tone != null) {
+            tone.release();
+            tone = null;
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        TagLocator l = locator;
+        if (l == null || !l.isActive()) {
+            posted = false;
+            hide();
+            return;
+        }
+        long now = SystemClock.elapsedRealtime();
+        int proximity = l.getProximity(now);
+        if (proximity != shownProximity) {
+            shownProximity = proximity;
+            proximityBar.setProgress(proximity);
+            statusText.setText(proximity == 0 ? statusText.getContext().getString(R.string.locate_searching)
+                    : statusText.getContext().getString(R.string.locate_status, proximity,
+                            (int) Math.round(l.getSmoothedRssi()), l.getReadsPerSecond()));
+        }
+        if (proximity > 0 && tone != null
+                && now - lastTick >= SLOWEST_TICK_MS - (SLOWEST_TICK_MS - FASTEST_TICK_MS) * proximity / 100) {
+            lastTick = now;
+            tone.startTone(ToneGenerator.TONE_PROP_BEEP, TICK_DURATION_MS);
+        }
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+}
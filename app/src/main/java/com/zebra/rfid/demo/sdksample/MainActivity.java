@@ -2,6 +2,10 @@ package com.zebra.rfid.demo.sdksample;
 
 import android.Manifest;
 import android.annotation.SuppressLint;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.ServiceConnection;
 import android.content.pm.PackageManager;
 import android.graphics.Color;
 import android.graphics.PorterDuff;
@@ -10,16 +14,21 @@ import android.graphics.drawable.GradientDrawable;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.IBinder;
 import android.os.Looper;
+import android.os.SystemClock;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.DisplayMetrics;
 import android.util.Log;
+import android.view.Choreographer;
 import android.view.Gravity;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ArrayAdapter;
 import android.widget.Button;
+import android.widget.EditText;
 import android.widget.FrameLayout;
 import android.widget.LinearLayout;
 import android.widget.ImageView;
@@ -28,38 +37,70 @@ import android.widget.ProgressBar;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.coordinatorlayout.widget.CoordinatorLayout;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.google.android.material.snackbar.Snackbar;
-import com.zebra.rfid.api3.TagData;
+import com.zebra.rfid.api3.MEMORY_BANK;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
  * Main Activity for the RFID Sample application.
+ * <p>
+ * The reader is owned by {@link InventoryService}; this activity binds to it while started and
+ * subscribes to its callbacks.
  */
 public class MainActivity extends AppCompatActivity implements RFIDHandler.ResponseHandlerInterface {
 
     private static final String TAG = "RFID_SAMPLE MainActivity ";
-    /**
-     * List of tag IDs detected by the RFID reader.
-     */
-    private final ArrayList<String> tagList = new ArrayList<>();
 
     /**
-     * Set of unique tag IDs detected by the RFID reader.
+     * Handler for RFID operations and responses, owned by the bound {@link InventoryService}; null while unbound.
      */
-    private final HashSet<String> tagSet = new HashSet<>();
-
+    private RFIDHandler rfidHandler;
+    private InventoryService inventoryService;
     /**
-     * Handler for RFID operations and responses.
+     * True once permissions are granted and the service was started; binding waits for it.
      */
-    private RFIDHandler rfidHandler;
+    private boolean serviceStarted = false;
+    private boolean serviceBound = false;
+    private boolean fullyDrawnReported = false;
+    private final ServiceConnection serviceConnection = new ServiceConnection() {
+        @Override
+        public void onServiceConnected(ComponentName name, IBinder service) {
+            inventoryService = ((InventoryService.LocalBinder) service).getService();
+            rfidHandler = inventoryService.getRfidHandler();
+            attachTagList();
+            // Startup is complete at the first bind; later binds (e.g. after onStop) are not startup.
+            if (!fullyDrawnReported) {
+                fullyDrawnReported = true;
+                reportFullyDrawn();
+            }
+            inventoryService.setClient(MainActivity.this);
+            rfidHandler.getAssociationEngine().addListener(pairListener);
+            rfidHandler.getStopConditionEngine().addListener(stopListener);
+            if (locateView != null && rfidHandler.getTagLocator().isActive()) locateView.show(rfidHandler.getTagLocator());
+            rfidHandler.onResume();
+        }
+
+        @Override
+        public void onServiceDisconnected(ComponentName name) {
+            inventoryService = null;
+            rfidHandler = null;
+        }
+    };
 
     /**
      * Request code for Bluetooth permission.
@@ -69,15 +110,20 @@ public class MainActivity extends AppCompatActivity implements RFIDHandler.Respo
     // UI Components
     private TextView statusTextViewRFID;
     private ListView tagListView;
-    private ArrayAdapter<String> tagAdapter;
+    private TagListAdapter tagAdapter;
     private Button btnStart;
     private Button btnStop;
     private Button btnScan;
     private TextView scanResultText;
+    private TextView manifestStatusText;
     private ProgressBar progressBar;
     private View rootLayout;
+    private LocateView locateView;
 
-    private boolean bTestTriggerConfig = false;
+    /**
+     * Reader status, buttons, trigger test mode and scan result, written from any thread.
+     */
+    private ReaderViewModel viewModel;
 
     /**
      * Reference to the currently displayed snackbar for programmatic dismissal.
@@ -85,30 +131,92 @@ public class MainActivity extends AppCompatActivity implements RFIDHandler.Respo
     private Snackbar activeSnackbar;
     private final Handler autoDismissHandler = new Handler(Looper.getMainLooper());
 
+    /**
+     * Coalesces tag store change notifications into at most one pending UI refresh.
+     */
+    private final AtomicBoolean tagRefreshPending = new AtomicBoolean(false);
+    private final Runnable tagRefreshTask = this::refreshTagList;
+
+    /**
+     * Minimum interval between full re-sorts while the list is sorted by RSSI or last seen.
+     */
+    private static final long SORTED_REFRESH_INTERVAL_MS = 500;
+    /**
+     * Inventory duration per candidate profile during auto-tune.
+     */
+    private static final long AUTO_TUNE_TRIAL_MS = 3000;
+    /**
+     * Long-run duty cycle: 2 s on, resting 1-16 s while fewer than one new tag per second turns up.
+     */
+    private static final InventoryScheduler.DutyCycle LONG_RUN_DUTY_CYCLE =
+            InventoryScheduler.DutyCycle.adaptive(2000, 1000, 16000, 1.0);
+    private static final int AUTO_STOP_TAG_COUNT = 100;
+    /**
+     * TID words read by "Read TIDs": class, vendor and model plus a 48-bit serial.
+     */
+    private static final int TID_WORDS = 6;
+    private static final long AUTO_STOP_TIME_MS = 10000;
+    private static final long AUTO_STOP_PLATEAU_MS = 3000;
+    private final Handler listRefreshHandler = new Handler(Looper.getMainLooper());
+    private long lastListRefreshMs = 0;
+
+    /**
+     * Shows the tag paired with the latest scan under the scan result and keeps an unambiguous
+     * pair as the target of the "find paired tag" auto-stop.
+     */
+    private final AssociationEngine.Listener pairListener = pair -> {
+        String tag = pair.epc == null ? getString(R.string.no_tag_in_range)
+                : pair.isAmbiguous() ? getString(R.string.paired_tag_ambiguous, pair.epc, pair.candidates)
+                : getString(R.string.paired_tag, pair.epc);
+        String result = getString(R.string.scan_result_label, pair.scan.text) + "\n" + tag;
+        boolean unambiguous = pair.epc != null && !pair.isAmbiguous();
+        viewModel.update(s -> unambiguous ? s.withScanResult(result).withPairedEpc(pair.epc) : s.withScanResult(result));
+    };
+    /**
+     * Resets the buttons and reports why the inventory stopped on its own.
+     */
+    private final StopConditionEngine.Listener stopListener = (reason, epc, uniqueTags, elapsedMs) -> {
+        toggleInventoryButtons(false);
+        String message = reason == StopConditionEngine.Reason.EPC_FOUND ? getString(R.string.auto_stop_found, epc)
+                : getString(R.string.auto_stop_done, reason.name(), uniqueTags, elapsedMs / 1000.0);
+        showSnackbar(message, true);
+    };
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         /**
          * Called when the activity is starting. Initializes UI and RFID handler.
          * @param savedInstanceState If the activity is being re-initialized after previously being shut down, this contains the data it most recently supplied.
          */
+        StartupTrace.mark(StartupTrace.Phase.ACTIVITY_CREATE);
         super.onCreate(savedInstanceState);
+        // Read before the service starts; only debug and benchmark builds honour it.
+        SimulatedReader.request(getIntent().getBooleanExtra(SimulatedReader.EXTRA, false));
         setContentView(R.layout.activity_main);
 
+        viewModel = new ViewModelProvider(this).get(ReaderViewModel.class);
         setupUI();
+        viewModel.getUiState().observe(this, this::render);
+        StartupTrace.mark(StartupTrace.Phase.UI_READY);
 
-        rfidHandler = new RFIDHandler();
-        checkPermissionsAndInit();
+        // Start the service, and with it the reader SDK, only after the first frame, so the UI shows first.
+        Choreographer.getInstance().postFrameCallback(frameTimeNanos -> {
+            StartupTrace.mark(StartupTrace.Phase.FIRST_FRAME);
+            autoDismissHandler.post(() -> {
+                if (!isFinishing() && !isDestroyed()) checkPermissionsAndInit();
+            });
+        });
     }
 
+    @Override
     public boolean getTestStatus(){
-        return bTestTriggerConfig;
+        return viewModel.getState().triggerTest;
     }
 
     /**
      * Consolidates UI initialization and setup.
      */
     private void setupUI() {
-        bTestTriggerConfig = false;
         String appName = getString(R.string.app_name);
         try {
             setTitle(appName + " (" + com.zebra.rfid.api3.BuildConfig.VERSION_NAME + ")");
@@ -128,15 +236,45 @@ public class MainActivity extends AppCompatActivity implements RFIDHandler.Respo
         }
 
         tagListView = findViewById(R.id.tag_list);
-        tagAdapter = new ArrayAdapter<>(this, android.R.layout.simple_list_item_1, tagList);
         if (tagListView != null) {
-            tagListView.setAdapter(tagAdapter);
+            tagListView.setOnItemLongClickListener((parent, view, position, id) -> {
+                if (tagAdapter == null) return false;
+                startLocate((String) tagAdapter.getItem(position));
+                return true;
+            });
+        }
+        View locateCard = findViewById(R.id.locate_card);
+        if (locateCard != null) {
+            locateView = new LocateView(locateCard, findViewById(R.id.locate_epc),
+                    findViewById(R.id.locate_proximity), findViewById(R.id.locate_status));
+            Button locateStop = findViewById(R.id.locate_stop);
+            if (locateStop != null) locateStop.setOnClickListener(v -> stopLocate());
+        }
+        EditText searchField = findViewById(R.id.tag_search);
+        if (searchField != null) {
+            searchField.addTextChangedListener(new TextWatcher() {
+                @Override
+                public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+                }
+
+                @Override
+                public void onTextChanged(CharSequence s, int start, int before, int count) {
+                }
+
+                @Override
+                public void afterTextChanged(Editable s) {
+                    if (tagAdapter == null) return;
+                    tagAdapter.getModel().setQuery(s.toString());
+                    refreshTagListNow();
+                }
+            });
         }
 
         btnStart = findViewById(R.id.StartButton);
         btnStop = findViewById(R.id.btnStop);
         btnScan = findViewById(R.id.scan);
         scanResultText = findViewById(R.id.scanResult);
+        manifestStatusText = findViewById(R.id.manifest_status);
         progressBar = findViewById(R.id.progressBar);
 
         if (btnStart != null) btnStart.setEnabled(false);
@@ -154,24 +292,80 @@ public class MainActivity extends AppCompatActivity implements RFIDHandler.Respo
         }
     }
 
+    @Override
     public void updateReaderStatus(String status, boolean isConnected) {
         /**
          * Updates the reader status on the UI.
          * @param status The status message to display.
          * @param isConnected Whether the reader is connected.
          */
-        runOnUiThread(() -> {
-            if (isFinishing() || isDestroyed() || status == null) return;
-            if (statusTextViewRFID != null) {
-                statusTextViewRFID.setText(status);
-                int color = isConnected ? R.color.status_connected : R.color.status_disconnected;
-                statusTextViewRFID.setTextColor(ContextCompat.getColor(this, color));
-            }
-            if (btnStart != null) {
-                btnStart.setEnabled(isConnected);
-            }
-            showProgress(status.contains(getString(R.string.connecting)));
-        });
+        if (status == null) return;
+        viewModel.update(s -> s.withReaderStatus(status, isConnected));
+    }
+
+    /**
+     * Shows one state snapshot. Main thread.
+     */
+    private void render(ReaderViewModel.UiState state) {
+        if (statusTextViewRFID != null) {
+            int color = state.connected ? R.color.status_connected : R.color.status_disconnected;
+            statusTextViewRFID.setTextColor(ContextCompat.getColor(this, color));
+        }
+        updateStatusText(state);
+        if (btnStart != null) btnStart.setEnabled(state.connected && !state.inventoryRunning);
+        if (btnStop != null) btnStop.setEnabled(state.inventoryRunning);
+        if (btnScan != null) btnScan.setEnabled(state.scanEnabled);
+        if (scanResultText != null && !state.scanResult.isEmpty()) scanResultText.setText(state.scanResult);
+        showProgress(state.readerStatus.contains(getString(R.string.connecting)));
+    }
+
+    /**
+     * Points the list at the service's tag store, keeping the current sort and filter.
+     */
+    private void attachTagList() {
+        TagStore store = rfidHandler.getTagStore();
+        if (tagAdapter != null && tagAdapter.getStore() == store) {
+            refreshTagListNow();
+            return;
+        }
+        TagListModel.SortMode sortMode = tagAdapter != null ? tagAdapter.getModel().getSortMode() : TagListModel.SortMode.DISCOVERY;
+        String query = tagAdapter != null ? tagAdapter.getModel().getQuery() : "";
+        tagAdapter = new TagListAdapter(store, rfidHandler.getTagEnricher());
+        tagAdapter.getModel().setSortMode(sortMode);
+        tagAdapter.getModel().setQuery(query);
+        if (tagListView != null) {
+            tagListView.setAdapter(tagAdapter);
+        }
+        refreshTagListNow();
+    }
+
+    /**
+     * Starts the inventory service in the foreground and binds to it.
+     */
+    private void startInventoryService() {
+        Intent intent = new Intent(this, InventoryService.class);
+        ContextCompat.startForegroundService(this, intent);
+        serviceStarted = true;
+        bindInventoryService();
+    }
+
+    private void bindInventoryService() {
+        if (serviceBound || !serviceStarted) return;
+        serviceBound = bindService(new Intent(this, InventoryService.class), serviceConnection, Context.BIND_AUTO_CREATE);
+    }
+
+    private void unbindInventoryService() {
+        if (!serviceBound) return;
+        if (inventoryService != null) inventoryService.clearClient(this);
+        if (rfidHandler != null) {
+            rfidHandler.getAssociationEngine().removeListener(pairListener);
+            rfidHandler.getStopConditionEngine().removeListener(stopListener);
+        }
+        if (locateView != null) locateView.pause();
+        unbindService(serviceConnection);
+        serviceBound = false;
+        inventoryService = null;
+        rfidHandler = null;
     }
 
     private void showProgress(boolean show) {
@@ -184,14 +378,21 @@ public class MainActivity extends AppCompatActivity implements RFIDHandler.Respo
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
             if (ContextCompat.checkSelfPermission(this, Manifest.permission.BLUETOOTH_CONNECT)
                     != PackageManager.PERMISSION_GRANTED) {
+                ArrayList<String> permissions = new ArrayList<>();
+                permissions.add(Manifest.permission.BLUETOOTH_SCAN);
+                permissions.add(Manifest.permission.BLUETOOTH_CONNECT);
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+                    // Optional: without it the service still runs, only its notification is hidden.
+                    permissions.add(Manifest.permission.POST_NOTIFICATIONS);
+                }
                 ActivityCompat.requestPermissions(this,
-                        new String[]{Manifest.permission.BLUETOOTH_SCAN, Manifest.permission.BLUETOOTH_CONNECT},
+                        permissions.toArray(new String[0]),
                         BLUETOOTH_PERMISSION_REQUEST_CODE);
             } else {
-                rfidHandler.onCreate(this);
+                startInventoryService();
             }
         } else {
-            rfidHandler.onCreate(this);
+            startInventoryService();
         }
     }
 
@@ -199,7 +400,7 @@ public class MainActivity extends AppCompatActivity implements RFIDHandler.Respo
     public void onRequestPermissionsResult(int requestCode, @NonNull String[] permissions, @NonNull int[] grantResults) {
         if (requestCode == BLUETOOTH_PERMISSION_REQUEST_CODE) {
             if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
-                if (rfidHandler != null) rfidHandler.onCreate(this);
+                startInventoryService();
             } else {
                 showSnackbar(getString(R.string.bluetooth_permissions_not_granted), true);
             }
@@ -221,75 +422,365 @@ public class MainActivity extends AppCompatActivity implements RFIDHandler.Respo
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         int id = item.getItemId();
+        if (id == R.id.dump_events) {
+            dumpEventLog();
+            return true;
+        }
+        if (id == R.id.load_manifest) {
+            loadManifest();
+            return true;
+        }
+        if (id == R.id.export_manifest_diff) {
+            exportManifestDiff();
+            return true;
+        }
+        if (id == R.id.dashboard) {
+            startActivity(new Intent(this, DashboardActivity.class));
+            return true;
+        }
+        if (id == R.id.export_metrics) {
+            exportMetrics();
+            return true;
+        }
         if (rfidHandler == null) return super.onOptionsItemSelected(item);
 
+        // Sorting is local to the list and allowed while the reader is busy.
+        if (id == R.id.sort_discovery || id == R.id.sort_rssi || id == R.id.sort_last_seen) {
+            item.setChecked(true);
+            TagListModel.SortMode mode = id == R.id.sort_rssi ? TagListModel.SortMode.RSSI
+                    : id == R.id.sort_last_seen ? TagListModel.SortMode.LAST_SEEN
+                    : TagListModel.SortMode.DISCOVERY;
+            if (tagAdapter != null) {
+                tagAdapter.getModel().setSortMode(mode);
+                refreshTagListNow();
+            }
+            return true;
+        }
+
+        // The reader is busy during on-windows, so stopping a long run skips the health check.
+        InventoryScheduler scheduler = rfidHandler.getInventoryScheduler();
+        if (id == R.id.duty_cycle && scheduler.isRunning()) {
+            item.setChecked(false);
+            showSnackbar(getString(R.string.duty_cycle_report, scheduler.stop().toString()), false);
+            return true;
+        }
+        // Likewise, the reader is busy with a trial while auto-tune runs.
+        if (id == R.id.tuning_auto && rfidHandler.isAutoTuning()) {
+            rfidHandler.cancelAutoTune();
+            return true;
+        }
+
+        // Stop conditions apply from the next inventory start, so they can be changed while busy.
+        if (id == R.id.auto_stop_off || id == R.id.auto_stop_count || id == R.id.auto_stop_time
+                || id == R.id.auto_stop_plateau || id == R.id.auto_stop_paired) {
+            StopConditionEngine.Conditions conditions = StopConditionEngine.Conditions.NONE;
+            if (id == R.id.auto_stop_count) {
+                conditions = conditions.withUniqueTags(AUTO_STOP_TAG_COUNT);
+            } else if (id == R.id.auto_stop_time) {
+                conditions = conditions.withTimeLimit(AUTO_STOP_TIME_MS);
+            } else if (id == R.id.auto_stop_plateau) {
+                conditions = conditions.withPlateau(AUTO_STOP_PLATEAU_MS);
+            } else if (id == R.id.auto_stop_paired) {
+                String epc = viewModel.getState().pairedEpc;
+                if (epc == null) {
+                    showSnackbar(getString(R.string.auto_stop_no_pair), true);
+                    return true;
+                }
+                conditions = conditions.withEpcs(epc);
+            }
+            item.setChecked(true);
+            rfidHandler.getStopConditionEngine().setConditions(conditions);
+            return true;
+        }
+
         if (!checkReaderHealthy()) {
             showSnackbar("SKIP!!!\nRFID Busy", true);
             return false;
         } 
-        if (id == R.id.trigger_rfid_rfid) {
-            rfidHandler.setTriggerEnabled(true);
-            showSnackbar("RFID Triggers Enabled", true);
+        if (id == R.id.locate_paired) {
+            String epc = viewModel.getState().pairedEpc;
+            if (epc == null) {
+                showSnackbar(getString(R.string.auto_stop_no_pair) + "\n" + getString(R.string.locate_hint), true);
+            } else {
+                startLocate(epc);
+            }
+            return true;
+        }
+        if (id == R.id.read_tids) {
+            readTids();
+            return true;
+        }
+        if (id == R.id.duty_cycle) {
+            item.setChecked(true);
+            scheduler.start(LONG_RUN_DUTY_CYCLE);
+            showSnackbar(getString(R.string.duty_cycle_running), true);
+            return true;
+        }
+        if (id == R.id.tuning_reader_default || id == R.id.tuning_dense
+                || id == R.id.tuning_balanced || id == R.id.tuning_single_item) {
+            item.setChecked(true);
+            TuningProfile profile = id == R.id.tuning_dense ? TuningProfile.DENSE
+                    : id == R.id.tuning_balanced ? TuningProfile.BALANCED
+                    : id == R.id.tuning_single_item ? TuningProfile.SINGLE_ITEM
+                    : null;
+            // Keeping reader settings only stops applying a profile; values already written stay until reset.
+            rfidHandler.setTuningProfileAsync(profile)
+                    .whenComplete((ok, error) -> showCommandResult("Tuning profile", ok, error, "Tuning: " + (profile != null ? profile.name : "")));
+            return true;
+        } else if (id == R.id.tuning_auto) {
+            int tags = tagAdapter != null ? tagAdapter.getStore().size() : 0;
+            if (tags == 0) {
+                startAutoTune();
+            } else {
+                // Every trial clears the tag list.
+                new AlertDialog.Builder(this)
+                        .setMessage(getString(R.string.tuning_auto_confirm, tags))
+                        .setPositiveButton(R.string.tuning_auto_confirm_start, (dialog, which) -> startAutoTune())
+                        .setNegativeButton(android.R.string.cancel, null)
+                        .show();
+            }
+            return true;
+        } else if (id == R.id.trigger_rfid_rfid) {
+            rfidHandler.setTriggerEnabledAsync(true)
+                    .whenComplete((ok, error) -> showCommandResult("RFID trigger", ok, error, "RFID Triggers Enabled"));
             return true;
         } else if (id == R.id.trigger_barcode_barcode) {
-            rfidHandler.setTriggerEnabled(false);
-            showSnackbar("Barcode Triggers Enabled", true);
+            rfidHandler.setTriggerEnabledAsync(false)
+                    .whenComplete((ok, error) -> showCommandResult("Barcode trigger", ok, error, "Barcode Triggers Enabled"));
             return true;
         } else if (id == R.id.Default) {
-            rfidHandler.restoreDefaultTriggerConfig();
-            showSnackbar("Default Trigger Settings", true);
+            rfidHandler.restoreDefaultTriggerConfigAsync()
+                    .whenComplete((ok, error) -> showCommandResult("Default trigger", ok, error, "Default Trigger Settings"));
             return true;
         } else if (id == R.id.auto) {
             Log.v(TAG, "###1 ECRT: RFID Trigger Enabled");
-            bTestTriggerConfig = true;
+            viewModel.update(s -> s.withTriggerTest(true));
             showSnackbar("Pull Trigger:\nRFID Operation\n\nBarcode Trigger Disabled", false);
             return true;
         }
         return super.onOptionsItemSelected(item);
     }
 
-    @Override
-    protected void onPause() {
-        super.onPause();
-        if (rfidHandler != null) {
-            rfidHandler.onPause();
+    /**
+     * Writes the recent event ring to a file in the app's external files directory, off the main thread.
+     */
+    private void dumpEventLog() {
+        File dir = getExternalFilesDir(null);
+        if (dir == null) dir = getFilesDir();
+        File target = dir;
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return EventLog.dumpToFile(target);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }).whenComplete((file, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Event log dump failed", error);
+                showSnackbar(getString(R.string.dump_events_failed), true);
+            } else {
+                showSnackbar(getString(R.string.dump_events_done, file.getAbsolutePath()), true);
+            }
+        });
+    }
+
+    /**
+     * Reads the TID of every tag in the field in one batched access sequence.
+     */
+    private void readTids() {
+        TagAccessBatcher batcher = rfidHandler.getTagAccessBatcher();
+        rfidHandler.submitTagAccess(TagAccessBatcher.Op.read(null, MEMORY_BANK.MEMORY_BANK_TID, 0, TID_WORDS))
+                .whenComplete((results, error) -> {
+                    if (error != null) {
+                        Log.e(TAG, "TID read failed", error);
+                        showSnackbar(getString(R.string.read_tids_failed), true);
+                        return;
+                    }
+                    int ok = 0;
+                    for (TagAccessBatcher.Result r : results) {
+                        if (r.success) {
+                            ok++;
+                            Log.d(TAG, "TID " + r.epc + ": " + r.data);
+                        }
+                    }
+                    showSnackbar(getString(R.string.read_tids_done, ok, results.size() - ok, batcher.getOpsPerSecond()), true);
+                });
+    }
+
+    /**
+     * Loads the expected manifest from the app's external files directory off the main thread.
+     */
+    private void loadManifest() {
+        if (rfidHandler == null) return;
+        ManifestReconciler reconciler = rfidHandler.getManifestReconciler();
+        File dir = getExternalFilesDir(null);
+        if (dir == null) dir = getFilesDir();
+        File file = new File(dir, ShipmentManifest.FILE_NAME);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return ShipmentManifest.load(file);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }).whenComplete((manifest, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Manifest load failed", error);
+                showSnackbar(getString(R.string.load_manifest_failed, file.getAbsolutePath()), true);
+            } else {
+                reconciler.setManifest(manifest);
+                showSnackbar(getString(R.string.load_manifest_done, manifest.size()), true);
+            }
+        });
+    }
+
+    /**
+     * Writes the missing and unexpected tags of the loaded manifest off the main thread.
+     */
+    private void exportManifestDiff() {
+        if (rfidHandler == null) return;
+        ManifestReconciler reconciler = rfidHandler.getManifestReconciler();
+        File dir = getExternalFilesDir(null);
+        if (dir == null) dir = getFilesDir();
+        File target = dir;
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return reconciler.writeDiff(target);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }).whenComplete((file, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Manifest diff export failed", error);
+                showSnackbar(getString(R.string.export_manifest_diff_failed), true);
+            } else {
+                showSnackbar(getString(R.string.export_manifest_diff_done, file.getAbsolutePath()), true);
+            }
+        });
+    }
+
+    /**
+     * Writes Prometheus and JSON snapshots of the reader metrics off the main thread.
+     */
+    private void exportMetrics() {
+        if (rfidHandler == null) return;
+        Metrics metrics = rfidHandler.getMetrics();
+        File dir = getExternalFilesDir(null);
+        if (dir == null) dir = getFilesDir();
+        File target = dir;
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return MetricsExporter.snapshotToFiles(metrics, target);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }).whenComplete((file, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Metrics export failed", error);
+                showSnackbar(getString(R.string.export_metrics_failed), true);
+            } else {
+                showSnackbar(getString(R.string.export_metrics_done, file.getAbsolutePath()), true);
+            }
+        });
+    }
+
+    /**
+     * Filters the reader to one tag and shows its proximity.
+     */
+    private void startLocate(String epc) {
+        if (epc == null || rfidHandler == null) return;
+        if (!checkReaderHealthy()) {
+            showSnackbar("SKIP!!!\nRFID Busy", true);
+            return;
         }
+        RFIDHandler handler = rfidHandler;
+        handler.startLocateAsync(epc).whenComplete((ok, error) -> runOnUiThread(() -> {
+            if (isFinishing() || isDestroyed()) return;
+            if (Boolean.TRUE.equals(ok) && locateView != null) {
+                toggleInventoryButtons(true);
+                locateView.show(handler.getTagLocator());
+            } else {
+                showCommandResult("Locate", ok, error, null);
+            }
+        }));
+    }
+
+    private void stopLocate() {
+        if (locateView != null) locateView.hide();
+        toggleInventoryButtons(false);
+        if (rfidHandler != null) rfidHandler.stopLocateAsync();
+    }
+
+    /**
+     * Runs auto-tune on the tags in front of the reader; selecting the menu item again cancels it.
+     */
+    private void startAutoTune() {
+        if (rfidHandler == null) return;
+        showSnackbar(getString(R.string.tuning_auto_running), false);
+        rfidHandler.autoTuneAsync(TuningProfile.autoTuneCandidates(), AUTO_TUNE_TRIAL_MS)
+                .whenComplete((best, error) -> {
+                    if (error instanceof CancellationException) {
+                        showSnackbar(getString(R.string.tuning_auto_cancelled), true);
+                    } else if (error != null) {
+                        showCommandResult("Auto-tune", null, error, null);
+                    } else if (best != null) {
+                        showSnackbar(getString(R.string.tuning_auto_result, best.profile.name,
+                                Math.round(best.uniqueTagsPerSecond()), Math.round(best.readsPerSecond())), true);
+                    } else {
+                        dismissToast();
+                    }
+                });
+    }
+
+    /**
+     * Reports the outcome of an asynchronous reader command. Busy failures already show their own message.
+     * @param command Command name for the log, e.g. "Locate".
+     * @param ok The command result, or null if it failed exceptionally.
+     * @param error The failure cause, e.g. a timeout, or null on completion.
+     * @param successMessage Message shown when the command succeeded.
+     */
+    private void showCommandResult(String command, Boolean ok, Throwable error, String successMessage) {
+        if (error != null) {
+            Log.e(TAG, command + " command failed", error);
+            showSnackbar("Command failed:\n" + error.getMessage(), true);
+        } else if (Boolean.TRUE.equals(ok)) {
+            showSnackbar(successMessage, true);
+        }
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        bindInventoryService();
     }
 
     @Override
-    protected void onPostResume() {
-        super.onPostResume();
-        if (rfidHandler != null) rfidHandler.onResume();
+    protected void onStop() {
+        // The service keeps the reader connected and inventory running while the UI is away.
+        unbindInventoryService();
+        super.onStop();
     }
 
     @Override
     protected void onDestroy() {
         showProgress(false);
-        if (rfidHandler != null) {
-            rfidHandler.onDestroy();
+        listRefreshHandler.removeCallbacksAndMessages(null);
+        if (isFinishing()) {
+            stopService(new Intent(this, InventoryService.class));
         }
         super.onDestroy();
     }
 
     private void toggleInventoryButtons(boolean isRunning) {
-        runOnUiThread(() -> {
-            if (isFinishing() || isDestroyed()) return;
-            if (btnStart != null) btnStart.setEnabled(!isRunning);
-            if (btnStop != null) btnStop.setEnabled(isRunning);
-        });
+        viewModel.update(s -> s.withInventoryRunning(isRunning));
     }
 
+    @Override
     public void setScanButtonEnabled(boolean enabled) {
         /**
          * Enables or disables the scan button.
          * @param enabled True to enable, false to disable.
          */
-        runOnUiThread(() -> {
-            if (isFinishing() || isDestroyed()) return;
-            if (btnScan != null) {
-                btnScan.setEnabled(enabled);
-            }
-        });
+        viewModel.update(s -> s.withScanEnabled(enabled));
     }
 
     public void StartInventory(View view) {
@@ -297,16 +788,16 @@ public class MainActivity extends AppCompatActivity implements RFIDHandler.Respo
          * Starts RFID inventory when the start button is pressed.
          * @param view The view that triggered this method.
          */
+        if (rfidHandler != null && rfidHandler.getTagLocator().isActive()) stopLocate();
         toggleInventoryButtons(true);
         clearTagData();
-        if (rfidHandler != null) rfidHandler.performInventory();
+        if (rfidHandler != null) rfidHandler.performInventoryAsync();
     }
 
     private void clearTagData() {
+        if (rfidHandler != null) rfidHandler.clearTags();
         runOnUiThread(() -> {
             if (isFinishing() || isDestroyed()) return;
-            tagSet.clear();
-            tagList.clear();
             if (tagAdapter != null) {
                 tagAdapter.notifyDataSetChanged();
             }
@@ -326,70 +817,80 @@ public class MainActivity extends AppCompatActivity implements RFIDHandler.Respo
          * @param view The view that triggered this method.
          */
         toggleInventoryButtons(false);
-        if (rfidHandler != null) rfidHandler.stopInventory();
+        if (rfidHandler != null) rfidHandler.stopInventoryAsync();
     }
 
-    @SuppressLint("SetTextI18n")
-    public void handleTagdata(TagData[] tagData) {
+    @Override
+    public void onTagStoreChanged() {
         /**
-         * Handles new tag data received from the RFID reader.
-         * @param tagData Array of TagData objects.
+         * Called from the tag pipeline when new unique tags were stored; refreshes the list at most once per UI frame.
          */
-        if (tagData == null || tagData.length == 0) return;
-
-        final ArrayList<String> newTags = collectNewTags(tagData);
-        if (!newTags.isEmpty()) {
-            final int totalUniqueTags = tagSet.size();
-            runOnUiThread(() -> {
-                if (isFinishing() || isDestroyed()) return;
-                updateTagListUI(newTags);
-                updateStatusTextWithUniqueTags(totalUniqueTags);
-            });
+        if (tagRefreshPending.compareAndSet(false, true)) {
+            runOnUiThread(tagRefreshTask);
         }
     }
 
-    private ArrayList<String> collectNewTags(TagData[] tagData) {
-        ArrayList<String> newTags = new ArrayList<>();
-        for (TagData tag : tagData) {
-            if (tag == null) continue;
-            String tagId = tag.getTagID();
-            if (tagId != null && !tagSet.contains(tagId)) {
-                tagSet.add(tagId);
-                newTags.add(tagId + " (RSSI: " + tag.getPeakRSSI() + ")");
+    private void refreshTagList() {
+        tagRefreshPending.set(false);
+        if (isFinishing() || isDestroyed()) return;
+        if (tagAdapter != null && tagAdapter.getModel().getSortMode() != TagListModel.SortMode.DISCOVERY) {
+            // Sorted views re-sort the whole population; throttle them and catch up with a trailing refresh.
+            long wait = lastListRefreshMs + SORTED_REFRESH_INTERVAL_MS - SystemClock.uptimeMillis();
+            if (wait > 0) {
+                listRefreshHandler.removeCallbacks(tagRefreshTask);
+                listRefreshHandler.postDelayed(tagRefreshTask, wait);
+                return;
             }
         }
-        return newTags;
+        refreshTagListNow();
     }
 
-    private void updateTagListUI(ArrayList<String> newTags) {
-        tagList.addAll(0, newTags);
+    private void refreshTagListNow() {
+        listRefreshHandler.removeCallbacks(tagRefreshTask);
+        lastListRefreshMs = SystemClock.uptimeMillis();
         if (tagAdapter != null) {
             tagAdapter.notifyDataSetChanged();
         }
+        updateStatusText(viewModel.getState());
+        updateManifestStatus();
+        if (rfidHandler != null) rfidHandler.getTagPipeline().markRendered(SystemClock.elapsedRealtime());
     }
 
-    private void updateStatusTextWithUniqueTags(int totalUniqueTags) {
-        if (statusTextViewRFID != null && statusTextViewRFID.getText() != null) {
-            String statusStr = statusTextViewRFID.getText().toString();
-            if (statusStr.contains(getString(R.string.connected))) {
-                String[] parts = statusStr.split("\n");
-                String currentStatus = parts.length > 0 ? parts[0] : statusStr;
-                statusTextViewRFID.setText(currentStatus + "\n" + getString(R.string.unique_tags, totalUniqueTags));
-            }
+    private void updateManifestStatus() {
+        if (manifestStatusText == null || rfidHandler == null) return;
+        ManifestReconciler reconciler = rfidHandler.getManifestReconciler();
+        if (!reconciler.hasManifest()) {
+            manifestStatusText.setVisibility(View.GONE);
+            return;
+        }
+        manifestStatusText.setVisibility(View.VISIBLE);
+        manifestStatusText.setText(getString(R.string.manifest_counts, reconciler.getFound(),
+                reconciler.getExpected(), reconciler.getMissing(), reconciler.getUnexpected()));
+    }
+
+    /**
+     * Shows the reader status, with the unique tag count while connected.
+     */
+    @SuppressLint("SetTextI18n")
+    private void updateStatusText(ReaderViewModel.UiState state) {
+        // Keep the layout's placeholder until the first status arrives.
+        if (statusTextViewRFID == null || state.readerStatus.isEmpty()) return;
+        if (state.connected && tagAdapter != null) {
+            statusTextViewRFID.setText(state.readerStatus + "\n" + getString(R.string.unique_tags, tagAdapter.getStore().size()));
+        } else {
+            statusTextViewRFID.setText(state.readerStatus);
         }
     }
 
+    @Override
     public void handleTriggerPress(boolean pressed) {
         /**
-         * Handles trigger press events from the RFID reader.
+         * Reflects a hardware trigger press on the UI; the handler already started or stopped the inventory.
          * @param pressed True if trigger is pressed, false otherwise.
          */
         toggleInventoryButtons(pressed);
         if (pressed) {
-            clearTagData();
-            if (rfidHandler != null) rfidHandler.performInventory();
-        } else {
-            if (rfidHandler != null) rfidHandler.stopInventory();
+            runOnUiThread(this::refreshTagListNow);
         }
     }
 
@@ -399,20 +900,14 @@ public class MainActivity extends AppCompatActivity implements RFIDHandler.Respo
          * Displays barcode data received from the scanner.
          * @param val The barcode value.
          */
-        runOnUiThread(() -> {
-            if (isFinishing() || isDestroyed()) return;
-            if (scanResultText != null) {
-                scanResultText.setText(getString(R.string.scan_result_label, val != null ? val : ""));
-
-                if(bTestTriggerConfig) {
-                    sendToast("Restore to RFID");
-                    Log.v(TAG, "###8  Restore to RFID and Re-configure both Triggers back to RFID");
-                    rfidHandler.subsribeRfidTriggerEvents(true);
-                    rfidHandler.setTriggerEnabled(true);
-                    bTestTriggerConfig = false;
-                }
-            }
-        });
+        String result = getString(R.string.scan_result_label, val != null ? val : "");
+        // Test-and-clear in one update, so a scan ends the trigger test exactly once.
+        ReaderViewModel.UiState before = viewModel.update(s -> s.withScanResult(result).withTriggerTest(false));
+        if (before.triggerTest && rfidHandler != null) {
+            sendToast("Restore to RFID");
+            Log.v(TAG, "###8  Restore to RFID and Re-configure both Triggers back to RFID");
+            rfidHandler.restoreRfidTriggersAsync();
+        }
     }
 
     @Override
@@ -0,0 +1,221 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reconciles the tag store against an expected {@link ShipmentManifest}: found, missing and unexpected tags.
+ * <p>
+ * The pipeline stage, running behind dedup, looks each tag up in the manifest once, when it first
+ * enters the store, and sets the bit of its dense manifest index; tags not in the manifest are kept
+ * as unexpected. Counts are maintained as tags arrive, so the UI reads them in O(1) at any rate, and
+ * a manifest of hundreds of thousands of items costs one bit per item for the found state. Like the
+ * tag list, reconciliation starts over when the store is cleared; loading a manifest reconciles the
+ * tags already in the store.
+ */
+class ManifestReconciler {
+    private static final String TAG = "RFID_SAMPLE Reconciler";
+
+    /**
+     * Receives count changes on the stage thread, at most once per batch.
+     */
+    interface Listener {
+        void onCountsChanged();
+    }
+
+    /**
+     * Tags missing from and not expected by the manifest at one point in time.
+     */
+    static final class Diff {
+        final int expected;
+        final int found;
+        final List<String> missing;
+        final List<String> unexpected;
+
+        Diff(int expected, int found, List<String> missing, List<String> unexpected) {
+            this.expected = expected;
+            this.found = found;
+            this.missing = missing;
+            this.unexpected = unexpected;
+        }
+    }
+
+    private final TagStore store;
+    private TagRingBuffer.Consumer stage;
+    private volatile Listener listener;
+    private volatile boolean rescanRequested = false;
+
+    // Guarded by this; written by the stage thread, read by diff().
+    private ShipmentManifest manifest;
+    private final BitSet found = new BitSet();
+    private final List<String> unexpected = new ArrayList<>();
+
+    private volatile int expectedCount = 0;
+    private volatile int foundCount = 0;
+    private volatile int unexpectedCount = 0;
+
+    ManifestReconciler(TagStore store, Metrics metrics) {
+        this.store = store;
+        metrics.gauge(Metrics.MANIFEST_EXPECTED, () -> expectedCount);
+        metrics.gauge(Metrics.MANIFEST_FOUND, () -> foundCount);
+        metrics.gauge(Metrics.MANIFEST_UNEXPECTED, () -> unexpectedCount);
+    }
+
+    /**
+     * Attaches the stage to the pipeline behind dedup. Call once.
+     */
+    void attach(TagPipeline pipeline) {
+        stage = pipeline.addStage("reconcile", new ReconcileHandler(), true);
+    }
+
+    /**
+     * Sets the manifest to reconcile against, or null to stop. The tags already in the store are
+     * reconciled on the stage thread.
+     */
+    void setManifest(ShipmentManifest manifest) {
+        synchronized (this) {
+            this.manifest = manifest;
+            found.clear();
+            unexpected.clear();
+            expectedCount = manifest != null ? manifest.size() : 0;
+            foundCount = 0;
+            unexpectedCount = 0;
+        }
+        rescanRequested = true;
+        if (stage != null) stage.alert();
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    boolean hasManifest() {
+        return expectedCount > 0;
+    }
+
+    int getExpected() {
+        return expectedCount;
+    }
+
+    int getFound() {
+        return foundCount;
+    }
+
+    int getMissing() {
+        return expectedCount - foundCount;
+    }
+
+    int getUnexpected() {
+        return unexpectedCount;
+    }
+
+    /**
+     * @return The current diff, or null without a manifest. Builds one string per missing tag.
+     */
+    synchronized Diff diff() {
+        if (manifest == null) return null;
+        List<String> missing = new ArrayList<>(manifest.size() - foundCount);
+        for (int i = found.nextClearBit(0); i < manifest.size(); i = found.nextClearBit(i + 1)) {
+            missing.add(manifest.epcAt(i));
+        }
+        return new Diff(manifest.size(), foundCount, missing, new ArrayList<>(unexpected));
+    }
+
+    /**
+     * Writes the current diff as CSV lines of {@code status,epc} into a new file in {@code dir}.
+     * @return The file written.
+     * @throws IOException If there is no manifest or the file cannot be written.
+     */
+    File writeDiff(File dir) throws IOException {
+        Diff diff = diff();
+        if (diff == null) throw new IOException("No manifest loaded");
+        File file = new File(dir, "manifest-diff-" + System.currentTimeMillis() + ".csv");
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.println("status,epc");
+            for (String epc : diff.missing) out.println("missing," + epc);
+            for (String epc : diff.unexpected) out.println("unexpected," + epc);
+        }
+        Log.i(TAG, "Wrote diff to " + file + ": " + diff.found + "/" + diff.expected + " found, "
+                + diff.missing.size() + " missing, " + diff.unexpected.size() + " unexpected");
+        return file;
+    }
+
+    /**
+     * Reconciles each tag once as it enters the store. Stage thread only.
+     */
+    private final class ReconcileHandler implements TagRingBuffer.Handler {
+        private final BitSet seen = new BitSet();
+        private int generation = -1;
+        private boolean changed = false;
+
+        @Override
+        public void onRead(String epc, short rssi, long timestamp) {
+            int storeGeneration = store.getGeneration();
+            if (storeGeneration != generation) {
+                // Cleared: tag indexes are reused from 0 and the session starts over.
+                generation = storeGeneration;
+                seen.clear();
+                resetCounts();
+                changed = true;
+            }
+            int index = store.indexOf(epc);
+            if (index < 0 || seen.get(index)) return;
+            seen.set(index);
+            reconcile(epc);
+        }
+
+        @Override
+        public void onEndOfBatch() {
+            if (rescanRequested) {
+                rescanRequested = false;
+                generation = store.getGeneration();
+                seen.clear();
+                // Start over: tags onRead reconciled since the manifest was set are in the store and would count twice.
+                resetCounts();
+                // Tags added after this pass arrive through onRead; those counted here are skipped there.
+                int size = store.size();
+                for (int i = 0; i < size; i++) {
+                    seen.set(i);
+                    reconcile(store.getEpc(i));
+                }
+                changed = true;
+            }
+            if (!changed) return;
+            changed = false;
+            Listener l = listener;
+            if (l != null) l.onCountsChanged();
+        }
+
+        private void resetCounts() {
+            synchronized (ManifestReconciler.this) {
+                found.clear();
+                unexpected.clear();
+                foundCount = 0;
+                unexpectedCount = 0;
+            }
+        }
+
+        private void reconcile(String epc) {
+            synchronized (ManifestReconciler.this) {
+                if (manifest == null) return;
+                int index = manifest.indexOf(epc);
+                if (index >= 0) {
+                    if (found.get(index)) return;
+                    found.set(index);
+                    foundCount++;
+                } else {
+                    unexpected.add(epc);
+                    unexpectedCount++;
+                }
+            }
+            changed = true;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.zebra.rfid.demo.sdksample;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lightweight in-process metrics registry: counters, gauges and histograms by name.
+ * <p>
+ * Updates are lock-free and cheap enough for the read path. Counters are {@link LongAdder}s.
+ * Gauges are read only when sampled. Histograms use log-linear buckets (four per power of two, so
+ * percentiles are within about 20%) held in a few striped arrays chosen by thread id, so threads
+ * recording concurrently rarely touch the same cache lines. Everything is cumulative since start;
+ * readers compute rates and windowed percentiles from the difference of two samples.
+ */
+final class Metrics {
+    // Metric names; counters end in _total.
+    static final String TAG_READS = "tag_reads_total";
+    static final String TAGS_NEW = "tags_new_total";
+    static final String TAGS_UNIQUE = "tags_unique";
+    static final String TAG_RING_BACKLOG = "tag_ring_backlog";
+    static final String TAG_READS_DROPPED = "tag_reads_dropped";
+    static final String TAG_READS_PER_SECOND = "tag_reads_per_second";
+    static final String READ_NOTIFY_TAGS = "read_notify_tags";
+    static final String TAG_TO_SCREEN = "tag_to_screen_ms";
+    static final String COMMAND_TIME = "reader_command_us";
+    static final String COMMAND_BACKLOG = "reader_command_backlog";
+    static final String COMMANDS_SUBMITTED = "reader_commands_submitted_total";
+    static final String COMMANDS_EXECUTED = "reader_commands_executed_total";
+    static final String COMMANDS_COALESCED = "reader_commands_coalesced_total";
+    static final String READER_CONNECTED = "reader_connected";
+    static final String CONNECT_TIME = "reader_connect_ms";
+    static final String CONNECTS = "reader_connects_total";
+    static final String RECONNECTS = "reader_reconnects_total";
+    static final String DISCONNECTIONS = "reader_disconnection_events_total";
+    static final String TRIGGER_SWITCH_TIME = "trigger_switch_ms";
+    static final String BARCODES = "barcodes_total";
+    static final String BARCODE_LATENCY = "barcode_latency_ms";
+    static final String SCANNER_SESSIONS = "scanner_sessions_total";
+    static final String ENRICH_CACHE_HITS = "enrich_cache_hits_total";
+    static final String ENRICH_CACHE_MISSES = "enrich_cache_misses_total";
+    static final String ENRICH_BATCH_TIME = "enrich_batch_us";
+    static final String TAGS_ENRICHED = "tags_enriched";
+    static final String EPCS_DECODED = "epcs_decoded_total";
+    static final String MANIFEST_EXPECTED = "manifest_expected";
+    static final String MANIFEST_FOUND = "manifest_found";
+    static final String MANIFEST_UNEXPECTED = "manifest_unexpected";
+    static final String ACCESS_SEQUENCES = "access_sequences_total";
+    static final String ACCESS_OPS_SUCCEEDED = "access_ops_succeeded_total";
+    static final String ACCESS_OPS_FAILED = "access_ops_failed_total";
+    static final String ACCESS_SEQUENCE_TIME = "access_sequence_ms";
+    static final String ACCESS_THROUGHPUT = "access_ops_per_second";
+    static final String GC_COUNT = "gc_count";
+    static final String ALLOCATED_BYTES = "allocated_bytes";
+    static final String HEAP_USED_BYTES = "heap_used_bytes";
+
+    /**
+     * Monotonic count.
+     */
+    static final class Counter {
+        private final LongAdder adder = new LongAdder();
+
+        void inc() {
+            adder.increment();
+        }
+
+        void add(long n) {
+            adder.add(n);
+        }
+
+        long get() {
+            return adder.sum();
+        }
+    }
+
+    /**
+     * Value sampled on demand.
+     */
+    interface Gauge {
+        long get();
+    }
+
+    /**
+     * Distribution of non-negative values.
+     */
+    static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+        private static final int STRIPES = stripes();
+        /** Per stripe: bucket counts, then the sum. Padded so neighbouring stripes do not share lines. */
+        private static final int STRIDE = BUCKETS + 16;
+
+        final String unit;
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * STRIDE);
+
+        Histogram(String unit) {
+            this.unit = unit;
+        }
+
+        void record(long value) {
+            if (value < 0) value = 0;
+            int base = (int) (Thread.currentThread().getId() & (STRIPES - 1)) * STRIDE;
+            cells.incrementAndGet(base + bucket(value));
+            cells.addAndGet(base + BUCKETS, value);
+        }
+
+        HistogramSnapshot snapshot() {
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            long sum = 0;
+            for (int s = 0; s < STRIPES; s++) {
+                int base = s * STRIDE;
+                for (int b = 0; b < BUCKETS; b++) {
+                    long c = cells.get(base + b);
+                    counts[b] += c;
+                    count += c;
+                }
+                sum += cells.get(base + BUCKETS);
+            }
+            return new HistogramSnapshot(counts, count, sum);
+        }
+
+        /**
+         * @return Bucket index: values below {@link #SUB_BUCKETS} map to themselves, larger values
+         * to their power of two and the next {@link #SUB_BUCKET_BITS} bits.
+         */
+        static int bucket(long value) {
+            if (value < SUB_BUCKETS) return (int) value;
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+        }
+
+        /**
+         * @return Largest value that falls into the bucket.
+         */
+        static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS) return bucket;
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long mantissa = bucket % SUB_BUCKETS;
+            if (exponent >= 62) return Long.MAX_VALUE;
+            long lower = (SUB_BUCKETS + mantissa) << (exponent - SUB_BUCKET_BITS);
+            return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+
+        private static int stripes() {
+            return Integer.highestOneBit(Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors())));
+        }
+    }
+
+    /**
+     * Histogram counts at one point in time.
+     */
+    static final class HistogramSnapshot {
+        static final HistogramSnapshot EMPTY = new HistogramSnapshot(new long[Histogram.BUCKETS], 0, 0);
+
+        private final long[] counts;
+        final long count;
+        final long sum;
+
+        HistogramSnapshot(long[] counts, long count, long sum) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+        }
+
+        /**
+         * @return The values recorded since an earlier snapshot of the same histogram.
+         */
+        HistogramSnapshot since(HistogramSnapshot earlier) {
+            long[] delta = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) delta[i] = counts[i] - earlier.counts[i];
+            return new HistogramSnapshot(delta, count - earlier.count, sum - earlier.sum);
+        }
+
+        /**
+         * @return Values recorded in one bucket; see {@link Histogram#upperBound}.
+         */
+        long countAt(int bucket) {
+            return counts[bucket];
+        }
+
+        double mean() {
+            return count > 0 ? (double) sum / count : 0;
+        }
+
+        /**
+         * @param quantile Between 0 and 1, e.g. 0.99.
+         * @return Upper bound of the bucket holding the quantile, or 0 if empty.
+         */
+        long percentile(double quantile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Histogram.upperBound(i);
+            }
+            return Histogram.upperBound(counts.length - 1);
+        }
+    }
+
+    private final ConcurrentSkipListMap<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * @return The counter with this name, created on first use.
+     */
+    Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter != null) return counter;
+        Counter created = new Counter();
+        counter = counters.putIfAbsent(name, created);
+        return counter != null ? counter : created;
+    }
+
+    /**
+     * Registers a gauge, replacing any gauge with the same name.
+     */
+    void gauge(String name, Gauge gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * @param unit Unit of the recorded values, e.g. "ms".
+     * @return The histogram with this name, created on first use.
+     */
+    Histogram histogram(String name, String unit) {
+        Histogram histogram = histograms.get(name);
+        if (histogram != null) return histogram;
+        Histogram created = new Histogram(unit);
+        histogram = histograms.putIfAbsent(name, created);
+        return histogram != null ? histogram : created;
+    }
+
+    /**
+     * @return Current value of a counter or gauge, or 0 if neither exists.
+     */
+    long value(String name) {
+        Counter counter = counters.get(name);
+        if (counter != null) return counter.get();
+        Gauge gauge = gauges.get(name);
+        return gauge != null ? gauge.get() : 0;
+    }
+
+    /**
+     * @return Snapshot of a histogram, or an empty one if it does not exist.
+     */
+    HistogramSnapshot snapshot(String name) {
+        Histogram histogram = histograms.get(name);
+        return histogram != null ? histogram.snapshot() : HistogramSnapshot.EMPTY;
+    }
+
+    Map<String, Counter> getCounters() {
+        return counters;
+    }
+
+    Map<String, Gauge> getGauges() {
+        return gauges;
+    }
+
+    Map<String, Histogram> getHistograms() {
+        return histograms;
+    }
+}
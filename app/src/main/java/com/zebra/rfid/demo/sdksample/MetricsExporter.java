@@ -0,0 +1,138 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.Build;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Formats a {@link Metrics} registry for fleet monitoring.
+ * <p>
+ * {@link #writePrometheus} produces the Prometheus text exposition format (version 0.0.4) and
+ * {@link #writeJson} a flat JSON document with histogram percentiles, so devices can be scraped
+ * through {@link MetricsServer} or compared from snapshot files. Metric names get the
+ * {@link #PREFIX}; all values are cumulative since the reader service started, except gauges.
+ */
+final class MetricsExporter {
+    private static final String TAG = "RFID_SAMPLE Metrics";
+    static final String PREFIX = "rfid_";
+    static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text format. Histograms list only buckets holding
+     * values, which keeps the output short while staying cumulative.
+     */
+    static void writePrometheus(Metrics metrics, Writer out) throws IOException {
+        out.write("# TYPE " + PREFIX + "build_info gauge\n");
+        out.write(PREFIX + "build_info{version=\"" + label(BuildConfig.VERSION_NAME) + "\",git=\""
+                + label(BuildConfig.GIT_VERSION) + "\",model=\"" + label(Build.MODEL) + "\"} 1\n");
+        for (Map.Entry<String, Metrics.Counter> e : metrics.getCounters().entrySet()) {
+            String name = PREFIX + e.getKey();
+            out.write("# TYPE " + name + " counter\n");
+            out.write(name + " " + e.getValue().get() + "\n");
+        }
+        for (Map.Entry<String, Metrics.Gauge> e : metrics.getGauges().entrySet()) {
+            String name = PREFIX + e.getKey();
+            out.write("# TYPE " + name + " gauge\n");
+            out.write(name + " " + e.getValue().get() + "\n");
+        }
+        for (Map.Entry<String, Metrics.Histogram> e : metrics.getHistograms().entrySet()) {
+            String name = PREFIX + e.getKey();
+            Metrics.HistogramSnapshot snapshot = e.getValue().snapshot();
+            out.write("# TYPE " + name + " histogram\n");
+            long cumulative = 0;
+            for (int b = 0; b < Metrics.Histogram.BUCKETS && cumulative < snapshot.count; b++) {
+                long count = snapshot.countAt(b);
+                if (count == 0) continue;
+                cumulative += count;
+                out.write(name + "_bucket{le=\"" + Metrics.Histogram.upperBound(b) + "\"} " + cumulative + "\n");
+            }
+            out.write(name + "_bucket{le=\"+Inf\"} " + snapshot.count + "\n");
+            out.write(name + "_sum " + snapshot.sum + "\n");
+            out.write(name + "_count " + snapshot.count + "\n");
+        }
+    }
+
+    /**
+     * Writes all metrics as one JSON object with "counters", "gauges" and "histograms" members;
+     * histograms are summarized by count, sum, mean and percentiles.
+     */
+    static void writeJson(Metrics metrics, Writer out) throws IOException {
+        out.write("{\"timestamp\":" + System.currentTimeMillis());
+        out.write(",\"model\":\"" + json(Build.MODEL) + "\",\"version\":\"" + json(BuildConfig.VERSION_NAME)
+                + "\",\"git\":\"" + json(BuildConfig.GIT_VERSION) + "\"");
+        out.write(",\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, Metrics.Counter> e : metrics.getCounters().entrySet()) {
+            out.write(separator + "\"" + json(e.getKey()) + "\":" + e.getValue().get());
+            separator = ",";
+        }
+        out.write("},\"gauges\":{");
+        separator = "";
+        for (Map.Entry<String, Metrics.Gauge> e : metrics.getGauges().entrySet()) {
+            out.write(separator + "\"" + json(e.getKey()) + "\":" + e.getValue().get());
+            separator = ",";
+        }
+        out.write("},\"histograms\":{");
+        separator = "";
+        for (Map.Entry<String, Metrics.Histogram> e : metrics.getHistograms().entrySet()) {
+            Metrics.HistogramSnapshot s = e.getValue().snapshot();
+            out.write(separator + "\"" + json(e.getKey()) + "\":{\"unit\":\"" + json(e.getValue().unit)
+                    + "\",\"count\":" + s.count + ",\"sum\":" + s.sum
+                    + String.format(Locale.US, ",\"mean\":%.3f", s.mean())
+                    + ",\"p50\":" + s.percentile(0.5) + ",\"p90\":" + s.percentile(0.9)
+                    + ",\"p99\":" + s.percentile(0.99) + "}");
+            separator = ",";
+        }
+        out.write("}}\n");
+    }
+
+    /**
+     * Writes a Prometheus and a JSON snapshot next to each other.
+     * @param dir Target directory, e.g. the app's external files directory.
+     * @return The Prometheus file; the JSON file has the same name with a .json extension.
+     */
+    static File snapshotToFiles(Metrics metrics, File dir) throws IOException {
+        String base = "metrics-" + System.currentTimeMillis();
+        File prom = new File(dir, base + ".prom");
+        try (Writer out = new FileWriter(prom)) {
+            writePrometheus(metrics, out);
+        }
+        File json = new File(dir, base + ".json");
+        try (Writer out = new FileWriter(json)) {
+            writeJson(metrics, out);
+        }
+        Log.i(TAG, "Metrics snapshot written to " + prom + " and " + json);
+        return prom;
+    }
+
+    private static String label(String value) {
+        if (value == null) return "";
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String json(String value) {
+        if (value == null) return "";
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format(Locale.US, "\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
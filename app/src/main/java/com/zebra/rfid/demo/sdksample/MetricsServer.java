@@ -0,0 +1,161 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal HTTP endpoint serving the metrics registry to a local scraper.
+ * <p>
+ * Listens on the loopback interface only, so nothing is reachable from the network; a collector
+ * on the device or {@code adb forward tcp:9464 tcp:9464} on a host reads it. Serves
+ * {@code GET /metrics} in the Prometheus text format and {@code GET /metrics.json} as JSON, one
+ * request per connection on a single daemon thread.
+ */
+class MetricsServer {
+    private static final String TAG = "RFID_SAMPLE MetricsServer";
+    /**
+     * Default port of Prometheus exporters for OpenTelemetry, unlikely to clash on a handheld.
+     */
+    static final int DEFAULT_PORT = 9464;
+    private static final int READ_TIMEOUT_MS = 2000;
+
+    private final Metrics metrics;
+    private final int port;
+    private volatile ServerSocket serverSocket;
+    private Thread thread;
+
+    /**
+     * @param port Port to listen on, or 0 for any free port.
+     */
+    MetricsServer(Metrics metrics, int port) {
+        this.metrics = metrics;
+        this.port = port;
+    }
+
+    /**
+     * Starts serving. The port is bound on the server thread, off the caller's; a failure to bind
+     * is logged and leaves the endpoint off, since monitoring is optional.
+     */
+    synchronized void start() {
+        if (thread != null) return;
+        thread = new Thread(this::run, "metrics-http");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return The bound port, or -1 until the server thread has bound it.
+     */
+    int getPort() {
+        ServerSocket socket = serverSocket;
+        return socket != null ? socket.getLocalPort() : -1;
+    }
+
+    synchronized void stop() {
+        if (thread == null) return;
+        thread.interrupt();
+        thread = null;
+        ServerSocket socket = serverSocket;
+        serverSocket = null;
+        if (socket == null) return;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            Log.w(TAG, "Close failed", e);
+        }
+    }
+
+    private void run() {
+        ServerSocket socket;
+        try {
+            socket = new ServerSocket(port, 4, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            Log.w(TAG, "Metrics endpoint unavailable on port " + port, e);
+            return;
+        }
+        synchronized (this) {
+            if (thread != Thread.currentThread()) {
+                // Stopped while binding.
+                closeQuietly(socket);
+                return;
+            }
+            serverSocket = socket;
+        }
+        Log.i(TAG, "Serving metrics on 127.0.0.1:" + socket.getLocalPort());
+        serve(socket);
+    }
+
+    private static void closeQuietly(ServerSocket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already unusable.
+        }
+    }
+
+    private void serve(ServerSocket socket) {
+        while (!socket.isClosed()) {
+            try (Socket client = socket.accept()) {
+                client.setSoTimeout(READ_TIMEOUT_MS);
+                handle(client);
+            } catch (SocketException e) {
+                if (socket.isClosed()) return;
+                Log.w(TAG, "Connection failed", e);
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Request failed", e);
+            }
+        }
+    }
+
+    private void handle(Socket client) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+        String requestLine = in.readLine();
+        if (requestLine == null) return;
+        // Headers are not used, but are read so the client does not see a reset.
+        String header;
+        do {
+            header = in.readLine();
+        } while (header != null && !header.isEmpty());
+        String[] parts = requestLine.split(" ");
+        String method = parts[0];
+        String path = parts.length > 1 ? parts[1] : "/";
+        int query = path.indexOf('?');
+        if (query >= 0) path = path.substring(0, query);
+
+        OutputStream out = client.getOutputStream();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            respond(out, "405 Method Not Allowed", "text/plain", "Method not allowed\n", false);
+            return;
+        }
+        StringWriter body = new StringWriter();
+        if ("/metrics".equals(path)) {
+            MetricsExporter.writePrometheus(metrics, body);
+            respond(out, "200 OK", MetricsExporter.PROMETHEUS_CONTENT_TYPE, body.toString(), "HEAD".equals(method));
+        } else if ("/metrics.json".equals(path)) {
+            MetricsExporter.writeJson(metrics, body);
+            respond(out, "200 OK", MetricsExporter.JSON_CONTENT_TYPE, body.toString(), "HEAD".equals(method));
+        } else {
+            respond(out, "404 Not Found", "text/plain", "Try /metrics or /metrics.json\n", false);
+        }
+    }
+
+    private static void respond(OutputStream out, String status, String contentType, String body, boolean headOnly)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        String head = "HTTP/1.1 " + status + "\r\nContent-Type: " + contentType + "\r\nContent-Length: "
+                + bytes.length + "\r\nCache-Control: no-store\r\nConnection: close\r\n\r\n";
+        out.write(head.getBytes(StandardCharsets.US_ASCII));
+        if (!headOnly) out.write(bytes);
+        out.flush();
+    }
+}
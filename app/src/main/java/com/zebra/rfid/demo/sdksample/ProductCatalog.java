@@ -0,0 +1,154 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Read-only product catalog mapping GTINs to product names, searched in place in a memory-mapped
+ * file.
+ * <p>
+ * The file is plain text, one {@code <GTIN-14>,<name>} line per product, sorted by GTIN, UTF-8;
+ * an optional first line that does not start with a digit is a header and skipped. Lookups binary
+ * search the mapping by byte offset, so opening costs no parsing and only the pages touched by
+ * lookups are read from storage. Not thread-safe; use from one thread.
+ */
+class ProductCatalog {
+    private static final String TAG = "RFID_SAMPLE Catalog";
+    /**
+     * Catalog file name in the app's external files directory.
+     */
+    static final String FILE_NAME = "catalog.csv";
+    static final int GTIN_LENGTH = 14;
+
+    private final MappedByteBuffer buffer;
+    private final int dataStart;
+    private final int size;
+    private final byte[] key = new byte[GTIN_LENGTH];
+    private byte[] nameBytes = new byte[128];
+
+    private ProductCatalog(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.size = buffer.limit();
+        this.dataStart = size > 0 && !isDigit(buffer.get(0)) ? nextLine(0) : 0;
+    }
+
+    /**
+     * Maps a catalog file.
+     * @return The catalog, or null if the file does not exist or cannot be mapped.
+     */
+    static ProductCatalog open(File file) {
+        if (file == null || !file.isFile()) return null;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            // The mapping stays valid after the channel is closed.
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Log.i(TAG, "Mapped " + file + " (" + channel.size() + " bytes)");
+            return new ProductCatalog(buffer);
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Cannot map catalog " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Looks up a batch of GTINs. Keys are searched in ascending order, each search starting where
+     * the previous one ended, so a batch touches each catalog page at most once on the way.
+     * @param gtins GTIN-14 strings; entries that are null or malformed are not found.
+     * @param count Number of entries of {@code gtins} to look up.
+     * @param names Receives the product name per entry, or null if not in the catalog.
+     */
+    void lookup(String[] gtins, int count, String[] names) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> compareNullable(gtins[a], gtins[b]));
+        int from = dataStart;
+        for (Integer i : order) {
+            names[i] = null;
+            if (!toKey(gtins[i])) continue;
+            int line = lowerBound(from);
+            from = line;
+            if (line < size && compareKey(line) == 0) names[i] = readName(line + GTIN_LENGTH);
+        }
+    }
+
+    /**
+     * @return The product name of one GTIN, or null if not in the catalog.
+     */
+    String lookup(String gtin) {
+        if (!toKey(gtin)) return null;
+        int line = lowerBound(dataStart);
+        return line < size && compareKey(line) == 0 ? readName(line + GTIN_LENGTH) : null;
+    }
+
+    private boolean toKey(String gtin) {
+        if (gtin == null || gtin.length() != GTIN_LENGTH) return false;
+        for (int i = 0; i < GTIN_LENGTH; i++) {
+            char c = gtin.charAt(i);
+            if (c < '0' || c > '9') return false;
+            key[i] = (byte) c;
+        }
+        return true;
+    }
+
+    /**
+     * @return Start of the first line at or after {@code from} whose GTIN is not less than the key.
+     */
+    private int lowerBound(int from) {
+        int lo = from;
+        int hi = size;
+        while (lo < hi) {
+            int start = lineStart((lo + hi) >>> 1, lo);
+            if (compareKey(start) < 0) {
+                lo = nextLine(start);
+            } else {
+                hi = start;
+            }
+        }
+        return lo;
+    }
+
+    private int compareKey(int line) {
+        for (int i = 0; i < GTIN_LENGTH; i++) {
+            int b = line + i < size ? buffer.get(line + i) : '\n';
+            if (b != key[i]) return b - key[i];
+        }
+        return 0;
+    }
+
+    private String readName(int position) {
+        if (position >= size || buffer.get(position) != ',') return null;
+        int start = position + 1;
+        int end = start;
+        while (end < size && buffer.get(end) != '\n') end++;
+        if (end > start && buffer.get(end - 1) == '\r') end--;
+        int length = end - start;
+        if (nameBytes.length < length) nameBytes = new byte[length * 2];
+        for (int i = 0; i < length; i++) nameBytes[i] = buffer.get(start + i);
+        return new String(nameBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int lineStart(int position, int floor) {
+        while (position > floor && buffer.get(position - 1) != '\n') position--;
+        return position;
+    }
+
+    private int nextLine(int position) {
+        while (position < size && buffer.get(position) != '\n') position++;
+        return Math.min(position + 1, size);
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static int compareNullable(String a, String b) {
+        if (a == null) return b == null ? 0 : -1;
+        return b == null ? 1 : a.compareTo(b);
+    }
+}
@@ -1,9 +1,12 @@
 package com.zebra.rfid.demo.sdksample;
 
+import android.content.Context;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 
+import com.zebra.rfid.api3.BatteryStatistics;
 import com.zebra.rfid.api3.ENUM_NEW_KEYLAYOUT_TYPE;
 import com.zebra.rfid.api3.ENUM_TRANSPORT;
 import com.zebra.rfid.api3.HANDHELD_TRIGGER_EVENT_TYPE;
@@ -18,14 +21,19 @@ import com.zebra.rfid.api3.RfidEventsListener;
 import com.zebra.rfid.api3.RfidReadEvents;
 import com.zebra.rfid.api3.RfidStatusEvents;
 import com.zebra.rfid.api3.STATUS_EVENT_TYPE;
+import com.zebra.rfid.api3.TagAccess;
 import com.zebra.rfid.api3.TagData;
 import com.zebra.scannercontrol.DCSSDKDefs;
 import com.zebra.scannercontrol.DCSScannerInfo;
 import com.zebra.scannercontrol.SDKHandler;
 
+import java.io.File;
 import java.util.ArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -40,11 +48,43 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
     private static final String CONNECTION_FAILED = "Connection failed";
     private static final String TAG = "RFID_SAMPLE";
     private static final String BUSY_RETRY_MESSAGE = "BUSY and Retry Set Trigger Again!!!";
+    /**
+     * Timeout for trigger and inventory commands; covers the ~3s idle wait plus SDK round-trips.
+     */
+    static final long COMMAND_TIMEOUT_MS = 5000;
+    /**
+     * Timeout for connect commands, which include Bluetooth session setup.
+     */
+    static final long CONNECT_TIMEOUT_MS = 30000;
+    /**
+     * How long a start request waits for a previously issued stop to settle (INVENTORY_STOP_EVENT).
+     */
+    private static final long STOP_SETTLE_TIMEOUT_MS = 1000;
+    /**
+     * Time each pipeline stage gets at shutdown to handle its backlog, including the final database flush.
+     */
+    private static final long PIPELINE_SHUTDOWN_TIMEOUT_MS = 2000;
+    private static final String TRIGGER_CONFIG_KEY = "keylayout";
+    /**
+     * Maximum tags fetched per read notification.
+     */
+    private static final int READ_TAGS_PER_NOTIFY = 100;
+    /**
+     * Time allowed after an auto-tune trial for the dedup stage to consume the last reads.
+     */
+    private static final long TRIAL_DRAIN_MS = 300;
     private Readers readers;
     private ArrayList<ReaderDevice> availableRFIDReaderList;
     private RFIDReader reader;
     private EventHandler eventHandler;
-    private MainActivity context;
+    /**
+     * Long-lived context owning the reader (the {@link InventoryService}); used for the SDKs and resources.
+     */
+    private Context context;
+    /**
+     * Receives status, trigger and tag store callbacks; forwards them to the UI when one is attached.
+     */
+    private ResponseHandlerInterface responseHandler;
     private SDKHandler sdkHandler;
     private ScannerHandler scannerHandler;
     private ArrayList<DCSScannerInfo> scannerList;
@@ -53,30 +93,234 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
     private final Handler uiHandler = new Handler(Looper.getMainLooper());
     private int connectionTimer = 0;
     private volatile boolean bRfidBusy = false;
+    /**
+     * True between an issued inventory start and the matching stop; distinguishes a running
+     * inventory from one that is still winding down after a stop.
+     */
+    private volatile boolean inventoryRequested = false;
+    /**
+     * Air-interface profile applied at connect time; null keeps the reader's own settings.
+     */
+    private volatile TuningProfile tuningProfile;
+    /**
+     * Most recent auto-tune run, finished or not; null before the first.
+     */
+    private volatile AutoTuneRun autoTuneRun;
+    /**
+     * Completion of the running access sequence, completed early by the reader's stop event; null when none runs.
+     * While set, reader start and stop events belong to the sequence, not to an inventory.
+     */
+    private volatile CompletableFuture<Void> accessDone;
+    /**
+     * Hardware-free backend replacing the reader and scanner SDKs; null for a real reader.
+     */
+    private volatile SimulatedReader simulatedReader;
     private final Runnable timerRunnable = new Runnable() {
         @Override
         public void run() {
             if (context != null) {
-                context.updateReaderStatus(context.getString(R.string.connecting) + "... " + connectionTimer++ + "s", false);
+                responseHandler.updateReaderStatus(context.getString(R.string.connecting) + "... " + connectionTimer++ + "s", false);
                 uiHandler.postDelayed(this, 1000);
             }
         }
     };
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
-    
+    /**
+     * Counters, gauges and histograms shown on the performance dashboard.
+     */
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * Control lane for blocking reader commands; keeps Bluetooth round-trips off the UI thread.
+     */
+    private final ReaderCommandExecutor commandExecutor = new ReaderCommandExecutor(metrics);
+
+    /**
+     * Tags returned per read notification.
+     */
+    private final Metrics.Histogram readNotifyTags = metrics.histogram(Metrics.READ_NOTIFY_TAGS, "tags");
+    private final Metrics.Histogram connectTime = metrics.histogram(Metrics.CONNECT_TIME, "ms");
+    private final Metrics.Histogram triggerSwitchTime = metrics.histogram(Metrics.TRIGGER_SWITCH_TIME, "ms");
+    private final Metrics.Counter connects = metrics.counter(Metrics.CONNECTS);
+    private final Metrics.Counter reconnects = metrics.counter(Metrics.RECONNECTS);
+    private final Metrics.Counter disconnections = metrics.counter(Metrics.DISCONNECTIONS);
+    /**
+     * True once a connect succeeded; later connects count as reconnects. Control lane only.
+     */
+    private boolean connectedBefore = false;
+
+    /**
+     * Coalescing queue for inventory and trigger configuration commands on the control lane.
+     */
+    private final ReaderCommandQueue commandQueue = new ReaderCommandQueue(commandExecutor, COMMAND_TIMEOUT_MS, metrics);
+
+    /**
+     * Filters mechanical bounce and rapid re-presses out of the hardware trigger event stream.
+     */
+    private final TriggerDebouncer triggerDebouncer = new TriggerDebouncer();
+
+    /**
+     * Ring buffer and stages carrying reads from {@code eventReadNotify} to dedup and the UI.
+     */
+    private final TagPipeline tagPipeline;
+
+    /**
+     * Decodes barcode events off the scanner callback thread and correlates them with tag reads.
+     */
+    private final BarcodeDispatcher barcodeDispatcher;
+
+    /**
+     * Pairs scanned barcodes with the best tag in a sliding window of recent reads.
+     */
+    private final AssociationEngine associationEngine = new AssociationEngine();
+
+    /**
+     * Runs inventory in duty cycles for long sessions.
+     */
+    private final InventoryScheduler inventoryScheduler;
+
+    /**
+     * Stops the inventory when a count, time, plateau or EPC condition is met.
+     */
+    private final StopConditionEngine stopConditionEngine;
+
+    /**
+     * Smoothed RSSI of the locate target.
+     */
+    private final TagLocator tagLocator = new TagLocator();
+    /**
+     * Reader settings saved when locate mode started; null outside locate mode. Guarded by this.
+     */
+    private ReaderTuner.Snapshot locateSnapshot;
+
+    /**
+     * Read history persisted by its own pipeline stage; null until {@link #onCreate}.
+     */
+    private volatile TagDatabase tagDatabase;
+    /**
+     * Product names for SGTIN tags from the local catalog.
+     */
+    private final TagEnricher tagEnricher;
+    /**
+     * Found, missing and unexpected tags against a loaded manifest.
+     */
+    private final ManifestReconciler manifestReconciler;
+    /**
+     * Batched tag memory reads, writes and locks.
+     */
+    private final TagAccessBatcher tagAccessBatcher;
+
     /**
      * Lock to synchronize access to trigger configuration and other shared resources.
      */
     private final ReentrantLock resourceLock = new ReentrantLock();
 
+    RFIDHandler() {
+        this(WaitStrategy.blocking());
+    }
+
     /**
-     * Initializes the handler and SDK with the provided activity context.
-     * @param activity The MainActivity context for UI and resource access.
+     * @param waitStrategy How tag pipeline stages wait for reads.
      */
-    void onCreate(MainActivity activity) {
-        context = activity;
+    RFIDHandler(WaitStrategy waitStrategy) {
+        tagPipeline = new TagPipeline(waitStrategy, metrics);
+        tagPipeline.setListener(() -> {
+            if (responseHandler != null) responseHandler.onTagStoreChanged();
+        });
+        tagPipeline.start();
+        barcodeDispatcher = new BarcodeDispatcher(tagPipeline.getStore(), metrics);
+        barcodeDispatcher.addListener(burst -> {
+            // The UI shows one result; a burst reports its last code.
+            if (responseHandler != null) responseHandler.barcodeData(burst.get(burst.size() - 1).text);
+        });
+        associationEngine.attach(tagPipeline, barcodeDispatcher);
+        inventoryScheduler = new InventoryScheduler(this, tagPipeline);
+        stopConditionEngine = new StopConditionEngine(() -> {
+            // A met condition ends a duty-cycled run as well, not just its current window.
+            if (inventoryScheduler.isRunning()) {
+                inventoryScheduler.stop();
+            } else {
+                stopInventoryAsync();
+            }
+        });
+        stopConditionEngine.attach(tagPipeline);
+        tagLocator.attach(tagPipeline);
+        tagEnricher = new TagEnricher(tagPipeline.getStore(), metrics);
+        tagEnricher.setListener(() -> {
+            if (responseHandler != null) responseHandler.onTagStoreChanged();
+        });
+        tagEnricher.attach(tagPipeline);
+        manifestReconciler = new ManifestReconciler(tagPipeline.getStore(), metrics);
+        manifestReconciler.setListener(() -> {
+            if (responseHandler != null) responseHandler.onTagStoreChanged();
+        });
+        manifestReconciler.attach(tagPipeline);
+        tagAccessBatcher = new TagAccessBatcher(commandExecutor, new TagAccessBatcher.SequenceRunner() {
+            @Override
+            public int maxOperations() {
+                RFIDReader localReader = reader;
+                return localReader != null && localReader.ReaderCapabilities != null
+                        ? localReader.ReaderCapabilities.getMaxNumOperationsInAccessSequence() : 0;
+            }
+
+            @Override
+            public boolean run(List<TagAccessBatcher.Op> ops, String targetEpc, long timeoutMs, CompletableFuture<Void> done)
+                    throws InterruptedException {
+                return runAccessSequence(ops, targetEpc, timeoutMs, done);
+            }
+        }, metrics);
+        metrics.gauge(Metrics.GC_COUNT, AllocationMeter::gcCount);
+        metrics.gauge(Metrics.ALLOCATED_BYTES, AllocationMeter::bytesAllocated);
+        metrics.gauge(Metrics.READER_CONNECTED, () -> isReaderConnected() ? 1 : 0);
+        StartupTrace.register(metrics);
+        metrics.gauge(Metrics.HEAP_USED_BYTES, () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+    }
+
+    /**
+     * Replaces the reader and scanner SDKs with a simulated backend, for benchmarks and UI tests.
+     * Call before {@link #onCreate}.
+     */
+    void useSimulatedReader(SimulatedReader simulated) {
+        simulatedReader = simulated;
+        simulated.setListener(new SimulatedReader.Listener() {
+            @Override
+            public void onInventoryStarted() {
+                onInventoryStart();
+            }
+
+            @Override
+            public void onInventoryStopped() {
+                onInventoryStop();
+            }
+
+            @Override
+            public void onReads(String[] epcs, short[] rssi, int count) {
+                EventLog.record(EventLog.Event.READ_NOTIFY, count);
+                readNotifyTags.record(count);
+                tagPipeline.publish(epcs, rssi, count);
+            }
+        });
+    }
+
+    /**
+     * Initializes the handler and SDK.
+     * @param context Long-lived context owning the reader, normally the {@link InventoryService}.
+     * @param responseHandler Receiver of status, trigger and tag callbacks.
+     */
+    void onCreate(Context context, ResponseHandlerInterface responseHandler) {
+        this.context = context;
+        this.responseHandler = responseHandler;
         scannerList = new ArrayList<>();
-        scannerHandler = new ScannerHandler(activity);
+        // Scanner SDK classes and the database load on the control lane, ahead of reader
+        // discovery, instead of on the caller's (main) thread during cold start.
+        commandExecutor.run("loadSdk", () -> {
+            scannerHandler = new ScannerHandler(responseHandler, barcodeDispatcher, metrics);
+            if (tagDatabase == null) {
+                tagDatabase = new TagDatabase(context);
+                tagDatabase.attach(tagPipeline);
+            }
+            tagEnricher.setCatalogFile(new File(context.getExternalFilesDir(null), ProductCatalog.FILE_NAME));
+            StartupTrace.mark(StartupTrace.Phase.SDK_LOADED);
+        }, 0);
         initSdk();
     }
 
@@ -85,6 +329,8 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
      * @return True if connected, false otherwise.
      */
     public boolean isReaderConnected() {
+        SimulatedReader simulated = simulatedReader;
+        if (simulated != null) return simulated.isConnected();
         return reader != null && reader.isConnected();
     }
 
@@ -93,46 +339,76 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
      */
     public void toggleConnection() {
         if (isReaderConnected()) {
-            executor.execute(this::disconnect);
+            disconnectAsync();
         } else {
             connectReader();
         }
     }
 
     /**
-     * Handles resume event for the activity, reconnecting the reader if needed.
+     * Reconnects the reader if needed, e.g. when a UI attaches.
      */
     void onResume() {
-        executor.execute(() -> {
-            String result = connect();
+        connectAsync().thenAccept(result -> {
             if (context != null) {
-                context.updateReaderStatus(result, isReaderConnected());
+                responseHandler.updateReaderStatus(result, isReaderConnected());
             }
         });
     }
 
     /**
-     * Handles pause event for the activity, disconnecting the reader.
+     * Disconnects the reader while keeping the SDK initialized.
      */
     void onPause() {
-        executor.execute(this::disconnect);
+        disconnectAsync();
     }
 
     /**
-     * Handles destroy event for the activity, disposing resources and shutting down executors.
+     * Handles destroy event for the owning service, disposing resources and shutting down executors.
      */
     void onDestroy() {
-        executor.execute(() -> {
+        commandExecutor.run("dispose", () -> {
             dispose();
             context = null;
-        });
-        executor.shutdown();
+            responseHandler = null;
+        }, 0);
+        // Queued behind dispose, so the reader no longer publishes when the stages drain.
+        commandExecutor.run("closePipeline", this::closePipeline, 0);
+        inventoryScheduler.shutdown();
+        stopConditionEngine.shutdown();
+        commandExecutor.shutdown();
+        barcodeDispatcher.shutdown();
+    }
+
+    /**
+     * Drains and joins the pipeline stages, including the database writer's final flush, then closes
+     * what they use. Control lane, after dispose.
+     */
+    private void closePipeline() {
+        boolean ended;
+        try {
+            ended = tagPipeline.shutdown(PIPELINE_SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ended = false;
+        }
+        tagEnricher.shutdown();
+        TagDatabase database = tagDatabase;
+        if (database == null) return;
+        if (ended) {
+            database.close();
+        } else {
+            // A stage may still be writing; leave the database to the process teardown.
+            Log.w(TAG, "Pipeline did not drain, database left open");
+        }
     }
 
     private void initSdk() {
         Log.d(TAG, "initSdk");
-        if (readers == null) {
-            executor.execute(this::findAndHandleAvailableReaders);
+        if (simulatedReader != null) {
+            connectReader();
+        } else if (readers == null) {
+            commandExecutor.run("findReaders", this::findAndHandleAvailableReaders, 0);
         } else {
             connectReader();
         }
@@ -145,9 +421,10 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
         } catch (InvalidUsageException e) {
             exception = e;
         }
+        StartupTrace.mark(StartupTrace.Phase.READERS_FOUND);
         if (context != null) {
             final InvalidUsageException finalException = exception;
-            context.runOnUiThread(() -> handleAvailableReadersResult(finalException));
+            uiHandler.post(() -> handleAvailableReadersResult(finalException));
         }
     }
 
@@ -191,8 +468,8 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
 
     private void handleReaderInitializationFailure(String toastMessage, String statusMessage) {
         if (context != null) {
-            context.sendToast(toastMessage);
-            context.updateReaderStatus(statusMessage, false);
+            responseHandler.sendToast(toastMessage);
+            responseHandler.updateReaderStatus(statusMessage, false);
         }
         if (readers != null) {
             readers.Dispose();
@@ -201,26 +478,29 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
     }
 
     private void connectReader() {
-        executor.execute(() -> {
+        commandExecutor.run("connectReader", () -> {
             if (context != null) {
-                context.updateReaderStatus(context.getString(R.string.connecting) + "...", false);
+                responseHandler.updateReaderStatus(context.getString(R.string.connecting) + "...", false);
             }
             synchronized (RFIDHandler.this) {
                 handleConnectionStatus();
             }
-        });
+        }, CONNECT_TIMEOUT_MS);
     }
 
     private void handleConnectionStatus() {
-        if (!isReaderConnected()) {
+        if (simulatedReader != null) {
+            String result = connect();
+            if (context != null) responseHandler.updateReaderStatus(result, isReaderConnected());
+        } else if (!isReaderConnected()) {
             getAvailableReader();
             String result = getConnectionResultString();
             if (context != null) {
-                context.updateReaderStatus(result, isReaderConnected());
+                responseHandler.updateReaderStatus(result, isReaderConnected());
             }
         } else {
             if (context != null && reader != null) {
-                context.updateReaderStatus(context.getString(R.string.connected) + ": " + reader.getHostName(), true);
+                responseHandler.updateReaderStatus(context.getString(R.string.connected) + ": " + reader.getHostName(), true);
             }
         }
     }
@@ -269,15 +549,16 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
 
     @Override
     public void RFIDReaderDisappeared(ReaderDevice readerDevice) {
-        if (context != null && readerDevice != null) context.sendToast(context.getString(R.string.rfid_reader_disappeared, readerDevice.getName()));
+        if (context != null && readerDevice != null) responseHandler.sendToast(context.getString(R.string.rfid_reader_disappeared, readerDevice.getName()));
         synchronized (RFIDHandler.this) {
             if (reader != null && readerDevice != null && readerDevice.getName().equals(reader.getHostName())) {
-                executor.execute(this::disconnect);
+                disconnectAsync();
             }
         }
     }
 
     private synchronized String connect() {
+        if (simulatedReader != null) return connectSimulated();
         if (reader == null) {
             return context != null ? context.getString(R.string.disconnected) : "Disconnected";
         }
@@ -299,6 +580,8 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
     private String connectAndConfigureReader() throws InvalidUsageException, OperationFailureException {
         connectionTimer = 0;
         bRfidBusy = false;
+        inventoryRequested = false;
+        triggerDebouncer.reset();
         uiHandler.post(timerRunnable);
         long startTime = System.currentTimeMillis();
         try {
@@ -307,20 +590,45 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
             uiHandler.removeCallbacks(timerRunnable);
         }
         long duration = System.currentTimeMillis() - startTime;
+        connectTime.record(duration);
         configureReader();
         if (reader.isConnected()) {
+            connects.inc();
+            if (connectedBefore) reconnects.inc();
+            connectedBefore = true;
+            StartupTrace.mark(StartupTrace.Phase.READER_CONNECTED);
             return context != null ? context.getString(R.string.connected) + ": " + reader.getHostName() + " (" + duration + " ms)" : "Connected";
         }
         return context != null ? context.getString(R.string.disconnected) : "Disconnected";
     }
 
+    private String connectSimulated() {
+        if (!simulatedReader.isConnected()) {
+            bRfidBusy = false;
+            inventoryRequested = false;
+            triggerDebouncer.reset();
+            long startTime = System.currentTimeMillis();
+            simulatedReader.connect();
+            long duration = System.currentTimeMillis() - startTime;
+            connectTime.record(duration);
+            connects.inc();
+            if (connectedBefore) reconnects.inc();
+            connectedBefore = true;
+            StartupTrace.mark(StartupTrace.Phase.READER_CONNECTED);
+            if (context != null) responseHandler.setScanButtonEnabled(true);
+            return context != null ? context.getString(R.string.connected) + ": " + SimulatedReader.NAME + " (" + duration + " ms)" : "Connected";
+        }
+        return context != null ? context.getString(R.string.connected) + ": " + SimulatedReader.NAME : "Connected";
+    }
+
     private String getConnectedStatus() {
         return context != null ? context.getString(R.string.connected) + ": " + reader.getHostName() : "Connected";
     }
 
     private void configureReader() {
         if (reader != null && reader.isConnected()) {
-            IRFIDLogger.getLogger("SDKSampleApp").EnableDebugLogs(true);
+            // SDK debug logging formats every PDU; keep it out of release builds.
+            if (BuildConfig.DEBUG) IRFIDLogger.getLogger("SDKSampleApp").EnableDebugLogs(true);
             try {
                 if (eventHandler == null) eventHandler = new EventHandler();
                 reader.Events.addEventsListener(eventHandler);
@@ -337,6 +645,12 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
                 reader.Events.setInventoryStopEvent(true);
                 Log.d(TAG, "ECRT: Configuration, subscript RFID Engine Start and Stop Event");
                 reader.Events.setOperationEndSummaryEvent(true);
+                reader.Events.setBatteryEvent(true);
+                TuningProfile profile = tuningProfile;
+                if (profile != null) {
+                    ReaderTuner.apply(reader, profile);
+                    Log.d(TAG, "Applied tuning profile " + profile);
+                }
                 setupScannerSdk();
                 restoreDefaultTriggerConfig();
             } catch (InvalidUsageException | OperationFailureException e) {
@@ -346,9 +660,289 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
         }
     }
 
+    /**
+     * @return The duty-cycle scheduler for long inventory runs.
+     */
+    InventoryScheduler getInventoryScheduler() {
+        return inventoryScheduler;
+    }
+
+    /**
+     * @return The metrics registry of the reader, pipeline and scanner.
+     */
+    Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return The engine that stops inventory on count, time, plateau or EPC conditions.
+     */
+    StopConditionEngine getStopConditionEngine() {
+        return stopConditionEngine;
+    }
+
+    /**
+     * @return The locate mode RSSI filter, sampled by the UI once per frame.
+     */
+    TagLocator getTagLocator() {
+        return tagLocator;
+    }
+
+    /**
+     * Starts locate mode on the control lane: filters the reader to one EPC and inventories it.
+     * The trigger keeps working while locating, without clearing the tag list.
+     * <p>
+     * Locate start and stop are queued as one configuration key, so the latest of them wins but
+     * neither is folded into plain inventory starts and stops, which would leave the filter set.
+     * @param epc Tag ID in hex.
+     * @return A future completing with true if the reader is locating.
+     */
+    CompletableFuture<Boolean> startLocateAsync(String epc) {
+        return commandQueue.config("locate", () -> performLocate(epc));
+    }
+
+    /**
+     * Leaves locate mode on the control lane and restores the reader settings.
+     */
+    CompletableFuture<Boolean> stopLocateAsync() {
+        return commandQueue.config("locate", this::stopLocate);
+    }
+
+    private synchronized boolean performLocate(String epc) {
+        if (!isReaderConnected()) return false;
+        if (bRfidBusy) {
+            stopInventory();
+            if (!awaitReaderIdle(STOP_SETTLE_TIMEOUT_MS)) {
+                Log.d(TAG, "RFID is busy, locate request ignored.");
+                return false;
+            }
+        }
+        // The simulated reader has no air-interface settings; it only filters by the target.
+        if (simulatedReader == null) try {
+            if (locateSnapshot == null) locateSnapshot = ReaderTuner.capture(reader);
+            ReaderTuner.applyLocate(reader, epc);
+        } catch (InvalidUsageException | OperationFailureException e) {
+            Log.e(TAG, "Failed to configure locate for " + epc, e);
+            restoreAfterLocate();
+            return false;
+        }
+        tagLocator.setTarget(epc);
+        Log.d(TAG, "Locating " + epc);
+        return performInventory();
+    }
+
+    private synchronized boolean stopLocate() {
+        boolean stopped = stopInventory();
+        tagLocator.setTarget(null);
+        if (!awaitReaderIdle(STOP_SETTLE_TIMEOUT_MS)) Log.w(TAG, "Reader still busy, restoring locate settings anyway");
+        restoreAfterLocate();
+        return stopped;
+    }
+
+    private void restoreAfterLocate() {
+        ReaderTuner.Snapshot snapshot = locateSnapshot;
+        locateSnapshot = null;
+        if (snapshot == null || !isReaderConnected()) return;
+        try {
+            ReaderTuner.restore(reader, snapshot);
+        } catch (InvalidUsageException | OperationFailureException e) {
+            Log.e(TAG, "Failed to restore settings after locate", e);
+        }
+    }
+
+    /**
+     * Reads the sled's remaining battery capacity on the control lane.
+     * @return A future completing with the remaining capacity in mAh, or -1 if unavailable.
+     */
+    CompletableFuture<Integer> readBatteryRemainingMahAsync() {
+        return commandExecutor.submit("batteryStats", () -> {
+            if (reader == null || !reader.isConnected()) return -1;
+            try {
+                BatteryStatistics stats = reader.Config.getBatteryStats();
+                return stats != null ? stats.getRemainingCapacity() : -1;
+            } catch (InvalidUsageException | OperationFailureException e) {
+                Log.e(TAG, "Failed to read battery statistics", e);
+                return -1;
+            }
+        }, COMMAND_TIMEOUT_MS);
+    }
+
+    /**
+     * @return The tuning profile applied at connect time, or null for the reader's own settings.
+     */
+    TuningProfile getTuningProfile() {
+        return tuningProfile;
+    }
+
+    /**
+     * Selects a tuning profile, applies it now if connected and on every later connect.
+     * @return A future completing with true if the profile was written to the reader.
+     */
+    CompletableFuture<Boolean> setTuningProfileAsync(TuningProfile profile) {
+        tuningProfile = profile;
+        return commandExecutor.submit("tuningProfile", () -> applyTuningProfile(profile), COMMAND_TIMEOUT_MS);
+    }
+
+    private boolean applyTuningProfile(TuningProfile profile) {
+        if (profile == null || reader == null || !reader.isConnected()) return false;
+        if (bRfidBusy && !awaitReaderIdle(STOP_SETTLE_TIMEOUT_MS)) {
+            Log.d(TAG, "RFID is busy, tuning profile not applied.");
+            return false;
+        }
+        try {
+            ReaderTuner.apply(reader, profile);
+            Log.d(TAG, "Applied tuning profile " + profile);
+            return true;
+        } catch (InvalidUsageException | OperationFailureException e) {
+            Log.e(TAG, "Failed to apply tuning profile " + profile.name, e);
+            return false;
+        }
+    }
+
+    /**
+     * Benchmarks each candidate profile with a timed inventory on the tags in front of the reader,
+     * then selects and applies the one with the best unique-tag rate. Each trial is its own control
+     * lane command, so commands queued during the run execute between trials. Cancelling the
+     * returned future cuts the current trial short, skips the rest and reapplies the profile
+     * selected before the run. Clears the tag list per trial; callers should confirm first.
+     * @param candidates Profiles to try, e.g. {@link TuningProfile#autoTuneCandidates()}.
+     * @param trialMs Inventory duration per candidate.
+     * @return A future completing with the winning trial, or null if no trial ran.
+     */
+    CompletableFuture<ReaderTuner.Trial> autoTuneAsync(List<TuningProfile> candidates, long trialMs) {
+        AutoTuneRun run = new AutoTuneRun(candidates, trialMs, tuningProfile);
+        autoTuneRun = run;
+        submitAutoTuneTrial(run);
+        return run.result;
+    }
+
+    /**
+     * @return True while an auto-tune run has not finished.
+     */
+    boolean isAutoTuning() {
+        AutoTuneRun run = autoTuneRun;
+        return run != null && !run.result.isDone();
+    }
+
+    /**
+     * Cancels the current auto-tune run; its future fails with a {@link CancellationException}.
+     * @return True if a run was cancelled.
+     */
+    boolean cancelAutoTune() {
+        AutoTuneRun run = autoTuneRun;
+        return run != null && run.result.cancel(false);
+    }
+
+    /**
+     * Progress of one auto-tune run. Fields other than {@link #result} are used on the control lane only.
+     */
+    private static final class AutoTuneRun {
+        final List<TuningProfile> candidates;
+        final long trialMs;
+        /** Profile to reapply if the run is cancelled. */
+        final TuningProfile previous;
+        final CompletableFuture<ReaderTuner.Trial> result = new CompletableFuture<>();
+        int next = 0;
+        ReaderTuner.Trial best;
+
+        AutoTuneRun(List<TuningProfile> candidates, long trialMs, TuningProfile previous) {
+            this.candidates = candidates;
+            this.trialMs = trialMs;
+            this.previous = previous;
+        }
+    }
+
+    private void submitAutoTuneTrial(AutoTuneRun run) {
+        long timeoutMs = run.trialMs + TRIAL_DRAIN_MS + STOP_SETTLE_TIMEOUT_MS + COMMAND_TIMEOUT_MS;
+        commandExecutor.submit("autoTuneTrial", () -> runAutoTuneTrial(run), timeoutMs)
+                .whenComplete((more, error) -> {
+                    if (error != null) {
+                        run.result.completeExceptionally(error);
+                    } else if (more) {
+                        // Queued behind whatever was submitted during this trial.
+                        submitAutoTuneTrial(run);
+                    }
+                });
+    }
+
+    /**
+     * Runs the next trial of the run, or finishes it. Control lane.
+     * @return True if another trial should be queued.
+     */
+    private boolean runAutoTuneTrial(AutoTuneRun run) throws InterruptedException {
+        if (!run.result.isDone() && run.next < run.candidates.size()) {
+            TuningProfile profile = run.candidates.get(run.next++);
+            ReaderTuner.Trial trial = autoTuneTrial(profile, run.trialMs, run.result);
+            if (trial != null) {
+                Log.d(TAG, "Auto-tune trial " + trial);
+                if (trial.beats(run.best)) run.best = trial;
+            }
+            if (!run.result.isDone() && run.next < run.candidates.size()) return true;
+        }
+        if (run.result.isDone()) {
+            Log.d(TAG, "Auto-tune cancelled after " + run.next + " trials");
+            if (run.previous != null) applyTuningProfile(run.previous);
+            return false;
+        }
+        if (run.best != null) {
+            tuningProfile = run.best.profile;
+            applyTuningProfile(run.best.profile);
+            Log.d(TAG, "Auto-tune selected " + run.best.profile);
+        } else if (run.previous != null) {
+            applyTuningProfile(run.previous);
+        }
+        run.result.complete(run.best);
+        return false;
+    }
+
+    /**
+     * Measures one profile with a timed inventory. Control lane.
+     * @param cancel Completes when the run is cancelled, ending the inventory early.
+     * @return The trial, or null if it could not run or was cut short.
+     */
+    private ReaderTuner.Trial autoTuneTrial(TuningProfile profile, long trialMs, CompletableFuture<?> cancel)
+            throws InterruptedException {
+        if (!applyTuningProfile(profile)) return null;
+        clearTags();
+        TagStore store = tagPipeline.getStore();
+        long start = SystemClock.elapsedRealtime();
+        try {
+            if (!performInventory()) return null;
+            try {
+                cancel.get(trialMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Ran the full trial.
+            } catch (ExecutionException | CancellationException e) {
+                // Cancelled or failed; checked below.
+            }
+            stopInventory();
+            long duration = SystemClock.elapsedRealtime() - start;
+            awaitReaderIdle(STOP_SETTLE_TIMEOUT_MS);
+            if (cancel.isDone()) return null;
+            Thread.sleep(TRIAL_DRAIN_MS);
+            int unique = store.size();
+            long reads = 0;
+            for (int i = 0; i < unique; i++) reads += store.getReadCount(i);
+            return new ReaderTuner.Trial(profile, reads, unique, duration);
+        } finally {
+            if (inventoryRequested) stopInventory();
+        }
+    }
+
+    /**
+     * Re-subscribes to RFID trigger events and maps the triggers back to RFID, on the control lane.
+     * @return A future completing with the trigger configuration result.
+     */
+    CompletableFuture<Boolean> restoreRfidTriggersAsync() {
+        return commandExecutor.run("subscribeTriggerEvents", () -> subsribeRfidTriggerEvents(true), COMMAND_TIMEOUT_MS)
+                .thenCompose(v -> setTriggerEnabledAsync(true));
+    }
+
     public void subsribeRfidTriggerEvents(boolean bRfidHardwareTriggerEvent){
         if(reader != null && reader.isConnected()) {
-            Log.v(TAG, "### subsribeRfidTriggerEvents: rfid=" + bRfidHardwareTriggerEvent);
+            EventLog.record(EventLog.Event.TRIGGER_SUBSCRIBE, bRfidHardwareTriggerEvent ? 1 : 0);
+            // Events may be missed while unsubscribed; start the next press from a clean state.
+            triggerDebouncer.reset();
             reader.Events.setHandheldEvent(bRfidHardwareTriggerEvent);
         }
     }
@@ -357,7 +951,7 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
         resourceLock.lock();
         Log.d(TAG, "### restoreDefaultTriggerConfig");
         try {
-            if (reader == null || !reader.isConnected()) return false;
+            if (!isReaderConnected()) return false;
             // Wait for reader to become idle
             try {
                 waitForReaderIdle();
@@ -366,23 +960,21 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
                 if(bRfidBusy){
                     stopInventory();
                 }
-                context.showSnackbar(BUSY_RETRY_MESSAGE, false);
+                responseHandler.showSnackbar(BUSY_RETRY_MESSAGE, false);
                 return false;
             }
+            if (simulatedReader != null) {
+                EventLog.record(EventLog.Event.TRIGGER_MODE, 1, 1);
+                return true;
+            }
             try {
-                Log.v(TAG, "### Before Restore...");
                 reader.Config.getKeylayoutType();
-                ENUM_NEW_KEYLAYOUT_TYPE upperTriggerValue = reader.Config.getUpperTriggerValue();
-                ENUM_NEW_KEYLAYOUT_TYPE lowerTriggerValue = reader.Config.getLowerTriggerValue();
-                logTriggerValues(upperTriggerValue, lowerTriggerValue);
+                logTriggerValues("before restore");
                 /// /////////////////////////////////////////////////////////////////////////////////
                 reader.Config.setKeylayoutType(ENUM_NEW_KEYLAYOUT_TYPE.RFID, ENUM_NEW_KEYLAYOUT_TYPE.SLED_SCAN);
 
-                ENUM_NEW_KEYLAYOUT_TYPE upperTriggerValue2 = reader.Config.getUpperTriggerValue();
-                ENUM_NEW_KEYLAYOUT_TYPE lowerTriggerValue2 = reader.Config.getLowerTriggerValue();
-                Log.v(TAG, "### After Restore...");
                 subsribeRfidTriggerEvents(true); //for RFID
-                logTriggerValues(upperTriggerValue2, lowerTriggerValue2);
+                logTriggerValues("after restore");
                 return true;
             } catch (InvalidUsageException | OperationFailureException e) {
                 Log.e(TAG, "Exception in setTriggerEnabled", e);
@@ -396,41 +988,36 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
     public boolean setTriggerEnabled(boolean isRfidEnabled) {
         resourceLock.lock();
         try {
-            if (reader == null || !reader.isConnected() || context == null) return false;
+            if (!isReaderConnected() || context == null) return false;
 
             if(bRfidBusy){
 
-                context.showSnackbar(BUSY_RETRY_MESSAGE, false);
+                responseHandler.showSnackbar(BUSY_RETRY_MESSAGE, false);
                 stopInventory();
                 return false;
             }
-
-            Log.d(TAG, "### setTriggerEnabled: rfid=" + isRfidEnabled);
+            if (simulatedReader != null) {
+                EventLog.record(EventLog.Event.TRIGGER_MODE, isRfidEnabled ? 1 : 0, 1);
+                return true;
+            }
 
             ENUM_NEW_KEYLAYOUT_TYPE mode = isRfidEnabled ? ENUM_NEW_KEYLAYOUT_TYPE.RFID : ENUM_NEW_KEYLAYOUT_TYPE.SLED_SCAN;
             try {
-                Log.v(TAG, "### before setTriggerEnabled: rfid=" + isRfidEnabled);
+                long start = SystemClock.elapsedRealtime();
                 RFIDResults result = reader.Config.setKeylayoutType(mode, mode);
-
-                ENUM_NEW_KEYLAYOUT_TYPE upperTriggerValue2 = reader.Config.getUpperTriggerValue();
-                ENUM_NEW_KEYLAYOUT_TYPE lowerTriggerValue2 = reader.Config.getLowerTriggerValue();
-                Log.v(TAG, "### After setTriggerEnabled...");
-                logTriggerValues(upperTriggerValue2, lowerTriggerValue2);
-
-
-                Log.v(TAG, "### after setTriggerEnabled: rfid=" + isRfidEnabled);
-                if (result == RFIDResults.RFID_API_SUCCESS) {
-                    Log.v(TAG, "#################################################");
-                    Log.v(TAG, "Trigger configuration success: " + mode.name());
-                    Log.v(TAG, "#################################################");
+                logTriggerValues("after setTriggerEnabled");
+                boolean ok = result == RFIDResults.RFID_API_SUCCESS;
+                EventLog.record(EventLog.Event.TRIGGER_MODE, isRfidEnabled ? 1 : 0, ok ? 1 : 0);
+                if (ok) {
                     subsribeRfidTriggerEvents(isRfidEnabled);
+                    triggerSwitchTime.record(SystemClock.elapsedRealtime() - start);
                     return true;
                 } else {
                     Log.e(TAG, "Trigger configuration failed: " + result.toString());
                 }
             } catch (InvalidUsageException | OperationFailureException e) {
                 stopInventory();
-                context.showSnackbar(BUSY_RETRY_MESSAGE, false);
+                responseHandler.showSnackbar(BUSY_RETRY_MESSAGE, false);
                 Log.e(TAG, "Exception in setTriggerEnabled", e);
             }
             return false;
@@ -439,6 +1026,135 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
         }
     }
 
+    /**
+     * Asynchronous variant of {@link #setTriggerEnabled(boolean)} that runs on the control lane.
+     * A pending trigger configuration not yet sent to the reader is superseded by this one.
+     * @param isRfidEnabled True to map both triggers to RFID, false to map them to the barcode scanner.
+     * @return A future completing with the configuration result.
+     */
+    public CompletableFuture<Boolean> setTriggerEnabledAsync(boolean isRfidEnabled) {
+        return commandQueue.config(TRIGGER_CONFIG_KEY, () -> setTriggerEnabled(isRfidEnabled));
+    }
+
+    /**
+     * Asynchronous variant of {@link #restoreDefaultTriggerConfig()} that runs on the control lane.
+     * A pending trigger configuration not yet sent to the reader is superseded by this one.
+     * @return A future completing with the configuration result.
+     */
+    public CompletableFuture<Boolean> restoreDefaultTriggerConfigAsync() {
+        return commandQueue.config(TRIGGER_CONFIG_KEY, this::restoreDefaultTriggerConfig);
+    }
+
+    /**
+     * Asynchronous variant of {@link #performInventory()} that runs on the control lane.
+     * Pending start/stop commands are coalesced with this one.
+     * @return A future completing with true if the reader is inventorying afterwards.
+     */
+    CompletableFuture<Boolean> performInventoryAsync() {
+        return commandQueue.startInventory(this::performInventory);
+    }
+
+    /**
+     * Asynchronous variant of {@link #stopInventory()} that runs on the control lane.
+     * Pending start/stop commands are coalesced with this one.
+     * @return A future completing with true if the stop command was sent.
+     */
+    CompletableFuture<Boolean> stopInventoryAsync() {
+        return commandQueue.stopInventory(this::stopInventory);
+    }
+
+    /**
+     * @return The unique tag store fed by read events; read-only for callers.
+     */
+    TagStore getTagStore() {
+        return tagPipeline.getStore();
+    }
+
+    /**
+     * @return The tag pipeline, for attaching further stages.
+     */
+    TagPipeline getTagPipeline() {
+        return tagPipeline;
+    }
+
+    /**
+     * @return The barcode dispatcher, for listening to decoded scans.
+     */
+    BarcodeDispatcher getBarcodeDispatcher() {
+        return barcodeDispatcher;
+    }
+
+    /**
+     * @return The barcode-to-tag association engine, for listening to pairs.
+     */
+    AssociationEngine getAssociationEngine() {
+        return associationEngine;
+    }
+
+    /**
+     * @return The read history database, or null before {@link #onCreate}.
+     */
+    TagDatabase getTagDatabase() {
+        return tagDatabase;
+    }
+
+    /**
+     * @return The product name enricher.
+     */
+    TagEnricher getTagEnricher() {
+        return tagEnricher;
+    }
+
+    /**
+     * @return The manifest reconciler.
+     */
+    ManifestReconciler getManifestReconciler() {
+        return manifestReconciler;
+    }
+
+    /**
+     * Queues a tag memory read, write or lock; queued operations run in batched access sequences.
+     * @return A future completing with the operation's per-tag results.
+     */
+    CompletableFuture<List<TagAccessBatcher.Result>> submitTagAccess(TagAccessBatcher.Op op) {
+        return tagAccessBatcher.submit(op);
+    }
+
+    TagAccessBatcher getTagAccessBatcher() {
+        return tagAccessBatcher;
+    }
+
+    /**
+     * Clears the unique tag store. The clear is applied by the dedup stage before its next read.
+     */
+    void clearTags() {
+        tagPipeline.clear();
+    }
+
+    /**
+     * Sets the hardware trigger debounce parameters.
+     * @see TriggerDebouncer#configure(long, long, long)
+     */
+    void configureTriggerDebounce(long minHoldMs, long releaseSuppressMs, long minPressIntervalMs) {
+        triggerDebouncer.configure(minHoldMs, releaseSuppressMs, minPressIntervalMs);
+    }
+
+    /**
+     * Connects the selected reader on the control lane.
+     * @return A future completing with the connection status message.
+     */
+    CompletableFuture<String> connectAsync() {
+        return commandExecutor.submit("connect", this::connect, CONNECT_TIMEOUT_MS);
+    }
+
+    /**
+     * Disconnects the reader on the control lane.
+     * @return A future completing once the reader is disconnected.
+     */
+    CompletableFuture<Void> disconnectAsync() {
+        return commandExecutor.run("disconnect", this::disconnect, COMMAND_TIMEOUT_MS);
+    }
+
     /**
      * Waits for the bRfidBusy flag to be false, indicating the reader is idle.
      * @throws TimeoutException if the reader remains busy after the timeout period.
@@ -462,7 +1178,7 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
 
             stopInventory();
 
-            context.showSnackbar(BUSY_RETRY_MESSAGE, false);
+            responseHandler.showSnackbar(BUSY_RETRY_MESSAGE, false);
         }
 
 
@@ -520,15 +1236,29 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
     }
 
     private synchronized void disconnect() {
+        SimulatedReader simulated = simulatedReader;
+        if (simulated != null) {
+            if (!simulated.isConnected()) return;
+            simulated.disconnect();
+            if (context != null) {
+                responseHandler.setScanButtonEnabled(false);
+                responseHandler.updateReaderStatus(context.getString(R.string.disconnected), false);
+            }
+            return;
+        }
         try {
             if (reader != null) {
+                if (locateSnapshot != null) {
+                    tagLocator.setTarget(null);
+                    restoreAfterLocate();
+                }
                 if (eventHandler != null) reader.Events.removeEventsListener(eventHandler);
                 if (sdkHandler != null) {
                     sdkHandler.dcssdkTerminateCommunicationSession(scannerID);
                 }
                 reader.disconnect();
                 if (context != null)
-                    context.updateReaderStatus(context.getString(R.string.disconnected), false);
+                    responseHandler.updateReaderStatus(context.getString(R.string.disconnected), false);
                 reader = null;
                 sdkHandler = null;
             }
@@ -537,12 +1267,20 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
         }
     }
 
-    private void logTriggerValues(ENUM_NEW_KEYLAYOUT_TYPE upper, ENUM_NEW_KEYLAYOUT_TYPE lower) {
-        Log.v(TAG, "### upper=" + upper.name() + ", lower=" + lower);
+    /**
+     * Logs the trigger key layout. Reads it from the reader only when verbose logging is on,
+     * since each value is a reader round trip.
+     */
+    private void logTriggerValues(String when) throws InvalidUsageException, OperationFailureException {
+        if (!EventLog.isLoggable(Log.VERBOSE)) return;
+        ENUM_NEW_KEYLAYOUT_TYPE upper = reader.Config.getUpperTriggerValue();
+        ENUM_NEW_KEYLAYOUT_TYPE lower = reader.Config.getLowerTriggerValue();
+        Log.v(TAG, "### " + when + ": upper=" + upper.name() + ", lower=" + lower);
     }
 
     private synchronized void dispose() {
         disconnect();
+        if (simulatedReader != null) simulatedReader.shutdown();
         try {
             if (readers != null) {
                 readers.Dispose();
@@ -554,39 +1292,140 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
     }
 
     /**
-     * Starts RFID inventory operation if the reader is not busy.
+     * Starts RFID inventory operation. A start while our own inventory is running is already
+     * satisfied; a start while a previous stop is still settling waits briefly for the reader to idle.
+     * Blocks on the SDK call; UI callers use {@link #performInventoryAsync()}.
+     * @return True if the reader is inventorying afterwards.
      */
-    synchronized void performInventory() {
-        if(bRfidBusy) {
-            Log.d(TAG, "RFID is busy, inventory request ignored.\r\n Abort!!!!");
-            stopInventory();
-            return;
+    synchronized boolean performInventory() {
+        if (bRfidBusy) {
+            if (inventoryRequested) {
+                Log.d(TAG, "Inventory already running, start request satisfied.");
+                return true;
+            }
+            if (!awaitReaderIdle(STOP_SETTLE_TIMEOUT_MS)) {
+                Log.d(TAG, "RFID is busy, inventory request ignored.");
+                return false;
+            }
+        }
+        if (simulatedReader != null) {
+            inventoryRequested = simulatedReader.startInventory();
+            return inventoryRequested;
         }
         try {
-            if (reader != null && reader.isConnected()) reader.Actions.Inventory.perform();
+            if (reader != null && reader.isConnected()) {
+                reader.Actions.Inventory.perform();
+                inventoryRequested = true;
+                return true;
+            }
         } catch (InvalidUsageException | OperationFailureException e) {
             Log.e(TAG, "Error performing inventory", e);
         }
+        return false;
     }
 
     /**
      * Stops RFID inventory operation if the reader is connected.
+     * Blocks on the SDK call; UI callers use {@link #stopInventoryAsync()}.
+     * @return True if the stop command was sent.
      */
-    synchronized void stopInventory() {
+    synchronized boolean stopInventory() {
+        inventoryRequested = false;
+        if (simulatedReader != null) return simulatedReader.stopInventory();
         try {
-            if (reader != null && reader.isConnected()) reader.Actions.Inventory.stop();
+            if (reader != null && reader.isConnected()) {
+                reader.Actions.Inventory.stop();
+                return true;
+            }
         } catch (InvalidUsageException | OperationFailureException e) {
             Log.e(TAG, "Error stopping inventory", e);
             Log.e(TAG, CONNECTION_FAILED, e);
         }
+        return false;
+    }
+
+    /**
+     * Runs one access sequence and stops it once {@code done} completes or the timeout passes. The
+     * wait blocks on {@code done}, which the access stop event also completes, without holding the
+     * handler's monitor. Control lane.
+     * @param targetEpc EPC to filter the sequence to, or null for every tag in the field.
+     * @return False if the reader is unavailable or busy, or rejected the sequence.
+     */
+    private boolean runAccessSequence(List<TagAccessBatcher.Op> ops, String targetEpc, long timeoutMs,
+                                      CompletableFuture<Void> done) throws InterruptedException {
+        // The simulated reader has no tag memory.
+        if (simulatedReader != null || !isReaderConnected()) return false;
+        if (bRfidBusy && !awaitReaderIdle(STOP_SETTLE_TIMEOUT_MS)) {
+            Log.d(TAG, "RFID is busy, access sequence not started.");
+            return false;
+        }
+        TagAccess.Sequence sequence;
+        synchronized (this) {
+            sequence = reader.Actions.TagAccess.OperationSequence;
+            accessDone = done;
+            try {
+                sequence.deleteAll();
+                for (TagAccessBatcher.Op op : ops) sequence.add(TagAccessBatcher.toOperation(reader.Actions.TagAccess, op));
+                if (targetEpc != null) {
+                    sequence.performSequence(TagAccessBatcher.epcFilter(targetEpc), null, null);
+                } else {
+                    sequence.performSequence();
+                }
+            } catch (InvalidUsageException | OperationFailureException e) {
+                accessDone = null;
+                Log.e(TAG, "Failed to start access sequence", e);
+                return false;
+            }
+        }
+        try {
+            done.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Stopped below; operations without a result fail.
+        } finally {
+            synchronized (this) {
+                try {
+                    sequence.stopSequence();
+                    sequence.deleteAll();
+                } catch (InvalidUsageException | OperationFailureException e) {
+                    Log.e(TAG, "Error stopping access sequence", e);
+                }
+            }
+            awaitReaderIdle(STOP_SETTLE_TIMEOUT_MS);
+            accessDone = null;
+        }
+        return true;
+    }
+
+    /**
+     * Polls the busy flag without side effects, unlike {@link #waitForReaderIdle()}.
+     * @param timeoutMs Maximum time to wait.
+     * @return True if the reader became idle within the timeout.
+     */
+    private boolean awaitReaderIdle(long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (bRfidBusy) {
+            if (System.currentTimeMillis() >= deadline) return false;
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
      * Initiates a scan code operation using the scanner SDK.
      */
     public void scanCode() {
+        SimulatedReader simulated = simulatedReader;
+        if (simulated != null) {
+            commandExecutor.run("scanCode", () -> barcodeDispatcher.submit(simulated.scan(), BarcodeDecoder.EAN_13, 0), COMMAND_TIMEOUT_MS);
+            return;
+        }
         String inXml = "<inArgs><scannerID>" + scannerID + "</scannerID></inArgs>";
-        executor.execute(() -> executeCommand(DCSSDKDefs.DCSSDK_COMMAND_OPCODE.DCSSDK_DEVICE_PULL_TRIGGER, inXml, scannerID));
+        commandExecutor.run("scanCode", () -> executeCommand(DCSSDKDefs.DCSSDK_COMMAND_OPCODE.DCSSDK_DEVICE_PULL_TRIGGER, inXml, scannerID), COMMAND_TIMEOUT_MS);
     }
 
     private void executeCommand(DCSSDKDefs.DCSSDK_COMMAND_OPCODE opCode, String inXML, int scannerID) {
@@ -608,11 +1447,16 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
             RFIDReader localReader = reader;
             if (localReader == null) return;
             try {
-                TagData[] myTags = localReader.Actions.getReadTags(100);
-                if (myTags != null && context != null) {
-                    executor.execute(() -> {
-                        if (context != null) context.handleTagdata(myTags);
-                    });
+                TagData[] myTags = localReader.Actions.getReadTags(READ_TAGS_PER_NOTIFY);
+                if (myTags != null) {
+                    EventLog.record(EventLog.Event.READ_NOTIFY, myTags.length);
+                    readNotifyTags.record(myTags.length);
+                    // Access results are not inventory reads; keep them out of the store and manifest counts.
+                    if (tagAccessBatcher.isActive()) {
+                        tagAccessBatcher.onTagData(myTags);
+                    } else {
+                        tagPipeline.publish(myTags);
+                    }
                 }
             } catch (Exception ex) {
                 Log.e(TAG, "Error in eventReadNotify", ex);
@@ -626,72 +1470,144 @@ class RFIDHandler implements Readers.RFIDReaderEventHandler {
             if (eventType == STATUS_EVENT_TYPE.HANDHELD_TRIGGER_EVENT) {
                 handleTriggerEvent(rfidStatusEvents);
             } else if (eventType == STATUS_EVENT_TYPE.DISCONNECTION_EVENT) {
-                executor.execute(() -> {
+                disconnections.inc();
+                commandExecutor.run("disconnectionEvent", () -> {
                     disconnect();
                     dispose();
-                });
-            } else if (eventType == STATUS_EVENT_TYPE.INVENTORY_START_EVENT) {
-                bRfidBusy = true;
-                if (context != null) context.dismissToast();
-            } else if (eventType == STATUS_EVENT_TYPE.INVENTORY_STOP_EVENT) {
-                bRfidBusy = false;
-                Log.v(TAG, "###5 API Inventory Stop Event, RFID Engine NOT BUSY and Ready for next command....");
-                if(context != null && context.getTestStatus()) {
-                    //MUST DO This first to prevent trigger debounce
-                    subsribeRfidTriggerEvents(false);
-                    context.dismissToast();
-                    context.showSnackbar("Pull Trigger: \r\nScan Barcode", false);
-                    Log.v(TAG, "###6 testBarcode: switch both Hardware Triggers from RFID to Barcode Test...");
-                    testBarcode();
+                }, 0);
+            } else if (eventType == STATUS_EVENT_TYPE.INVENTORY_START_EVENT
+                    || eventType == STATUS_EVENT_TYPE.ACCESS_START_EVENT) {
+                // Access sequences run as a reader operation and raise the same start and stop events
+                // as an inventory; they only mark the reader busy, without the inventory side effects.
+                if (accessDone != null) {
+                    bRfidBusy = true;
+                } else if (eventType == STATUS_EVENT_TYPE.INVENTORY_START_EVENT) {
+                    onInventoryStart();
+                }
+            } else if (eventType == STATUS_EVENT_TYPE.INVENTORY_STOP_EVENT
+                    || eventType == STATUS_EVENT_TYPE.ACCESS_STOP_EVENT) {
+                CompletableFuture<Void> access = accessDone;
+                if (access != null) {
+                    bRfidBusy = false;
+                    access.complete(null);
+                } else if (eventType == STATUS_EVENT_TYPE.INVENTORY_STOP_EVENT) {
+                    onInventoryStop();
+                }
+            } else if (eventType == STATUS_EVENT_TYPE.BATTERY_EVENT) {
+                if (rfidStatusEvents.StatusEventData.BatteryData != null) {
+                    int level = rfidStatusEvents.StatusEventData.BatteryData.getLevel();
+                    boolean charging = rfidStatusEvents.StatusEventData.BatteryData.getCharging();
+                    EventLog.record(EventLog.Event.BATTERY, level, charging ? 1 : 0);
+                    inventoryScheduler.onBatteryEvent(level, charging);
                 }
             } else if (eventType == STATUS_EVENT_TYPE.OPERATION_END_SUMMARY_EVENT) {
-                Log.d(TAG, "Operation End Summary Event");
-            }
-            else {
-                Log.d(TAG, "Unhandled status event: " + eventType);
+                EventLog.record(EventLog.Event.OPERATION_END_SUMMARY);
+            } else {
+                EventLog.record(EventLog.Event.UNHANDLED_STATUS, eventType.getValue());
             }
         }
 
         private void handleTriggerEvent(RfidStatusEvents rfidStatusEvents) {
             if (rfidStatusEvents.StatusEventData.HandheldTriggerEventData == null) return;
-            Log.v(TAG, "### handleTriggerEvent for hardware trigger event...");
+            // The SDK does not timestamp trigger events; stamp them on arrival.
+            long timestamp = SystemClock.elapsedRealtime();
             HANDHELD_TRIGGER_EVENT_TYPE triggerEvent = rfidStatusEvents.StatusEventData.HandheldTriggerEventData.getHandheldEvent();
             boolean isPressed = (triggerEvent == HANDHELD_TRIGGER_EVENT_TYPE.HANDHELD_TRIGGER_PRESSED);
+            EventLog.record(EventLog.Event.TRIGGER, isPressed ? 1 : 0);
 
             if (isPressed) {
+                if (!triggerDebouncer.onPress(timestamp)) {
+                    EventLog.record(EventLog.Event.TRIGGER_DEBOUNCED, 1);
+                    return;
+                }
                 if (bRfidBusy) {
-                    Log.d(TAG, "Ignored Trigger Press: RFID is already busy.");
+                    EventLog.record(EventLog.Event.TRIGGER_IGNORED_BUSY);
                     if (context != null) {
-                        context.runOnUiThread(() -> context.showSnackbar("Ignored: RFID Busy", true));
+                        responseHandler.showSnackbar("Ignored: RFID Busy", true);
                     }
                 } else {
-                    Log.v(TAG, "###3 Hardware Trigger Pressed: Starting Inventory...");
-                    if (context != null) context.handleTriggerPress(true);
+                    // In locate mode the reader is still filtered to the target; keep the list.
+                    if (!tagLocator.isActive()) clearTags();
+                    performInventoryAsync();
+                    if (context != null) responseHandler.handleTriggerPress(true);
                 }
             } else {
-                Log.v(TAG, "###4 Hardware Trigger Released: Stopping Inventory...");
-                if (context != null) context.handleTriggerPress(false);
+                long delayMs = triggerDebouncer.onRelease(timestamp);
+                if (delayMs == TriggerDebouncer.IGNORE_RELEASE) {
+                    EventLog.record(EventLog.Event.TRIGGER_DEBOUNCED, 0);
+                    return;
+                }
+                final int generation = triggerDebouncer.getReleaseGeneration();
+                uiHandler.postDelayed(() -> {
+                    if (triggerDebouncer.commitRelease(generation)) {
+                        stopInventoryAsync();
+                        if (context != null) responseHandler.handleTriggerPress(false);
+                    }
+                }, delayMs);
             }
         }
     }
 
+    /**
+     * Handles the reader's inventory start notification, from the SDK or the simulated reader.
+     */
+    private void onInventoryStart() {
+        bRfidBusy = true;
+        EventLog.record(EventLog.Event.INVENTORY_START);
+        TagDatabase database = tagDatabase;
+        if (database != null) database.startSession();
+        inventoryScheduler.onInventoryStarted();
+        stopConditionEngine.onInventoryStarted();
+        if (context != null) responseHandler.dismissToast();
+    }
+
+    /**
+     * Handles the reader's inventory stop notification, from the SDK or the simulated reader.
+     */
+    private void onInventoryStop() {
+        bRfidBusy = false;
+        inventoryRequested = false;
+        TagDatabase database = tagDatabase;
+        if (database != null) database.flush();
+        inventoryScheduler.onInventoryStopped();
+        stopConditionEngine.onInventoryStopped();
+        EventLog.record(EventLog.Event.INVENTORY_STOP);
+        if(context != null && responseHandler.getTestStatus()) {
+            //MUST DO This first to prevent trigger debounce
+            subsribeRfidTriggerEvents(false);
+            responseHandler.dismissToast();
+            responseHandler.showSnackbar("Pull Trigger: \r\nScan Barcode", false);
+            Log.v(TAG, "###6 testBarcode: switch both Hardware Triggers from RFID to Barcode Test...");
+            testBarcode();
+        }
+    }
+
     void testBarcode(){
         if (context != null) {
             Log.v(TAG, "###7 testBarcode: switch from RFID to Barcode Trigger");
             Log.v(TAG, "STEP 1: subscribe RFID Hardware Trigger Events");
             subsribeRfidTriggerEvents(false);
             Log.v(TAG, "STEP 2: Configure the Hardware Trigger as Barcode");
-            setTriggerEnabled(false);
+            setTriggerEnabledAsync(false);
         }
     }
 
     /**
      * Interface for UI callback methods to handle tag data, trigger events, barcode data, and toasts.
+     * Callbacks may arrive on any thread.
      */
     interface ResponseHandlerInterface {
         void barcodeData(String val);
         void sendToast(String val);
         void dismissToast();
         void showSnackbar(String message, boolean bAutoDisappear);
+        void updateReaderStatus(String status, boolean isConnected);
+        /**
+         * Reports a hardware trigger press or release after the inventory start/stop was issued.
+         */
+        void handleTriggerPress(boolean pressed);
+        void onTagStoreChanged();
+        void setScanButtonEnabled(boolean enabled);
+        boolean getTestStatus();
     }
 }
@@ -0,0 +1,127 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.util.Log;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-threaded "control lane" for reader commands.
+ * <p>
+ * Every blocking SDK call (connect, trigger configuration, inventory start/stop) is submitted here
+ * and runs strictly in submission order on one worker thread, so callers can pipeline several
+ * commands without waiting for each round-trip. Each submission returns a {@link CompletableFuture}
+ * that completes with the command result, or fails with a {@link TimeoutException} when the command
+ * runs longer than its timeout. The timeout starts when the command starts, so time spent queued
+ * behind a slow command does not count. Cancelling or timing out drops a command that has not
+ * started yet; a running command is never interrupted, since an interrupted SDK or Bluetooth call
+ * can leave the reader half-configured. Its late result is discarded.
+ * <p>
+ * Command run times, which are dominated by the Bluetooth round-trip, and the lane backlog are
+ * reported to {@link Metrics}.
+ */
+class ReaderCommandExecutor {
+    private static final String TAG = "RFID_SAMPLE Control";
+
+    private final ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(), r -> new Thread(r, "rfid-control"));
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "rfid-control-timeout");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Metrics.Histogram commandTime;
+
+    /**
+     * @param metrics Registry receiving command run times and the lane backlog.
+     */
+    ReaderCommandExecutor(Metrics metrics) {
+        commandTime = metrics.histogram(Metrics.COMMAND_TIME, "us");
+        metrics.gauge(Metrics.COMMAND_BACKLOG, () -> lane.getQueue().size() + lane.getActiveCount());
+    }
+
+    /**
+     * Queues a command on the control lane.
+     * @param name Short command name used in timeout messages and logs.
+     * @param command The blocking command to run.
+     * @param timeoutMs Time allowed from the start of the command to its completion; 0 or less
+     *                  disables the timeout.
+     * @return A future for the command result.
+     */
+    <T> CompletableFuture<T> submit(String name, Callable<T> command, long timeoutMs) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Future<?> task;
+        try {
+            task = lane.submit(() -> {
+                // Cancelled while queued.
+                if (result.isDone()) return;
+                withTimeout(result, name, timeoutMs);
+                long start = System.nanoTime();
+                try {
+                    result.complete(command.call());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    commandTime.record((System.nanoTime() - start) / 1000);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Command rejected after shutdown: " + name);
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.whenComplete((value, error) -> {
+            // Cancelled or timed out: drop the command if it is still queued, never interrupt it.
+            if (error != null) task.cancel(false);
+        });
+        return result;
+    }
+
+    /**
+     * Fails the future with a {@link TimeoutException} unless it completes within the timeout.
+     * @param future The future to guard.
+     * @param name Short command name used in the timeout message.
+     * @param timeoutMs Time allowed from now; 0 or less disables the timeout.
+     * @return The same future, for chaining.
+     */
+    <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, String name, long timeoutMs) {
+        if (timeoutMs <= 0 || future.isDone()) return future;
+        final ScheduledFuture<?> timeout;
+        try {
+            timeout = timer.schedule(() -> future.completeExceptionally(new TimeoutException(name + " timed out after " + timeoutMs + " ms")),
+                    timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return future;
+        }
+        future.whenComplete((value, error) -> timeout.cancel(false));
+        return future;
+    }
+
+    /**
+     * Queues a command that produces no result.
+     * @see #submit(String, Callable, long)
+     */
+    CompletableFuture<Void> run(String name, Runnable command, long timeoutMs) {
+        return submit(name, () -> {
+            command.run();
+            return null;
+        }, timeoutMs);
+    }
+
+    /**
+     * Lets already queued commands finish, then stops the lane. Later submissions fail immediately.
+     */
+    void shutdown() {
+        lane.shutdown();
+        timer.shutdown();
+    }
+}
@@ -0,0 +1,195 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Coalescing command queue in front of the {@link ReaderCommandExecutor} control lane.
+ * <p>
+ * Commands wait in a pending list until the lane drains them back-to-back in one task, so a burst
+ * of configuration writes is pipelined instead of paying one lane hop per command. While pending:
+ * <ul>
+ *     <li>Inventory start/stop commands at the tail of the queue collapse to the last requested state
+ *     (start&rarr;stop&rarr;start becomes a single start, duplicate stops are dropped).</li>
+ *     <li>A configuration write replaces the action of a pending write with the same key (last writer
+ *     wins) and keeps its queue position, so it still runs before inventory commands queued after it.</li>
+ * </ul>
+ * Futures of coalesced commands complete with the result of the command that carried out the same
+ * intent; an inventory command overridden by the opposite one completes with false, as it was not sent.
+ * Submitted, executed and coalesced commands are counted in {@link Metrics}.
+ */
+class ReaderCommandQueue {
+    private static final String TAG = "RFID_SAMPLE CmdQueue";
+
+    private enum Kind { START_INVENTORY, STOP_INVENTORY, CONFIG }
+
+    private static final class Command {
+        final Kind kind;
+        final String key;
+        /** Replaced by a later write with the same key while pending; guarded by the pending lock. */
+        Callable<Boolean> action;
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        Command(Kind kind, String key, Callable<Boolean> action) {
+            this.kind = kind;
+            this.key = key;
+            this.action = action;
+        }
+
+        boolean isInventory() {
+            return kind != Kind.CONFIG;
+        }
+    }
+
+    private final ReaderCommandExecutor lane;
+    private final long timeoutMs;
+    private final ArrayDeque<Command> pending = new ArrayDeque<>();
+    private boolean drainScheduled = false;
+
+    private final Metrics.Counter submitted;
+    private final Metrics.Counter executed;
+    /** Commands that never reached the reader because they were coalesced. */
+    private final Metrics.Counter coalesced;
+
+    /**
+     * @param lane The control lane that executes drained commands.
+     * @param timeoutMs Per-command timeout measured from the start of the command.
+     * @param metrics Registry receiving the command counts.
+     */
+    ReaderCommandQueue(ReaderCommandExecutor lane, long timeoutMs, Metrics metrics) {
+        this.lane = lane;
+        this.timeoutMs = timeoutMs;
+        submitted = metrics.counter(Metrics.COMMANDS_SUBMITTED);
+        executed = metrics.counter(Metrics.COMMANDS_EXECUTED);
+        coalesced = metrics.counter(Metrics.COMMANDS_COALESCED);
+    }
+
+    /**
+     * Queues an inventory start.
+     * @param action Blocking start command returning true if the reader is inventorying afterwards.
+     */
+    CompletableFuture<Boolean> startInventory(Callable<Boolean> action) {
+        return enqueue(new Command(Kind.START_INVENTORY, null, action));
+    }
+
+    /**
+     * Queues an inventory stop.
+     * @param action Blocking stop command returning true if the stop was sent.
+     */
+    CompletableFuture<Boolean> stopInventory(Callable<Boolean> action) {
+        return enqueue(new Command(Kind.STOP_INVENTORY, null, action));
+    }
+
+    /**
+     * Queues a configuration write.
+     * @param key Identifies the setting written; pending writes with the same key are superseded.
+     * @param action Blocking configuration command returning its success.
+     */
+    CompletableFuture<Boolean> config(String key, Callable<Boolean> action) {
+        return enqueue(new Command(Kind.CONFIG, key, action));
+    }
+
+    private CompletableFuture<Boolean> enqueue(Command command) {
+        submitted.inc();
+        boolean schedule;
+        synchronized (pending) {
+            if (command.isInventory()) {
+                coalesceInventory(command);
+                pending.addLast(command);
+            } else if (!coalesceConfig(command)) {
+                pending.addLast(command);
+            }
+            schedule = !drainScheduled;
+            drainScheduled = true;
+        }
+        if (schedule) {
+            lane.run("drainCommands", this::drain, 0).whenComplete((v, error) -> {
+                if (error != null) failPending(error);
+            });
+        }
+        return command.future;
+    }
+
+    /**
+     * Removes the trailing run of inventory commands; the new command states the final intent.
+     */
+    private void coalesceInventory(Command command) {
+        while (!pending.isEmpty() && pending.peekLast().isInventory()) {
+            supersede(pending.pollLast(), command);
+        }
+    }
+
+    /**
+     * Gives a pending write with the same key the new action, in place.
+     * @return True if the command was merged into a pending one and must not be queued itself.
+     */
+    private boolean coalesceConfig(Command command) {
+        for (Command queued : pending) {
+            if (queued.kind == Kind.CONFIG && queued.key.equals(command.key)) {
+                queued.action = command.action;
+                coalesced.inc();
+                EventLog.record(EventLog.Event.COMMAND_COALESCED, command.kind.ordinal(), coalesced.get());
+                mirror(queued.future, command.future);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void supersede(Command dropped, Command survivor) {
+        coalesced.inc();
+        EventLog.record(EventLog.Event.COMMAND_COALESCED, dropped.kind.ordinal(), coalesced.get());
+        if (dropped.kind == survivor.kind) {
+            mirror(survivor.future, dropped.future);
+        } else {
+            // Overridden by the opposite command, so never sent: a start did not start, a stop did not stop.
+            dropped.future.complete(false);
+        }
+    }
+
+    private static void mirror(CompletableFuture<Boolean> source, CompletableFuture<Boolean> target) {
+        source.whenComplete((result, error) -> {
+            if (error != null) {
+                target.completeExceptionally(error);
+            } else {
+                target.complete(result);
+            }
+        });
+    }
+
+    private void drain() {
+        ArrayList<Command> batch = new ArrayList<>();
+        synchronized (pending) {
+            batch.addAll(pending);
+            pending.clear();
+            drainScheduled = false;
+        }
+        for (Command command : batch) {
+            // Skip commands cancelled or timed out while queued.
+            if (command.future.isDone()) continue;
+            lane.withTimeout(command.future, command.kind.name(), timeoutMs);
+            try {
+                command.future.complete(command.action.call());
+            } catch (Exception e) {
+                command.future.completeExceptionally(e);
+            }
+            executed.inc();
+        }
+    }
+
+    private void failPending(Throwable error) {
+        ArrayList<Command> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            drainScheduled = false;
+        }
+        for (Command command : batch) {
+            command.future.completeExceptionally(error);
+        }
+    }
+}
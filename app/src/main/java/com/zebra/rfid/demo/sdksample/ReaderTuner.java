@@ -0,0 +1,199 @@
+package com.zebra.rfid.demo.sdksample;
+
+import com.zebra.rfid.api3.Antennas;
+import com.zebra.rfid.api3.DYNAMIC_POWER_OPTIMIZATION;
+import com.zebra.rfid.api3.FILTER_ACTION;
+import com.zebra.rfid.api3.INVENTORY_STATE;
+import com.zebra.rfid.api3.InvalidUsageException;
+import com.zebra.rfid.api3.MEMORY_BANK;
+import com.zebra.rfid.api3.OperationFailureException;
+import com.zebra.rfid.api3.PreFilters;
+import com.zebra.rfid.api3.RFIDReader;
+import com.zebra.rfid.api3.SESSION;
+import com.zebra.rfid.api3.SL_FLAG;
+import com.zebra.rfid.api3.STATE_AWARE_ACTION;
+import com.zebra.rfid.api3.TARGET;
+
+/**
+ * Applies {@link TuningProfile}s and the locate configuration to a connected reader and scores auto-tune trials.
+ * Control lane only; the reader must be idle.
+ */
+final class ReaderTuner {
+
+    /**
+     * Throughput measured for one profile during auto-tune.
+     */
+    static final class Trial {
+        final TuningProfile profile;
+        final long reads;
+        final int uniqueTags;
+        final long durationMs;
+
+        Trial(TuningProfile profile, long reads, int uniqueTags, long durationMs) {
+            this.profile = profile;
+            this.reads = reads;
+            this.uniqueTags = uniqueTags;
+            this.durationMs = durationMs;
+        }
+
+        double readsPerSecond() {
+            return durationMs > 0 ? reads * 1000.0 / durationMs : 0;
+        }
+
+        double uniqueTagsPerSecond() {
+            return durationMs > 0 ? uniqueTags * 1000.0 / durationMs : 0;
+        }
+
+        /**
+         * @return True if this trial beats the other: more unique tags per second, then more reads per second.
+         */
+        boolean beats(Trial other) {
+            if (other == null) return true;
+            if (uniqueTags != other.uniqueTags) return uniqueTagsPerSecond() > other.uniqueTagsPerSecond();
+            return readsPerSecond() > other.readsPerSecond();
+        }
+
+        @Override
+        public String toString() {
+            return profile.name + ": " + uniqueTags + " unique, " + reads + " reads in " + durationMs
+                    + " ms (" + Math.round(readsPerSecond()) + " reads/s)";
+        }
+    }
+
+    /**
+     * Antenna and power settings saved before a temporary change such as locate mode.
+     */
+    static final class Snapshot {
+        final short[] antennas;
+        final Antennas.AntennaRfConfig[] rfConfigs;
+        final Antennas.SingulationControl[] singulation;
+        final DYNAMIC_POWER_OPTIMIZATION dpo;
+
+        Snapshot(short[] antennas, Antennas.AntennaRfConfig[] rfConfigs,
+                 Antennas.SingulationControl[] singulation, DYNAMIC_POWER_OPTIMIZATION dpo) {
+            this.antennas = antennas;
+            this.rfConfigs = rfConfigs;
+            this.singulation = singulation;
+            this.dpo = dpo;
+        }
+    }
+
+    /**
+     * Bit offset of the EPC in the EPC memory bank, after the CRC and PC words.
+     */
+    private static final int EPC_BIT_OFFSET = 32;
+
+    private ReaderTuner() {
+    }
+
+    /**
+     * Reads the settings {@link #applyLocate} changes so {@link #restore} can put them back.
+     */
+    static Snapshot capture(RFIDReader reader) throws InvalidUsageException, OperationFailureException {
+        short[] antennas = antennas(reader);
+        Antennas.AntennaRfConfig[] rfConfigs = new Antennas.AntennaRfConfig[antennas.length];
+        Antennas.SingulationControl[] singulation = new Antennas.SingulationControl[antennas.length];
+        for (int i = 0; i < antennas.length; i++) {
+            rfConfigs[i] = reader.Config.Antennas.getAntennaRfConfig(antennas[i]);
+            singulation[i] = reader.Config.Antennas.getSingulationControl(antennas[i]);
+        }
+        return new Snapshot(antennas, rfConfigs, singulation, reader.Config.getDPOState());
+    }
+
+    /**
+     * Removes pre-filters and writes the captured settings back.
+     */
+    static void restore(RFIDReader reader, Snapshot snapshot) throws InvalidUsageException, OperationFailureException {
+        reader.Actions.PreFilters.deleteAll();
+        for (int i = 0; i < snapshot.antennas.length; i++) {
+            reader.Config.Antennas.setAntennaRfConfig(snapshot.antennas[i], snapshot.rfConfigs[i]);
+            reader.Config.Antennas.setSingulationControl(snapshot.antennas[i], snapshot.singulation[i]);
+        }
+        if (snapshot.dpo != null) reader.Config.setDPOState(snapshot.dpo);
+    }
+
+    /**
+     * Configures the reader to report one tag as often as possible: a pre-filter asserts SL on tags
+     * whose EPC matches, singulation selects only SL-asserted tags in session S0 (no persistence, so
+     * the tag answers every round) at full power, and power optimization is off.
+     * @param epc Tag ID in hex, as reported by the reader.
+     */
+    static void applyLocate(RFIDReader reader, String epc) throws InvalidUsageException, OperationFailureException {
+        int[] powerLevels = reader.ReaderCapabilities.getTransmitPowerLevelValues();
+        short[] antennas = antennas(reader);
+        reader.Actions.PreFilters.deleteAll();
+        PreFilters filters = new PreFilters();
+        for (short antenna : antennas) {
+            PreFilters.PreFilter filter = filters.new PreFilter();
+            filter.setAntennaID(antenna);
+            filter.setMemoryBank(MEMORY_BANK.MEMORY_BANK_EPC);
+            filter.setTagPattern(epc);
+            filter.setTagPatternBitCount(epc.length() * 4);
+            filter.setBitOffset(EPC_BIT_OFFSET);
+            filter.setFilterAction(FILTER_ACTION.FILTER_ACTION_STATE_AWARE);
+            filter.StateAwareAction.setTarget(TARGET.TARGET_SL);
+            filter.StateAwareAction.setStateAwareAction(STATE_AWARE_ACTION.STATE_AWARE_ACTION_ASRT_SL_NOT_DSRT_SL);
+            reader.Actions.PreFilters.add(filter);
+
+            Antennas.AntennaRfConfig rfConfig = reader.Config.Antennas.getAntennaRfConfig(antenna);
+            if (powerLevels != null && powerLevels.length > 0) {
+                rfConfig.setTransmitPowerIndex(powerLevels.length - 1);
+            }
+            reader.Config.Antennas.setAntennaRfConfig(antenna, rfConfig);
+
+            Antennas.SingulationControl singulation = reader.Config.Antennas.getSingulationControl(antenna);
+            singulation.setSession(SESSION.SESSION_S0);
+            singulation.setTagPopulation((short) 4);
+            singulation.Action.setPerformStateAwareSingulationAction(true);
+            singulation.Action.setInventoryState(INVENTORY_STATE.INVENTORY_STATE_A);
+            singulation.Action.setSLFlag(SL_FLAG.SL_FLAG_ASSERTED);
+            reader.Config.Antennas.setSingulationControl(antenna, singulation);
+        }
+        reader.Config.setDPOState(DYNAMIC_POWER_OPTIMIZATION.DISABLE);
+    }
+
+    private static short[] antennas(RFIDReader reader) throws InvalidUsageException, OperationFailureException {
+        short[] antennas = reader.Config.Antennas.getAvailableAntennas();
+        return antennas == null || antennas.length == 0 ? new short[]{1} : antennas;
+    }
+
+    /**
+     * Writes the profile to every antenna of the reader.
+     */
+    static void apply(RFIDReader reader, TuningProfile profile) throws InvalidUsageException, OperationFailureException {
+        int[] powerLevels = reader.ReaderCapabilities.getTransmitPowerLevelValues();
+        for (short antenna : antennas(reader)) {
+            Antennas.AntennaRfConfig rfConfig = reader.Config.Antennas.getAntennaRfConfig(antenna);
+            if (powerLevels != null && powerLevels.length > 0) {
+                rfConfig.setTransmitPowerIndex(powerIndex(powerLevels, profile.powerDbm10));
+            }
+            if (profile.linkProfile != TuningProfile.KEEP_LINK_PROFILE) {
+                rfConfig.setrfModeTableIndex(profile.linkProfile);
+            }
+            reader.Config.Antennas.setAntennaRfConfig(antenna, rfConfig);
+
+            Antennas.SingulationControl singulation = reader.Config.Antennas.getSingulationControl(antenna);
+            singulation.setSession(profile.session);
+            singulation.setTagPopulation(profile.tagPopulation);
+            singulation.Action.setPerformStateAwareSingulationAction(true);
+            singulation.Action.setInventoryState(profile.inventoryState);
+            singulation.Action.setSLFlag(SL_FLAG.SL_ALL);
+            reader.Config.Antennas.setSingulationControl(antenna, singulation);
+        }
+        reader.Config.setDPOState(profile.dynamicPower
+                ? DYNAMIC_POWER_OPTIMIZATION.ENABLE : DYNAMIC_POWER_OPTIMIZATION.DISABLE);
+    }
+
+    /**
+     * @param levels Supported power levels in tenths of dBm, ascending.
+     * @return Index of the highest level not above the target, or of the highest level for {@link TuningProfile#MAX_POWER}.
+     */
+    static int powerIndex(int[] levels, int powerDbm10) {
+        if (powerDbm10 == TuningProfile.MAX_POWER) return levels.length - 1;
+        int index = 0;
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] <= powerDbm10) index = i;
+        }
+        return index;
+    }
+}
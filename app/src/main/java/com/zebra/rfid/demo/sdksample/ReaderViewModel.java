@@ -0,0 +1,112 @@
+package com.zebra.rfid.demo.sdksample;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.ViewModel;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the reader screen state as immutable {@link UiState} snapshots.
+ * <p>
+ * Reader, scanner and pipeline threads publish changes through {@link #update}, a compare-and-set
+ * on the current snapshot, so concurrent writers never lock or lose each other's fields. The UI
+ * observes {@link #getUiState()}; posts made faster than the main thread renders collapse to the
+ * latest snapshot. Tag data itself stays in the single-writer {@link TagStore}. Outlives
+ * configuration changes, so a recreated activity renders the current state right away.
+ */
+public class ReaderViewModel extends ViewModel {
+
+    /**
+     * One version of the screen state; immutable, built with the {@code with*} copy methods.
+     */
+    static final class UiState {
+        static final UiState INITIAL = new UiState(0, "", false, false, false, false, "", null);
+
+        /** Incremented by every update. */
+        final long version;
+        final String readerStatus;
+        final boolean connected;
+        final boolean inventoryRunning;
+        final boolean scanEnabled;
+        /** Trigger test: an RFID pull is followed by one barcode pull, then the triggers are restored. */
+        final boolean triggerTest;
+        final String scanResult;
+        /** EPC of the last unambiguous barcode pair, or null. */
+        final String pairedEpc;
+
+        private UiState(long version, String readerStatus, boolean connected, boolean inventoryRunning,
+                        boolean scanEnabled, boolean triggerTest, String scanResult, String pairedEpc) {
+            this.version = version;
+            this.readerStatus = readerStatus;
+            this.connected = connected;
+            this.inventoryRunning = inventoryRunning;
+            this.scanEnabled = scanEnabled;
+            this.triggerTest = triggerTest;
+            this.scanResult = scanResult;
+            this.pairedEpc = pairedEpc;
+        }
+
+        UiState withReaderStatus(String status, boolean isConnected) {
+            return new UiState(version, status, isConnected, inventoryRunning && isConnected, scanEnabled, triggerTest, scanResult, pairedEpc);
+        }
+
+        UiState withInventoryRunning(boolean running) {
+            return new UiState(version, readerStatus, connected, running, scanEnabled, triggerTest, scanResult, pairedEpc);
+        }
+
+        UiState withScanEnabled(boolean enabled) {
+            return new UiState(version, readerStatus, connected, inventoryRunning, enabled, triggerTest, scanResult, pairedEpc);
+        }
+
+        UiState withTriggerTest(boolean test) {
+            return new UiState(version, readerStatus, connected, inventoryRunning, scanEnabled, test, scanResult, pairedEpc);
+        }
+
+        UiState withScanResult(String result) {
+            return new UiState(version, readerStatus, connected, inventoryRunning, scanEnabled, triggerTest, result, pairedEpc);
+        }
+
+        UiState withPairedEpc(String epc) {
+            return new UiState(version, readerStatus, connected, inventoryRunning, scanEnabled, triggerTest, scanResult, epc);
+        }
+
+        private UiState nextVersion() {
+            return new UiState(version + 1, readerStatus, connected, inventoryRunning, scanEnabled, triggerTest, scanResult, pairedEpc);
+        }
+    }
+
+    private final AtomicReference<UiState> state = new AtomicReference<>(UiState.INITIAL);
+    private final MutableLiveData<UiState> uiState = new MutableLiveData<>(UiState.INITIAL);
+
+    /**
+     * Applies a change to the current snapshot and posts the result. Any thread.
+     * @param change Pure function of the current snapshot; may run more than once under contention.
+     * @return The snapshot the change replaced, e.g. to test-and-clear a flag.
+     */
+    UiState update(UnaryOperator<UiState> change) {
+        UiState current;
+        UiState next;
+        do {
+            current = state.get();
+            next = change.apply(current).nextVersion();
+        } while (!state.compareAndSet(current, next));
+        uiState.postValue(next);
+        return current;
+    }
+
+    /**
+     * @return The latest snapshot. Any thread.
+     */
+    UiState getState() {
+        return state.get();
+    }
+
+    /**
+     * @return Snapshots for the UI, delivered on the main thread while it is started.
+     */
+    LiveData<UiState> getUiState() {
+        return uiState;
+    }
+}
@@ -13,14 +13,22 @@ import com.zebra.scannercontrol.IDcsSdkApiDelegate;
  */
 public class ScannerHandler implements IDcsSdkApiDelegate {
     private static final String TAG = "ScannerHandler";
-    private final MainActivity context;
+    private final RFIDHandler.ResponseHandlerInterface context;
+    private final BarcodeDispatcher barcodeDispatcher;
+    private final Metrics.Counter barcodes;
+    private final Metrics.Counter sessions;
 
     /**
-     * Constructs a ScannerHandler with the given activity context.
-     * @param context The MainActivity context for UI callbacks.
+     * Constructs a ScannerHandler with the given callback receiver.
+     * @param context The receiver of scanner UI callbacks.
+     * @param barcodeDispatcher Decodes and delivers barcode events off the SDK callback thread.
+     * @param metrics Registry counting barcode events and scanner sessions.
      */
-    public ScannerHandler(MainActivity context) {
+    public ScannerHandler(RFIDHandler.ResponseHandlerInterface context, BarcodeDispatcher barcodeDispatcher, Metrics metrics) {
         this.context = context;
+        this.barcodeDispatcher = barcodeDispatcher;
+        barcodes = metrics.counter(Metrics.BARCODES);
+        sessions = metrics.counter(Metrics.SCANNER_SESSIONS);
     }
 
     /**
@@ -51,6 +59,7 @@ public class ScannerHandler implements IDcsSdkApiDelegate {
     @Override
     public void dcssdkEventCommunicationSessionEstablished(DCSScannerInfo dcsScannerInfo) {
         Log.d(TAG, "Communication session established: " + dcsScannerInfo.getScannerName());
+        sessions.inc();
         if(context != null) {
             context.sendToast("Scanner established:\r\n" + dcsScannerInfo.getScannerName());
             context.setScanButtonEnabled(true);
@@ -70,19 +79,16 @@ public class ScannerHandler implements IDcsSdkApiDelegate {
     }
 
     /**
-     * Called when barcode data is received from the scanner.
+     * Called when barcode data is received from the scanner. Only queues the event; decoding and
+     * delivery happen on the barcode thread.
      * @param barcodeData The barcode data bytes.
      * @param barcodeType The barcode type.
      * @param fromScannerID The scanner ID.
      */
     @Override
     public void dcssdkEventBarcode(byte[] barcodeData, int barcodeType, int fromScannerID) {
-        String s = new String(barcodeData);
-        if (context != null) {
-            Log.v(TAG, "### dcssdkEventBarcode: Received Barcode = " + s);
-            context.barcodeData(s);
-        }
-        Log.d(TAG, "Barcode scanned: " + s);
+        barcodes.inc();
+        barcodeDispatcher.submit(barcodeData, barcodeType, fromScannerID);
     }
 
     /**
@@ -0,0 +1,181 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Immutable set of expected EPCs, e.g. from an advance shipping notice, with a dense index per EPC.
+ * <p>
+ * EPCs of up to 128 bits are packed into two longs plus a length, and found through an
+ * open-addressing hash table of indexes, so a manifest of several hundred thousand items takes a
+ * few megabytes and {@link #indexOf} allocates nothing. Strings are only built again for reports.
+ */
+final class ShipmentManifest {
+    private static final String TAG = "RFID_SAMPLE Manifest";
+    /**
+     * Manifest file name in the app's external files directory.
+     */
+    static final String FILE_NAME = "manifest.csv";
+    private static final int MAX_HEX_LENGTH = 32;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final long[] high;
+    private final long[] low;
+    private final byte[] length;
+    private final int size;
+    /** Hash slots holding index + 1, 0 when empty; length is a power of two, at least 2x size. */
+    private final int[] table;
+
+    private ShipmentManifest(long[] high, long[] low, byte[] length, int size) {
+        this.high = high;
+        this.low = low;
+        this.length = length;
+        this.size = size;
+        table = new int[Math.max(2, Integer.highestOneBit(Math.max(1, size)) << 2)];
+        int mask = table.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = mix(high[i], low[i], length[i]) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Reads a manifest: one EPC in hex per line, or CSV with the EPC in the first column. Blank
+     * lines, lines starting with '#' and a header line are skipped; duplicates count once.
+     * @throws IOException If the file cannot be read or holds no EPC.
+     */
+    static ShipmentManifest load(File file) throws IOException {
+        long[] high = new long[1024];
+        long[] low = new long[1024];
+        byte[] length = new byte[1024];
+        int size = 0;
+        int skipped = 0;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                int end = line.indexOf(',');
+                String epc = (end >= 0 ? line.substring(0, end) : line).trim();
+                if (epc.isEmpty() || epc.charAt(0) == '#') continue;
+                if (!isPackable(epc)) {
+                    skipped++;
+                    continue;
+                }
+                if (size == high.length) {
+                    high = Arrays.copyOf(high, size * 2);
+                    low = Arrays.copyOf(low, size * 2);
+                    length = Arrays.copyOf(length, size * 2);
+                }
+                int split = Math.max(0, epc.length() - 16);
+                high[size] = hexWord(epc, 0, split);
+                low[size] = hexWord(epc, split, epc.length());
+                length[size] = (byte) epc.length();
+                size++;
+            }
+        }
+        if (size == 0) throw new IOException("No EPCs in " + file);
+        ShipmentManifest manifest = dedupe(high, low, length, size);
+        Log.i(TAG, "Loaded " + manifest.size + " EPCs from " + file + ", " + (size - manifest.size)
+                + " duplicates, " + skipped + " lines skipped");
+        return manifest;
+    }
+
+    /**
+     * Keeps the first occurrence of each EPC. Lookups go through a table over the unchanged input
+     * arrays, so the kept EPCs are copied into new ones.
+     */
+    private static ShipmentManifest dedupe(long[] high, long[] low, byte[] length, int size) {
+        ShipmentManifest all = new ShipmentManifest(high, low, length, size);
+        long[] uniqueHigh = new long[size];
+        long[] uniqueLow = new long[size];
+        byte[] uniqueLength = new byte[size];
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (all.indexOf(high[i], low[i], length[i]) != i) continue;
+            uniqueHigh[unique] = high[i];
+            uniqueLow[unique] = low[i];
+            uniqueLength[unique] = length[i];
+            unique++;
+        }
+        return unique == size ? all : new ShipmentManifest(uniqueHigh, uniqueLow, uniqueLength, unique);
+    }
+
+    /**
+     * @return Number of expected EPCs.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param epc Tag ID in hex, either case.
+     * @return The dense index of the EPC, or -1 if it is not expected.
+     */
+    int indexOf(String epc) {
+        int n = epc.length();
+        if (!isPackable(epc)) return -1;
+        int split = Math.max(0, n - 16);
+        return indexOf(hexWord(epc, 0, split), hexWord(epc, split, n), n);
+    }
+
+    private int indexOf(long h, long l, int n) {
+        int mask = table.length - 1;
+        int slot = mix(h, l, n) & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            int index = entry - 1;
+            if (low[index] == l && high[index] == h && length[index] == n) return index;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @return The EPC at a dense index, in upper case hex.
+     */
+    String epcAt(int index) {
+        int n = length[index];
+        char[] out = new char[n];
+        long l = low[index];
+        long h = high[index];
+        for (int i = n - 1, shift = 0; i >= 0; i--, shift += 4) {
+            long word = shift < 64 ? l : h;
+            out[i] = HEX_DIGITS[(int) (word >>> (shift & 63)) & 0xF];
+        }
+        return new String(out);
+    }
+
+    /**
+     * @return True for non-empty hex strings of up to 128 bits.
+     */
+    private static boolean isPackable(String epc) {
+        int n = epc.length();
+        if (n == 0 || n > MAX_HEX_LENGTH) return false;
+        for (int i = 0; i < n; i++) {
+            if (Character.digit(epc.charAt(i), 16) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return The value of up to 16 hex digits.
+     */
+    private static long hexWord(String hex, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) value = (value << 4) | Character.digit(hex.charAt(i), 16);
+        return value;
+    }
+
+    private static int mix(long h, long l, int n) {
+        long x = h * 0x9E3779B97F4A7C15L ^ l ^ n;
+        x = (x ^ (x >>> 32)) * 0xD6E8FEB86659FD93L;
+        return (int) (x ^ (x >>> 32));
+    }
+}
@@ -0,0 +1,169 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reader backend without hardware, for benchmarks and UI tests.
+ * <p>
+ * Stands in for the RFID and scanner SDKs behind {@link RFIDHandler}: connecting succeeds after a
+ * short delay, inventory produces read notifications from a fixed tag population at a steady rate
+ * on its own thread (like the SDK's event thread), trigger configuration always succeeds and a
+ * scan yields a generated barcode. Only debug and benchmark builds honour {@link #EXTRA}, so a
+ * release build cannot be switched to simulated reads.
+ */
+class SimulatedReader {
+    private static final String TAG = "RFID_SAMPLE Simulated";
+    /**
+     * Boolean launch extra of MainActivity that selects this backend.
+     */
+    static final String EXTRA = "com.zebra.rfid.demo.sdksample.SIMULATED_READER";
+    static final String NAME = "Simulated RFD40";
+    private static final long CONNECT_DELAY_MS = 300;
+    private static final long NOTIFY_INTERVAL_MS = 20;
+    /**
+     * SGTIN-96 field values of the simulated tags: GS1 example company prefix 0614141, a few
+     * products with item references from 812345 up, filter value 1 (point of sale item).
+     */
+    private static final long COMPANY_PREFIX = 614141;
+    private static final long FIRST_ITEM_REFERENCE = 812345;
+    private static final int PRODUCTS = 20;
+
+    private static volatile boolean requested = false;
+
+    /**
+     * Receives simulated reader events on the simulator thread.
+     */
+    interface Listener {
+        void onInventoryStarted();
+
+        void onInventoryStopped();
+
+        /**
+         * @param epcs Tag IDs of one read notification; the arrays are reused after the call.
+         */
+        void onReads(String[] epcs, short[] rssi, int count);
+    }
+
+    private final String[] population;
+    private final int readsPerNotify;
+    private final Random random = new Random(42);
+    private final ScheduledExecutorService thread = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "simulated-reader");
+        t.setDaemon(true);
+        return t;
+    });
+    private final String[] batchEpcs;
+    private final short[] batchRssi;
+    private volatile Listener listener;
+    private volatile boolean connected = false;
+    private ScheduledFuture<?> inventory;
+    private int scans = 0;
+
+    /**
+     * Selects the simulated backend for the next {@link InventoryService} start, if the build allows it.
+     */
+    static void request(boolean simulate) {
+        requested = simulate && BuildConfig.SIMULATED_READER;
+        if (requested) Log.i(TAG, "Simulated reader requested");
+    }
+
+    static boolean isRequested() {
+        return requested;
+    }
+
+    /**
+     * @param tags Size of the tag population in the field.
+     * @param readsPerSecond Total read rate while inventorying.
+     */
+    SimulatedReader(int tags, int readsPerSecond) {
+        population = new String[tags];
+        for (int i = 0; i < tags; i++) population[i] = sgtin96(FIRST_ITEM_REFERENCE + i % PRODUCTS, i);
+        readsPerNotify = Math.max(1, (int) (readsPerSecond * NOTIFY_INTERVAL_MS / 1000));
+        batchEpcs = new String[readsPerNotify];
+        batchRssi = new short[readsPerNotify];
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Blocks for a short, fixed connection time like a Bluetooth session setup.
+     */
+    boolean connect() {
+        SystemClock.sleep(CONNECT_DELAY_MS);
+        connected = true;
+        return true;
+    }
+
+    synchronized void disconnect() {
+        stopInventory();
+        connected = false;
+    }
+
+    boolean isConnected() {
+        return connected;
+    }
+
+    synchronized boolean startInventory() {
+        if (!connected) return false;
+        if (inventory != null) return true;
+        thread.execute(() -> {
+            Listener l = listener;
+            if (l != null) l.onInventoryStarted();
+        });
+        inventory = thread.scheduleAtFixedRate(this::notifyReads, NOTIFY_INTERVAL_MS, NOTIFY_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    synchronized boolean stopInventory() {
+        if (inventory == null) return connected;
+        inventory.cancel(false);
+        inventory = null;
+        thread.execute(() -> {
+            Listener l = listener;
+            if (l != null) l.onInventoryStopped();
+        });
+        return true;
+    }
+
+    /**
+     * @return Raw bytes of the next generated barcode (EAN-13 style digits).
+     */
+    synchronized byte[] scan() {
+        scans++;
+        return String.format(Locale.US, "400638133%04d", scans % 10000).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    void shutdown() {
+        disconnect();
+        thread.shutdownNow();
+    }
+
+    /**
+     * @return The hex EPC of an SGTIN-96 with a 7-digit company prefix (partition 5).
+     */
+    private static String sgtin96(long itemReference, long serial) {
+        long high = (0x30L << 56) | (1L << 53) | (5L << 50) | (COMPANY_PREFIX << 26) | (itemReference << 6) | (serial >>> 32);
+        return String.format(Locale.US, "%016X%08X", high, serial & 0xFFFFFFFFL);
+    }
+
+    private void notifyReads() {
+        Listener l = listener;
+        if (l == null) return;
+        for (int i = 0; i < readsPerNotify; i++) {
+            batchEpcs[i] = population[random.nextInt(population.length)];
+            batchRssi[i] = (short) (-40 - random.nextInt(36));
+        }
+        l.onReads(batchEpcs, batchRssi, readsPerNotify);
+    }
+}
@@ -0,0 +1,86 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cold-start phase timestamps, relative to the start of the process.
+ * <p>
+ * Each {@link Phase} is marked once, by the first {@link #mark} call from any thread; later marks
+ * (warm starts, reconnects) are ignored, so the values always describe the cold start. The trace is
+ * logged once the reader is connected and exported as {@code startup_*_ms} gauges, so tests and
+ * benchmarks can assert on phase order and budgets.
+ */
+final class StartupTrace {
+    private static final String TAG = "RFID_SAMPLE Startup";
+
+    /**
+     * Startup phases in their expected order.
+     */
+    enum Phase {
+        /** MainActivity.onCreate entered. */
+        ACTIVITY_CREATE,
+        /** Layout inflated and views wired; the UI accepts input from here. */
+        UI_READY,
+        /** First frame of the main activity. */
+        FIRST_FRAME,
+        /** InventoryService.onCreate entered. */
+        SERVICE_CREATE,
+        /** Service created; remaining initialization runs on the control lane. */
+        SERVICE_READY,
+        /** Scanner SDK delegate and database created on the control lane. */
+        SDK_LOADED,
+        /** Reader discovery across transports finished. */
+        READERS_FOUND,
+        /** First reader connection established and configured. */
+        READER_CONNECTED
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final AtomicLongArray marks = new AtomicLongArray(PHASES.length);
+
+    private StartupTrace() {
+    }
+
+    /**
+     * Marks a phase as reached now, unless it was already marked.
+     */
+    static void mark(Phase phase) {
+        if (!marks.compareAndSet(phase.ordinal(), 0, SystemClock.elapsedRealtime())) return;
+        Log.d(TAG, phase + " at " + elapsedMs(phase) + " ms");
+        if (phase == Phase.READER_CONNECTED) Log.i(TAG, summary());
+    }
+
+    /**
+     * @return Time from process start to the phase in milliseconds, or -1 if not reached.
+     */
+    static long elapsedMs(Phase phase) {
+        long at = marks.get(phase.ordinal());
+        return at == 0 ? -1 : at - Process.getStartElapsedRealtime();
+    }
+
+    /**
+     * @return All reached phases as "PHASE=ms" pairs in phase order, e.g. for logs and reports.
+     */
+    static String summary() {
+        StringBuilder sb = new StringBuilder("Cold start:");
+        for (Phase phase : PHASES) {
+            long ms = elapsedMs(phase);
+            if (ms >= 0) sb.append(' ').append(phase.name().toLowerCase(Locale.US)).append('=').append(ms);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Exports each phase as a {@code startup_<phase>_ms} gauge, -1 until reached.
+     */
+    static void register(Metrics metrics) {
+        for (Phase phase : PHASES) {
+            metrics.gauge("startup_" + phase.name().toLowerCase(Locale.US) + "_ms", () -> elapsedMs(phase));
+        }
+    }
+}
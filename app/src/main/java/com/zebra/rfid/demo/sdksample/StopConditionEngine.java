@@ -0,0 +1,266 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stops the inventory as soon as its answer is known.
+ * <p>
+ * Runs as a tag pipeline stage behind dedup and checks the armed {@link Conditions} on every read:
+ * the unique tag count is the store size, a target EPC is a hash set lookup and the time limit is a
+ * subtraction, so each read costs O(1) regardless of how many tags have been seen. Time-based
+ * conditions also fire without reads: a timer covers the time limit, and the discovery plateau is
+ * checked lazily at the earliest moment it could have been reached, so reads only record when the
+ * last new tag appeared. The first condition met stops the inventory once and notifies
+ * {@link Listener}s.
+ * <p>
+ * Conditions are armed on INVENTORY_START_EVENT and disarmed on INVENTORY_STOP_EVENT; changes apply
+ * from the next start.
+ */
+class StopConditionEngine implements TagRingBuffer.Handler {
+    private static final String TAG = "RFID_SAMPLE StopCond";
+
+    /**
+     * Why an inventory was stopped.
+     */
+    enum Reason { UNIQUE_TAGS, TIME_LIMIT, PLATEAU, EPC_FOUND }
+
+    /**
+     * Stop conditions; the inventory stops on the first one met. Unset conditions are 0 or empty.
+     */
+    static final class Conditions {
+        static final Conditions NONE = new Conditions(0, 0, 0, Collections.<String>emptySet());
+
+        /** Unique tags in the store. */
+        final int uniqueTags;
+        /** Time since the inventory started. */
+        final long timeLimitMs;
+        /** Time without a new unique tag. */
+        final long plateauMs;
+        final Set<String> epcs;
+
+        private Conditions(int uniqueTags, long timeLimitMs, long plateauMs, Set<String> epcs) {
+            this.uniqueTags = uniqueTags;
+            this.timeLimitMs = timeLimitMs;
+            this.plateauMs = plateauMs;
+            this.epcs = epcs;
+        }
+
+        Conditions withUniqueTags(int count) {
+            return new Conditions(count, timeLimitMs, plateauMs, epcs);
+        }
+
+        Conditions withTimeLimit(long ms) {
+            return new Conditions(uniqueTags, ms, plateauMs, epcs);
+        }
+
+        Conditions withPlateau(long ms) {
+            return new Conditions(uniqueTags, timeLimitMs, ms, epcs);
+        }
+
+        /**
+         * @param epcs Tag IDs as reported by the reader; any one of them stops the inventory.
+         */
+        Conditions withEpcs(String... epcs) {
+            return new Conditions(uniqueTags, timeLimitMs, plateauMs,
+                    Collections.unmodifiableSet(new HashSet<>(Arrays.asList(epcs))));
+        }
+
+        boolean isEmpty() {
+            return uniqueTags <= 0 && timeLimitMs <= 0 && plateauMs <= 0 && epcs.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            if (isEmpty()) return "none";
+            StringBuilder sb = new StringBuilder();
+            if (uniqueTags > 0) sb.append(uniqueTags).append(" tags, ");
+            if (timeLimitMs > 0) sb.append(timeLimitMs).append(" ms, ");
+            if (plateauMs > 0) sb.append("plateau ").append(plateauMs).append(" ms, ");
+            if (!epcs.isEmpty()) sb.append(epcs.size()).append(" EPCs, ");
+            return sb.substring(0, sb.length() - 2);
+        }
+    }
+
+    /**
+     * Receives stops on the pipeline stage or timer thread.
+     */
+    interface Listener {
+        /**
+         * @param epc The EPC found for {@link Reason#EPC_FOUND}, otherwise null.
+         * @param elapsedMs Time from inventory start to the stop.
+         */
+        void onStopConditionMet(Reason reason, String epc, int uniqueTags, long elapsedMs);
+    }
+
+    /** State of one armed inventory. */
+    private static final class Run {
+        final Conditions conditions;
+        final long startedAt;
+        final AtomicBoolean fired = new AtomicBoolean();
+        /** Store size seen by the last read; stage thread only. */
+        int lastSize;
+        volatile long lastNewTagAt;
+        volatile ScheduledFuture<?> timeLimitTask;
+        volatile ScheduledFuture<?> plateauTask;
+
+        Run(Conditions conditions, long startedAt, int size) {
+            this.conditions = conditions;
+            this.startedAt = startedAt;
+            this.lastSize = size;
+            this.lastNewTagAt = startedAt;
+        }
+    }
+
+    private final Runnable stopAction;
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "stop-conditions");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private TagStore store;
+    private volatile Conditions conditions = Conditions.NONE;
+    private volatile Run run;
+
+    /**
+     * @param stopAction Stops the inventory without blocking, e.g. {@link RFIDHandler#stopInventoryAsync()}.
+     */
+    StopConditionEngine(Runnable stopAction) {
+        this.stopAction = stopAction;
+    }
+
+    /**
+     * Attaches the engine to the read pipeline behind dedup. Call once.
+     */
+    void attach(TagPipeline pipeline) {
+        store = pipeline.getStore();
+        pipeline.addStage("stop-conditions", this, true);
+    }
+
+    void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the conditions armed by the next inventory start.
+     */
+    void setConditions(Conditions conditions) {
+        this.conditions = conditions != null ? conditions : Conditions.NONE;
+        Log.d(TAG, "Conditions: " + this.conditions);
+    }
+
+    Conditions getConditions() {
+        return conditions;
+    }
+
+    /**
+     * Called on INVENTORY_START_EVENT.
+     */
+    void onInventoryStarted() {
+        disarm();
+        Conditions c = conditions;
+        if (c.isEmpty() || store == null) return;
+        Run r = new Run(c, SystemClock.elapsedRealtime(), store.size());
+        run = r;
+        if (c.timeLimitMs > 0) {
+            r.timeLimitTask = timer.schedule(() -> fire(r, Reason.TIME_LIMIT, null), c.timeLimitMs, TimeUnit.MILLISECONDS);
+        }
+        if (c.plateauMs > 0) {
+            r.plateauTask = timer.schedule(() -> checkPlateau(r), c.plateauMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Called on INVENTORY_STOP_EVENT.
+     */
+    void onInventoryStopped() {
+        disarm();
+    }
+
+    void shutdown() {
+        disarm();
+        timer.shutdownNow();
+    }
+
+    @Override
+    public void onRead(String epc, short rssi, long timestamp) {
+        Run r = run;
+        if (r == null || r.fired.get()) return;
+        Conditions c = r.conditions;
+        int size = store.size();
+        if (size != r.lastSize) {
+            r.lastSize = size;
+            r.lastNewTagAt = timestamp;
+            if (c.uniqueTags > 0 && size >= c.uniqueTags) {
+                fire(r, Reason.UNIQUE_TAGS, null);
+                return;
+            }
+        }
+        if (!c.epcs.isEmpty() && c.epcs.contains(epc)) {
+            fire(r, Reason.EPC_FOUND, epc);
+        } else if (c.timeLimitMs > 0 && timestamp - r.startedAt >= c.timeLimitMs) {
+            fire(r, Reason.TIME_LIMIT, null);
+        }
+    }
+
+    @Override
+    public void onEndOfBatch() {
+    }
+
+    private void checkPlateau(Run r) {
+        if (r.fired.get() || run != r) return;
+        long idle = SystemClock.elapsedRealtime() - r.lastNewTagAt;
+        long plateauMs = r.conditions.plateauMs;
+        if (idle >= plateauMs) {
+            fire(r, Reason.PLATEAU, null);
+        } else {
+            r.plateauTask = timer.schedule(() -> checkPlateau(r), plateauMs - idle, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void fire(Run r, Reason reason, String epc) {
+        if (!r.fired.compareAndSet(false, true)) return;
+        cancelTimers(r);
+        stopAction.run();
+        int uniqueTags = store.size();
+        long elapsed = SystemClock.elapsedRealtime() - r.startedAt;
+        Log.d(TAG, "Stopping inventory: " + reason + (epc != null ? " " + epc : "")
+                + " after " + elapsed + " ms, " + uniqueTags + " tags");
+        for (Listener listener : listeners) {
+            try {
+                listener.onStopConditionMet(reason, epc, uniqueTags, elapsed);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Stop listener failed", e);
+            }
+        }
+    }
+
+    private void disarm() {
+        Run r = run;
+        run = null;
+        if (r != null) cancelTimers(r);
+    }
+
+    private static void cancelTimers(Run r) {
+        ScheduledFuture<?> task = r.timeLimitTask;
+        if (task != null) task.cancel(false);
+        task = r.plateauTask;
+        if (task != null) task.cancel(false);
+    }
+}
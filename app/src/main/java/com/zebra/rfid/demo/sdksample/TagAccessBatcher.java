@@ -0,0 +1,392 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.zebra.rfid.api3.ACCESS_OPERATION_CODE;
+import com.zebra.rfid.api3.ACCESS_OPERATION_STATUS;
+import com.zebra.rfid.api3.AccessFilter;
+import com.zebra.rfid.api3.FILTER_MATCH_PATTERN;
+import com.zebra.rfid.api3.LOCK_DATA_FIELD;
+import com.zebra.rfid.api3.LOCK_PRIVILEGE;
+import com.zebra.rfid.api3.MEMORY_BANK;
+import com.zebra.rfid.api3.TagAccess;
+import com.zebra.rfid.api3.TagData;
+import com.zebra.rfid.api3.TagPatternBase;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queues tag memory reads, writes and locks and runs them as reader access sequences.
+ * <p>
+ * Instead of one blocking SDK call per operation, queued operations are drained in batches and
+ * grouped: operations for every tag in the field share one sequence run over one inventory round,
+ * and operations targeting one EPC share one sequence behind an access filter on that EPC, up to the
+ * reader's sequence length. Each group is one command on the control lane, so groups run back to
+ * back while inventory start/stop commands can still interleave between them. Results arrive with
+ * the read events, which go only to the batcher while a sequence runs so they are not counted as
+ * inventory reads, and are matched to operations by op code and memory bank; each operation's
+ * future completes with its per-tag results when its sequence ends.
+ */
+class TagAccessBatcher {
+    private static final String TAG = "RFID_SAMPLE TagAccess";
+    /**
+     * Time a targeted sequence waits for its tag before its operations fail.
+     */
+    static final long TARGETED_TIMEOUT_MS = 2000;
+    /**
+     * Length of the inventory round that runs operations on every tag in the field.
+     */
+    static final long BROADCAST_ROUND_MS = 1000;
+    /**
+     * Sequence length used when the reader does not report one.
+     */
+    static final int DEFAULT_MAX_OPERATIONS = 8;
+    private static final int EPC_BIT_OFFSET = 32;
+
+    /**
+     * Runs one access sequence; implemented by the reader handler.
+     */
+    interface SequenceRunner {
+        /**
+         * @return Operations the reader accepts in one sequence, or 0 if unknown.
+         */
+        int maxOperations();
+
+        /**
+         * Runs the operations until {@code done} completes or the timeout passes. Control lane only.
+         * @param targetEpc EPC the sequence is filtered to, or null for every tag in the field.
+         * @param done Completed by the batcher once a targeted sequence has every result; the runner
+         *             may also complete it when the reader reports the operation stopped.
+         * @return False if the sequence could not be started.
+         */
+        boolean run(List<Op> ops, String targetEpc, long timeoutMs, CompletableFuture<Void> done) throws InterruptedException;
+    }
+
+    /**
+     * One tag access operation; immutable.
+     */
+    static final class Op {
+        final ACCESS_OPERATION_CODE code;
+        /** EPC of the tag to access, or null for every tag in the field. */
+        final String targetEpc;
+        final MEMORY_BANK bank;
+        /** Start and length in 16-bit words; a read count of 0 reads the whole bank. */
+        final int wordOffset;
+        final int wordCount;
+        /** Data to write in hex. */
+        final String data;
+        final LOCK_DATA_FIELD lockField;
+        final LOCK_PRIVILEGE lockPrivilege;
+        final long password;
+
+        private Op(ACCESS_OPERATION_CODE code, String targetEpc, MEMORY_BANK bank, int wordOffset, int wordCount,
+                   String data, LOCK_DATA_FIELD lockField, LOCK_PRIVILEGE lockPrivilege, long password) {
+            this.code = code;
+            this.targetEpc = targetEpc;
+            this.bank = bank;
+            this.wordOffset = wordOffset;
+            this.wordCount = wordCount;
+            this.data = data;
+            this.lockField = lockField;
+            this.lockPrivilege = lockPrivilege;
+            this.password = password;
+        }
+
+        static Op read(String targetEpc, MEMORY_BANK bank, int wordOffset, int wordCount) {
+            return new Op(ACCESS_OPERATION_CODE.ACCESS_OPERATION_READ, targetEpc, bank, wordOffset, wordCount,
+                    null, null, null, 0);
+        }
+
+        /**
+         * @param hexData Whole words, i.e. a multiple of 4 hex digits.
+         */
+        static Op write(String targetEpc, MEMORY_BANK bank, int wordOffset, String hexData) {
+            if (hexData == null || hexData.isEmpty() || hexData.length() % 4 != 0) {
+                throw new IllegalArgumentException("Write data must be whole words: " + hexData);
+            }
+            return new Op(ACCESS_OPERATION_CODE.ACCESS_OPERATION_WRITE, targetEpc, bank, wordOffset, hexData.length() / 4,
+                    hexData, null, null, 0);
+        }
+
+        static Op lock(String targetEpc, LOCK_DATA_FIELD field, LOCK_PRIVILEGE privilege) {
+            return new Op(ACCESS_OPERATION_CODE.ACCESS_OPERATION_LOCK, targetEpc, null, 0, 0, null, field, privilege, 0);
+        }
+
+        /**
+         * @return A copy using the tag's access password.
+         */
+        Op withPassword(long password) {
+            return new Op(code, targetEpc, bank, wordOffset, wordCount, data, lockField, lockPrivilege, password);
+        }
+
+        boolean matches(ACCESS_OPERATION_CODE resultCode, MEMORY_BANK resultBank) {
+            return code == resultCode && (bank == null || resultBank == null || bank == resultBank);
+        }
+    }
+
+    /**
+     * Outcome of one operation on one tag.
+     */
+    static final class Result {
+        final Op op;
+        final String epc;
+        final boolean success;
+        /** Reader status, or why the operation did not reach the tag. */
+        final String status;
+        /** Memory read in hex; null for writes and locks. */
+        final String data;
+
+        Result(Op op, String epc, boolean success, String status, String data) {
+            this.op = op;
+            this.epc = epc;
+            this.success = success;
+            this.status = status;
+            this.data = data;
+        }
+    }
+
+    private static final class Pending {
+        final Op op;
+        final CompletableFuture<List<Result>> future = new CompletableFuture<>();
+
+        Pending(Op op) {
+            this.op = op;
+        }
+    }
+
+    /**
+     * Operations run as one sequence and the results collected for them.
+     */
+    private static final class Group {
+        final String targetEpc;
+        final List<Pending> ops;
+        final List<List<Result>> results;
+        /** Operations already reported per tag; a tag reports each operation once per round. */
+        private final Map<String, BitSet> reported = new HashMap<>();
+        private int targetedReported = 0;
+        /** Completes once a targeted group has a result for each operation. */
+        final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        Group(String targetEpc, List<Pending> ops) {
+            this.targetEpc = targetEpc;
+            this.ops = ops;
+            results = new ArrayList<>(ops.size());
+            for (int i = 0; i < ops.size(); i++) results.add(new ArrayList<>());
+        }
+
+        synchronized void record(TagData tag) {
+            String epc = tag.getTagID();
+            if (epc == null || (targetEpc != null && !targetEpc.equalsIgnoreCase(epc))) return;
+            BitSet done = reported.get(epc);
+            if (done == null) reported.put(epc, done = new BitSet(ops.size()));
+            for (int i = 0; i < ops.size(); i++) {
+                Op op = ops.get(i).op;
+                if (done.get(i) || !op.matches(tag.getOpCode(), tag.getMemoryBank())) continue;
+                done.set(i);
+                boolean success = tag.getOpStatus() == ACCESS_OPERATION_STATUS.ACCESS_SUCCESS;
+                String data = success && op.code == ACCESS_OPERATION_CODE.ACCESS_OPERATION_READ ? tag.getMemoryBankData() : null;
+                results.get(i).add(new Result(op, epc, success, String.valueOf(tag.getOpStatus()), data));
+                if (targetEpc != null && ++targetedReported == ops.size()) completion.complete(null);
+                return;
+            }
+        }
+
+        /**
+         * Completes each operation's future; targeted operations without a result fail with {@code reason}.
+         * @return Results that succeeded and failed, in that order.
+         */
+        synchronized int[] finish(String reason) {
+            int succeeded = 0;
+            int failed = 0;
+            for (int i = 0; i < ops.size(); i++) {
+                List<Result> list = results.get(i);
+                if (list.isEmpty() && targetEpc != null) list.add(new Result(ops.get(i).op, targetEpc, false, reason, null));
+                for (Result r : list) {
+                    if (r.success) {
+                        succeeded++;
+                    } else {
+                        failed++;
+                    }
+                }
+                ops.get(i).future.complete(Collections.unmodifiableList(list));
+            }
+            return new int[]{succeeded, failed};
+        }
+    }
+
+    private final ReaderCommandExecutor lane;
+    private final SequenceRunner runner;
+    private final List<Pending> pending = new ArrayList<>();
+    private boolean drainScheduled = false;
+    private volatile Group active;
+    private final Metrics.Counter sequences;
+    private final Metrics.Counter succeededCounter;
+    private final Metrics.Counter failedCounter;
+    private final Metrics.Histogram sequenceTime;
+    private final Metrics.Histogram throughput;
+    private final AtomicLong totalResults = new AtomicLong();
+    private final AtomicLong totalSequenceMs = new AtomicLong();
+
+    TagAccessBatcher(ReaderCommandExecutor lane, SequenceRunner runner, Metrics metrics) {
+        this.lane = lane;
+        this.runner = runner;
+        sequences = metrics.counter(Metrics.ACCESS_SEQUENCES);
+        succeededCounter = metrics.counter(Metrics.ACCESS_OPS_SUCCEEDED);
+        failedCounter = metrics.counter(Metrics.ACCESS_OPS_FAILED);
+        sequenceTime = metrics.histogram(Metrics.ACCESS_SEQUENCE_TIME, "ms");
+        throughput = metrics.histogram(Metrics.ACCESS_THROUGHPUT, "ops/s");
+    }
+
+    /**
+     * Queues an operation for the next batch.
+     * @return A future completing with one result per tag that executed the operation: exactly one
+     * for a targeted operation, one per tag in the field for an untargeted one.
+     */
+    CompletableFuture<List<Result>> submit(Op op) {
+        Pending p = new Pending(op);
+        boolean schedule;
+        synchronized (pending) {
+            pending.add(p);
+            schedule = !drainScheduled;
+            drainScheduled = true;
+        }
+        if (schedule) lane.run("tagAccessDrain", this::drain, 0);
+        return p.future;
+    }
+
+    /**
+     * @return True while a sequence runs and read events may carry access results.
+     */
+    boolean isActive() {
+        return active != null;
+    }
+
+    /**
+     * Matches access results in a read notification to the running sequence. SDK event thread.
+     */
+    void onTagData(TagData[] tags) {
+        Group group = active;
+        if (group == null) return;
+        for (TagData tag : tags) {
+            if (tag != null && tag.getOpCode() != null) group.record(tag);
+        }
+    }
+
+    /**
+     * @return Operation results per second of sequence time since start.
+     */
+    long getOpsPerSecond() {
+        long ms = totalSequenceMs.get();
+        return ms > 0 ? totalResults.get() * 1000 / ms : 0;
+    }
+
+    /**
+     * Groups the queued operations and queues one lane command per group. Control lane.
+     */
+    private void drain() {
+        List<Pending> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            drainScheduled = false;
+        }
+        Map<String, List<Pending>> byTarget = new LinkedHashMap<>();
+        for (Pending p : batch) {
+            String key = p.op.targetEpc != null ? p.op.targetEpc.toUpperCase() : null;
+            List<Pending> list = byTarget.get(key);
+            if (list == null) byTarget.put(key, list = new ArrayList<>());
+            list.add(p);
+        }
+        int max = runner.maxOperations();
+        if (max <= 0) max = DEFAULT_MAX_OPERATIONS;
+        int groups = 0;
+        for (Map.Entry<String, List<Pending>> entry : byTarget.entrySet()) {
+            List<Pending> ops = entry.getValue();
+            for (int from = 0; from < ops.size(); from += max) {
+                Group group = new Group(entry.getKey(), new ArrayList<>(ops.subList(from, Math.min(ops.size(), from + max))));
+                lane.run("tagAccess", () -> runGroup(group), 0);
+                groups++;
+            }
+        }
+        Log.d(TAG, "Batched " + batch.size() + " operations into " + groups + " sequences");
+    }
+
+    private void runGroup(Group group) {
+        List<Op> ops = new ArrayList<>(group.ops.size());
+        for (Pending p : group.ops) ops.add(p.op);
+        long start = SystemClock.elapsedRealtime();
+        boolean started = false;
+        active = group;
+        try {
+            long timeout = group.targetEpc != null ? TARGETED_TIMEOUT_MS : BROADCAST_ROUND_MS;
+            started = runner.run(ops, group.targetEpc, timeout, group.completion);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active = null;
+        }
+        long elapsed = SystemClock.elapsedRealtime() - start;
+        int[] counts = group.finish(started ? "NO_RESPONSE" : "NOT_STARTED");
+        sequences.inc();
+        succeededCounter.add(counts[0]);
+        failedCounter.add(counts[1]);
+        sequenceTime.record(elapsed);
+        if (elapsed > 0) throughput.record((counts[0] + counts[1]) * 1000L / elapsed);
+        totalResults.addAndGet(counts[0] + counts[1]);
+        totalSequenceMs.addAndGet(elapsed);
+        Log.d(TAG, "Sequence of " + ops.size() + " ops" + (group.targetEpc != null ? " on " + group.targetEpc : "")
+                + ": " + counts[0] + " ok, " + counts[1] + " failed in " + elapsed + " ms");
+    }
+
+    /**
+     * @return The SDK operation for {@code op}.
+     */
+    static TagAccess.Sequence.Operation toOperation(TagAccess access, Op op) {
+        TagAccess.Sequence.Operation operation = access.OperationSequence.new Operation();
+        operation.setAccessOperationCode(op.code);
+        if (op.code == ACCESS_OPERATION_CODE.ACCESS_OPERATION_READ) {
+            operation.ReadAccessParams.setMemoryBank(op.bank);
+            operation.ReadAccessParams.setOffset(op.wordOffset);
+            operation.ReadAccessParams.setCount(op.wordCount);
+            operation.ReadAccessParams.setAccessPassword(op.password);
+        } else if (op.code == ACCESS_OPERATION_CODE.ACCESS_OPERATION_WRITE) {
+            operation.WriteAccessParams.setMemoryBank(op.bank);
+            operation.WriteAccessParams.setOffset(op.wordOffset);
+            operation.WriteAccessParams.setWriteData(op.data);
+            operation.WriteAccessParams.setWriteDataLength(op.wordCount);
+            operation.WriteAccessParams.setAccessPassword(op.password);
+        } else {
+            operation.LockAccessParams.setLockPrivilege(op.lockField, op.lockPrivilege);
+            operation.LockAccessParams.setAccessPassword(op.password);
+        }
+        return operation;
+    }
+
+    /**
+     * @return An access filter matching exactly one EPC.
+     */
+    static AccessFilter epcFilter(String epc) {
+        AccessFilter filter = new AccessFilter();
+        TagPatternBase pattern = new TagPatternBase();
+        pattern.setMemoryBank(MEMORY_BANK.MEMORY_BANK_EPC);
+        pattern.setTagPattern(epc);
+        pattern.setTagPatternBitCount(epc.length() * 4);
+        pattern.setBitOffset(EPC_BIT_OFFSET);
+        StringBuilder mask = new StringBuilder(epc.length());
+        for (int i = 0; i < epc.length(); i++) mask.append('F');
+        pattern.setTagMask(mask.toString());
+        pattern.setTagMaskBitCount(epc.length() * 4);
+        filter.TagPatternA = pattern;
+        filter.setAccessFilterMatchPattern(FILTER_MATCH_PATTERN.A);
+        return filter;
+    }
+}
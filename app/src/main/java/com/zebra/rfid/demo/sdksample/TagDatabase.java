@@ -0,0 +1,281 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * On-device history of every tag read, queryable by EPC, time range and inventory session.
+ * <p>
+ * Writes happen on a dedicated {@link TagPipeline} stage, so the SDK read callback never waits on
+ * storage: reads are staged in fixed-size primitive arrays and written in one transaction per
+ * flush through a precompiled insert. A flush happens when the staging buffer is full, when
+ * {@link #FLUSH_INTERVAL_MS} has passed since the oldest staged read, and on {@link #flush()}
+ * (e.g. at inventory stop), and when the pipeline shuts down. If storage falls a full ring behind, the stage drops reads like any
+ * other stage instead of back-pressuring the reader.
+ * <p>
+ * The database runs in WAL mode, so queries from other threads do not block the writer. Queries
+ * hit the disk and must not run on the UI thread.
+ */
+class TagDatabase extends SQLiteOpenHelper {
+    private static final String TAG = "RFID_SAMPLE TagDatabase";
+    private static final String DATABASE_NAME = "tag_reads.db";
+    private static final int DATABASE_VERSION = 1;
+    /**
+     * Maximum reads staged in memory before a flush is forced.
+     */
+    static final int STAGING_CAPACITY = 4096;
+    /**
+     * Maximum age of a staged read before the next batch boundary flushes it.
+     */
+    static final long FLUSH_INTERVAL_MS = 250;
+    private static final long WRITE_STATS_INTERVAL_MS = 5000;
+
+    private static final String INSERT_READ = "INSERT INTO reads (session, epc, rssi, ts) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_READS = "SELECT session, epc, rssi, ts FROM reads";
+
+    /**
+     * One stored read.
+     */
+    static final class TagRead {
+        final long session;
+        final String epc;
+        final short rssi;
+        /** Wall-clock time in milliseconds since the epoch. */
+        final long timeMs;
+
+        TagRead(long session, String epc, short rssi, long timeMs) {
+            this.session = session;
+            this.epc = epc;
+            this.rssi = rssi;
+            this.timeMs = timeMs;
+        }
+    }
+
+    private volatile TagRingBuffer.Consumer stage;
+    private volatile boolean flushRequested = false;
+    private volatile boolean sessionRequested = false;
+    private volatile long currentSession = 0;
+
+    TagDatabase(Context context) {
+        super(context.getApplicationContext(), DATABASE_NAME, null, DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE sessions (id INTEGER PRIMARY KEY AUTOINCREMENT, started INTEGER NOT NULL)");
+        db.execSQL("CREATE TABLE reads (session INTEGER NOT NULL, epc TEXT NOT NULL, rssi INTEGER NOT NULL, ts INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX reads_epc ON reads (epc, ts)");
+        db.execSQL("CREATE INDEX reads_ts ON reads (ts)");
+        db.execSQL("CREATE INDEX reads_session ON reads (session, ts)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        db.execSQL("DROP TABLE IF EXISTS reads");
+        db.execSQL("DROP TABLE IF EXISTS sessions");
+        onCreate(db);
+    }
+
+    /**
+     * Attaches the writer stage to the pipeline. Call once.
+     */
+    void attach(TagPipeline pipeline) {
+        stage = pipeline.addStage("db", new WriterHandler(), false);
+    }
+
+    /**
+     * Starts a new inventory session; reads consumed after this call belong to it.
+     */
+    void startSession() {
+        sessionRequested = true;
+        wakeWriter();
+    }
+
+    /**
+     * @return Id of the current session, 0 before the first one started.
+     */
+    long getCurrentSession() {
+        return currentSession;
+    }
+
+    /**
+     * Asks the writer to write out staged reads at its next wake-up.
+     */
+    void flush() {
+        flushRequested = true;
+        wakeWriter();
+    }
+
+    private void wakeWriter() {
+        TagRingBuffer.Consumer s = stage;
+        if (s != null) s.alert();
+    }
+
+    /**
+     * @return Reads of one tag, newest first.
+     */
+    List<TagRead> readsForEpc(String epc, int limit) {
+        return query(SELECT_READS + " WHERE epc = ? ORDER BY ts DESC LIMIT ?",
+                new String[]{epc, Integer.toString(limit)});
+    }
+
+    /**
+     * @param fromMs Inclusive start, wall-clock milliseconds.
+     * @param toMs Exclusive end, wall-clock milliseconds.
+     * @return Reads in the range, oldest first.
+     */
+    List<TagRead> readsBetween(long fromMs, long toMs, int limit) {
+        return query(SELECT_READS + " WHERE ts >= ? AND ts < ? ORDER BY ts LIMIT ?",
+                new String[]{Long.toString(fromMs), Long.toString(toMs), Integer.toString(limit)});
+    }
+
+    /**
+     * @return Reads of one session, oldest first.
+     */
+    List<TagRead> readsInSession(long session, int limit) {
+        return query(SELECT_READS + " WHERE session = ? ORDER BY ts LIMIT ?",
+                new String[]{Long.toString(session), Integer.toString(limit)});
+    }
+
+    /**
+     * Deletes reads older than the given wall-clock time.
+     * @return Number of reads deleted.
+     */
+    int deleteBefore(long timeMs) {
+        return getWritableDatabase().delete("reads", "ts < ?", new String[]{Long.toString(timeMs)});
+    }
+
+    private List<TagRead> query(String sql, String[] args) {
+        ArrayList<TagRead> result = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().rawQuery(sql, args)) {
+            while (cursor.moveToNext()) {
+                result.add(new TagRead(cursor.getLong(0), cursor.getString(1), (short) cursor.getInt(2), cursor.getLong(3)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stages reads and writes them in batched transactions. Runs on the "db" stage thread only.
+     */
+    private final class WriterHandler implements TagRingBuffer.Handler {
+        private final String[] epcs = new String[STAGING_CAPACITY];
+        private final short[] rssis = new short[STAGING_CAPACITY];
+        private final long[] timestamps = new long[STAGING_CAPACITY];
+        private int staged = 0;
+        private long firstStagedAt = 0;
+        private SQLiteStatement insert;
+        private long rowsWritten = 0;
+        private long flushes = 0;
+        private long flushNanos = 0;
+        private long windowStart = 0;
+
+        @Override
+        public void onRead(String epc, short rssi, long timestamp) {
+            if (sessionRequested) beginSession();
+            if (staged == 0) firstStagedAt = SystemClock.elapsedRealtime();
+            epcs[staged] = epc;
+            rssis[staged] = rssi;
+            timestamps[staged] = timestamp;
+            if (++staged == STAGING_CAPACITY) writeStaged();
+        }
+
+        @Override
+        public void onEndOfBatch() {
+            if (sessionRequested) beginSession();
+            if (flushRequested) {
+                flushRequested = false;
+                writeStaged();
+            } else if (staged > 0 && SystemClock.elapsedRealtime() - firstStagedAt >= FLUSH_INTERVAL_MS) {
+                writeStaged();
+            }
+            if (BuildConfig.DEBUG) logWriteStats();
+        }
+
+        @Override
+        public void onShutdown() {
+            // The final pass has run; write out what it staged so close() loses nothing.
+            writeStaged();
+            if (insert != null) {
+                insert.close();
+                insert = null;
+            }
+        }
+
+        private void beginSession() {
+            sessionRequested = false;
+            // Reads staged so far belong to the previous session.
+            writeStaged();
+            SQLiteDatabase db = getWritableDatabase();
+            SQLiteStatement statement = db.compileStatement("INSERT INTO sessions (started) VALUES (?)");
+            try {
+                statement.bindLong(1, System.currentTimeMillis());
+                currentSession = statement.executeInsert();
+            } finally {
+                statement.close();
+            }
+            Log.d(TAG, "Session " + currentSession + " started");
+        }
+
+        private void writeStaged() {
+            if (staged == 0) return;
+            long start = System.nanoTime();
+            SQLiteDatabase db = getWritableDatabase();
+            if (insert == null) insert = db.compileStatement(INSERT_READ);
+            // Reads carry elapsedRealtime stamps; store wall-clock time for queries.
+            long wallOffset = System.currentTimeMillis() - SystemClock.elapsedRealtime();
+            long session = currentSession;
+            db.beginTransactionNonExclusive();
+            try {
+                for (int i = 0; i < staged; i++) {
+                    insert.bindLong(1, session);
+                    insert.bindString(2, epcs[i]);
+                    insert.bindLong(3, rssis[i]);
+                    insert.bindLong(4, timestamps[i] + wallOffset);
+                    insert.executeInsert();
+                }
+                db.setTransactionSuccessful();
+                rowsWritten += staged;
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Failed to write " + staged + " reads", e);
+            } finally {
+                db.endTransaction();
+            }
+            flushes++;
+            flushNanos += System.nanoTime() - start;
+            Arrays.fill(epcs, 0, staged, null);
+            staged = 0;
+        }
+
+        /**
+         * Debug builds: periodically logs write throughput and batch cost.
+         */
+        private void logWriteStats() {
+            long now = SystemClock.elapsedRealtime();
+            if (windowStart == 0) {
+                windowStart = now;
+                return;
+            }
+            long elapsed = now - windowStart;
+            if (elapsed < WRITE_STATS_INTERVAL_MS) return;
+            if (flushes > 0) {
+                Log.d(TAG, "Writes: " + rowsWritten * 1000 / elapsed + " reads/s, " + flushes + " batches, "
+                        + flushNanos / flushes / 1000 + " us/batch, dropped=" + stage.getDropped());
+            }
+            rowsWritten = 0;
+            flushes = 0;
+            flushNanos = 0;
+            windowStart = now;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.File;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Decodes each new tag's GS1 EPC ({@link EpcDecoder}) and adds product names to SGTINs by looking
+ * their GTIN up in the {@link ProductCatalog}.
+ * <p>
+ * The pipeline stage, running behind dedup, only notes tags it has not asked for yet; the decode
+ * and lookups run on a separate "enrich-lookup" thread in batches, so catalog I/O never holds up the
+ * stage or the read path. Lookups go through a bounded LRU cache keyed by GTIN (many tags share a
+ * product); unknown GTINs are cached too. Decoded EPCs and names are published per EPC for list
+ * rows to pick up, and {@link Listener} is told when a batch added any.
+ */
+class TagEnricher {
+    private static final String TAG = "RFID_SAMPLE Enricher";
+    /**
+     * Products kept in the cache; a store's assortment typically fits.
+     */
+    static final int CACHE_CAPACITY = 4096;
+    /**
+     * Cached marker for GTINs not in the catalog, compared by identity.
+     */
+    private static final String NOT_FOUND = "";
+
+    /**
+     * Receives enrichment notifications on the enrich thread.
+     */
+    interface Listener {
+        void onEnriched();
+    }
+
+    private final TagStore store;
+    private volatile File catalogFile;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "enrich-lookup"));
+    /**
+     * Product name per EPC of the current tag store; written by the enrich thread.
+     */
+    private final ConcurrentHashMap<String, String> names = new ConcurrentHashMap<>();
+    /**
+     * Decoded GS1 EPC per EPC of the current tag store; written by the enrich thread.
+     */
+    private final ConcurrentHashMap<String, Gs1Epc> decoded = new ConcurrentHashMap<>();
+    /**
+     * GTIN to product name, least recently used first. Enrich thread only.
+     */
+    private final LinkedHashMap<String, String> cache = new LinkedHashMap<String, String>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+    private final Metrics.Counter cacheHits;
+    private final Metrics.Counter cacheMisses;
+    private final Metrics.Counter decodedCounter;
+    private final Metrics.Histogram batchTime;
+    private volatile Listener listener;
+    private ProductCatalog catalog;
+    private boolean catalogChecked = false;
+
+    TagEnricher(TagStore store, Metrics metrics) {
+        this.store = store;
+        cacheHits = metrics.counter(Metrics.ENRICH_CACHE_HITS);
+        cacheMisses = metrics.counter(Metrics.ENRICH_CACHE_MISSES);
+        decodedCounter = metrics.counter(Metrics.EPCS_DECODED);
+        batchTime = metrics.histogram(Metrics.ENRICH_BATCH_TIME, "us");
+        metrics.gauge(Metrics.TAGS_ENRICHED, () -> names.size());
+    }
+
+    /**
+     * Attaches the stage to the pipeline behind dedup. Call once.
+     */
+    void attach(TagPipeline pipeline) {
+        pipeline.addStage("enrich", new NewTagHandler(), true);
+    }
+
+    /**
+     * Sets the catalog, mapped on first use. Until it exists, tags are decoded but not named; a
+     * missing file is looked for again at the next session.
+     */
+    void setCatalogFile(File catalogFile) {
+        this.catalogFile = catalogFile;
+        executor.execute(() -> catalogChecked = false);
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return The product name of a tag, or null if unknown or not looked up yet. Any thread.
+     */
+    String getProductName(String epc) {
+        return epc != null ? names.get(epc) : null;
+    }
+
+    /**
+     * @return The decoded GS1 EPC of a tag, or null if not GS1 or not decoded yet. Any thread.
+     */
+    Gs1Epc getDecoded(String epc) {
+        return epc != null ? decoded.get(epc) : null;
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Notes tags not yet requested and hands them to the enrich thread once per batch. Stage thread only.
+     */
+    private final class NewTagHandler implements TagRingBuffer.Handler {
+        private final BitSet requested = new BitSet();
+        private int generation = -1;
+        private String[] pending = new String[64];
+        private int pendingCount = 0;
+
+        @Override
+        public void onRead(String epc, short rssi, long timestamp) {
+            int storeGeneration = store.getGeneration();
+            if (storeGeneration != generation) {
+                // Cleared: tag indexes are reused from 0.
+                generation = storeGeneration;
+                requested.clear();
+                pendingCount = 0;
+                names.clear();
+                decoded.clear();
+                executor.execute(() -> catalogChecked = false);
+            }
+            int index = store.indexOf(epc);
+            if (index < 0 || requested.get(index)) return;
+            requested.set(index);
+            if (pendingCount == pending.length) {
+                String[] grown = new String[pending.length * 2];
+                System.arraycopy(pending, 0, grown, 0, pendingCount);
+                pending = grown;
+            }
+            pending[pendingCount++] = epc;
+        }
+
+        @Override
+        public void onEndOfBatch() {
+            if (pendingCount == 0) return;
+            String[] batch = new String[pendingCount];
+            System.arraycopy(pending, 0, batch, 0, pendingCount);
+            pendingCount = 0;
+            executor.execute(() -> enrich(batch));
+        }
+    }
+
+    /**
+     * Decodes and looks up one batch of new tags. Enrich thread only.
+     */
+    private void enrich(String[] epcs) {
+        long start = SystemClock.elapsedRealtimeNanos();
+        if (!catalogChecked && catalogFile != null) {
+            catalogChecked = true;
+            if (catalog == null) catalog = ProductCatalog.open(catalogFile);
+        }
+        String[] missGtins = new String[epcs.length];
+        int[] missTag = new int[epcs.length];
+        int misses = 0;
+        int hits = 0;
+        int decodes = 0;
+        boolean added = false;
+        for (int i = 0; i < epcs.length; i++) {
+            Gs1Epc epc = EpcDecoder.decode(epcs[i]);
+            if (epc == null) continue;
+            decoded.put(epcs[i], epc);
+            decodes++;
+            added = true;
+            if (epc.scheme != EpcDecoder.Scheme.SGTIN_96) continue;
+            String gtin = epc.getGs1Key();
+            String name = cache.get(gtin);
+            if (name != null) {
+                hits++;
+                if (name != NOT_FOUND) names.put(epcs[i], name);
+            } else if (catalog != null) {
+                missGtins[misses] = gtin;
+                missTag[misses++] = i;
+            }
+        }
+        if (misses > 0) {
+            String[] found = new String[misses];
+            catalog.lookup(missGtins, misses, found);
+            for (int m = 0; m < misses; m++) {
+                String name = found[m];
+                cache.put(missGtins[m], name != null ? name : NOT_FOUND);
+                if (name != null) names.put(epcs[missTag[m]], name);
+            }
+        }
+        decodedCounter.add(decodes);
+        cacheHits.add(hits);
+        cacheMisses.add(misses);
+        batchTime.record((SystemClock.elapsedRealtimeNanos() - start) / 1000);
+        if (EventLog.isLoggable(Log.VERBOSE)) {
+            Log.v(TAG, "Enriched " + epcs.length + " tags: " + hits + " cached, " + misses + " looked up");
+        }
+        Listener l = listener;
+        if (added && l != null) l.onEnriched();
+    }
+}
@@ -0,0 +1,126 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.TextView;
+
+/**
+ * List adapter rendering a {@link TagStore} through a {@link TagListModel}, which supplies sort
+ * order and search filtering.
+ * <p>
+ * Row text is formatted only when a row is bound, into a per-row reusable buffer, so the list
+ * holds no strings for tags that are not on screen.
+ */
+class TagListAdapter extends BaseAdapter {
+    private final TagStore store;
+    private final TagListModel model;
+    /**
+     * Source of product names, or null; rows show a name once it has been looked up.
+     */
+    private final TagEnricher enricher;
+
+    /**
+     * Reused formatting buffers attached to each row view.
+     */
+    private static final class RowHolder {
+        final TextView text;
+        final StringBuilder builder = new StringBuilder(64);
+        char[] chars = new char[64];
+
+        RowHolder(TextView text) {
+            this.text = text;
+        }
+    }
+
+    TagListAdapter(TagStore store, TagEnricher enricher) {
+        this.store = store;
+        this.enricher = enricher;
+        this.model = new TagListModel(store);
+    }
+
+    /**
+     * @return The row model, for changing sort order and filter before the next refresh.
+     */
+    TagListModel getModel() {
+        return model;
+    }
+
+    TagStore getStore() {
+        return store;
+    }
+
+    /**
+     * Recomputes rows from the store and rebinds visible rows. UI thread only.
+     */
+    @Override
+    public void notifyDataSetChanged() {
+        model.refresh();
+        super.notifyDataSetChanged();
+    }
+
+    @Override
+    public int getCount() {
+        return model.getCount();
+    }
+
+    /**
+     * @return The tag ID shown at the given position.
+     */
+    @Override
+    public Object getItem(int position) {
+        return store.getEpc(toIndex(position));
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return toIndex(position);
+    }
+
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        RowHolder holder;
+        if (convertView == null) {
+            convertView = LayoutInflater.from(parent.getContext()).inflate(android.R.layout.simple_list_item_1, parent, false);
+            holder = new RowHolder((TextView) convertView.findViewById(android.R.id.text1));
+            convertView.setTag(holder);
+        } else {
+            holder = (RowHolder) convertView.getTag();
+        }
+        bind(holder, toIndex(position));
+        return convertView;
+    }
+
+    private int toIndex(int position) {
+        return model.indexAt(position);
+    }
+
+    /**
+     * Appends the product name, or for other GS1 tags their element string, on a second line.
+     */
+    private void appendIdentity(StringBuilder sb, String epc) {
+        String product = enricher.getProductName(epc);
+        if (product != null) {
+            sb.append('\n').append(product);
+            return;
+        }
+        Gs1Epc decoded = enricher.getDecoded(epc);
+        if (decoded != null && decoded.scheme != EpcDecoder.Scheme.SGTIN_96) sb.append('\n').append(decoded.toElementString());
+    }
+
+    private void bind(RowHolder holder, int index) {
+        StringBuilder sb = holder.builder;
+        sb.setLength(0);
+        String epc = store.getEpc(index);
+        // The store may have been cleared since the last count snapshot.
+        if (epc != null) {
+            sb.append(epc).append(" (RSSI: ").append(store.getRssi(index)).append(')');
+            if (enricher != null) appendIdentity(sb, epc);
+        }
+        int length = sb.length();
+        if (holder.chars.length < length) holder.chars = new char[length * 2];
+        sb.getChars(0, length, holder.chars, 0);
+        holder.text.setText(holder.chars, 0, length);
+    }
+}
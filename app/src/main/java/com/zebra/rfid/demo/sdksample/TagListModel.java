@@ -0,0 +1,197 @@
+package com.zebra.rfid.demo.sdksample;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Virtual row model over a {@link TagStore}: maps list positions to store indexes for the current
+ * sort order and search filter without copying tag data.
+ * <p>
+ * Per-tag memory is one {@code int} of row order when filtered, plus a sort key and scratch slot
+ * when sorted, and none at all in the default newest-first order without a filter. Filtering in discovery order
+ * is incremental; sorting by RSSI uses a counting sort over the 16-bit RSSI range and sorting by
+ * last-seen an in-place quicksort. Sort keys are snapshotted first because the dedup stage keeps
+ * updating the store while the UI sorts. UI thread only.
+ */
+class TagListModel {
+    /**
+     * Row orderings.
+     */
+    enum SortMode {
+        /** Newest discovered tag first. */
+        DISCOVERY,
+        /** Strongest peak RSSI first. */
+        RSSI,
+        /** Most recently read first. */
+        LAST_SEEN
+    }
+
+    private static final int RSSI_BUCKETS = 1 << 16;
+
+    private final TagStore store;
+    private SortMode sortMode = SortMode.DISCOVERY;
+    private String query = "";
+
+    private int count = 0;
+    /** Store indexes in row order; unused for unfiltered discovery order. */
+    private int[] rows = new int[0];
+    private int[] scratch = new int[0];
+    /** Sort keys snapshotted per row, parallel to {@link #rows}. */
+    private long[] keys = new long[0];
+    private int[] buckets;
+    /** Store size already scanned by the incremental discovery filter. */
+    private int scanned = 0;
+    private int storeGeneration;
+
+    TagListModel(TagStore store) {
+        this.store = store;
+        this.storeGeneration = store.getGeneration();
+    }
+
+    SortMode getSortMode() {
+        return sortMode;
+    }
+
+    void setSortMode(SortMode sortMode) {
+        if (this.sortMode == sortMode) return;
+        this.sortMode = sortMode;
+        scanned = 0;
+    }
+
+    /**
+     * Sets a case-insensitive EPC substring filter; empty shows every tag.
+     */
+    void setQuery(String query) {
+        String normalized = query == null ? "" : query.trim().toUpperCase(Locale.ROOT);
+        if (normalized.equals(this.query)) return;
+        this.query = normalized;
+        scanned = 0;
+    }
+
+    String getQuery() {
+        return query;
+    }
+
+    /**
+     * Recomputes the rows against the current store contents.
+     */
+    void refresh() {
+        int generation = store.getGeneration();
+        int size = store.size();
+        if (generation != storeGeneration) {
+            storeGeneration = generation;
+            scanned = 0;
+        }
+        if (scanned == 0) count = 0;
+        if (sortMode == SortMode.DISCOVERY && query.isEmpty()) {
+            count = size;
+            scanned = size;
+            return;
+        }
+        if (sortMode == SortMode.DISCOVERY) {
+            appendMatches(size);
+            return;
+        }
+        count = 0;
+        scanned = 0;
+        appendMatches(size);
+        if (keys.length < count) keys = new long[rows.length];
+        if (sortMode == SortMode.RSSI) {
+            sortByRssi();
+        } else {
+            for (int i = 0; i < count; i++) keys[i] = store.getLastSeen(rows[i]);
+            sortByLastSeen(0, count - 1);
+        }
+    }
+
+    /**
+     * @return Number of rows.
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * @return The store index shown at the given row.
+     */
+    int indexAt(int position) {
+        if (sortMode == SortMode.DISCOVERY) {
+            // Newest first: rows are kept in discovery order and read backwards.
+            return query.isEmpty() ? count - 1 - position : rows[count - 1 - position];
+        }
+        return rows[position];
+    }
+
+    private void appendMatches(int size) {
+        for (int i = scanned; i < size; i++) {
+            String epc = store.getEpc(i);
+            if (epc == null || (!query.isEmpty() && epc.indexOf(query) < 0)) continue;
+            ensureCapacity(count + 1);
+            rows[count++] = i;
+        }
+        scanned = size;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (rows.length >= needed) return;
+        int[] grown = new int[Math.max(needed, Math.max(256, rows.length << 1))];
+        System.arraycopy(rows, 0, grown, 0, count);
+        rows = grown;
+    }
+
+    /**
+     * Stable counting sort on peak RSSI, strongest first.
+     */
+    private void sortByRssi() {
+        if (buckets == null) buckets = new int[RSSI_BUCKETS + 1];
+        if (scratch.length < count) scratch = new int[rows.length];
+        Arrays.fill(buckets, 0);
+        // Key: 0 for the strongest (Short.MAX_VALUE), 65535 for the weakest.
+        for (int i = 0; i < count; i++) {
+            keys[i] = Short.MAX_VALUE - store.getRssi(rows[i]);
+            buckets[(int) keys[i] + 1]++;
+        }
+        for (int k = 0; k < RSSI_BUCKETS; k++) {
+            buckets[k + 1] += buckets[k];
+        }
+        for (int i = 0; i < count; i++) {
+            scratch[buckets[(int) keys[i]]++] = rows[i];
+        }
+        int[] swap = rows;
+        rows = scratch;
+        scratch = swap;
+    }
+
+    /**
+     * In-place quicksort on last-seen time, most recent first.
+     */
+    private void sortByLastSeen(int lo, int hi) {
+        while (lo < hi) {
+            long pivot = keys[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (keys[i] > pivot) i++;
+                while (keys[j] < pivot) j--;
+                if (i <= j) {
+                    int t = rows[i];
+                    rows[i] = rows[j];
+                    rows[j] = t;
+                    long k = keys[i];
+                    keys[i] = keys[j];
+                    keys[j] = k;
+                    i++;
+                    j--;
+                }
+            }
+            // Recurse into the smaller half to bound stack depth.
+            if (j - lo < hi - i) {
+                sortByLastSeen(lo, j);
+                lo = i;
+            } else {
+                sortByLastSeen(i, hi);
+                hi = j;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.zebra.rfid.demo.sdksample;
+
+/**
+ * Smooths the RSSI of one target tag for locate (Geiger) mode.
+ * <p>
+ * Runs as a tag pipeline stage so it sees every read of the target at the reader's full rate, not
+ * only the first read per tag the list shows. Reads are folded into a time-based exponential
+ * moving average, whose weight depends on the gap since the previous read, so the indicator
+ * responds the same whether the reader reports 20 or 500 reads per second. The UI samples
+ * {@link #getProximity()} once per display frame instead of being notified per read.
+ */
+class TagLocator implements TagRingBuffer.Handler {
+    /**
+     * Smoothing time constant.
+     */
+    static final long SMOOTHING_MS = 150;
+    /**
+     * Time without reads after which the target counts as lost.
+     */
+    static final long LOST_MS = 500;
+    /**
+     * Gap assumed between reads of one notification, which share a timestamp.
+     */
+    private static final long MIN_GAP_MS = 2;
+    /**
+     * RSSI mapped to proximity 0 and 100.
+     */
+    static final int FAR_RSSI = -75;
+    static final int NEAR_RSSI = -30;
+
+    private volatile String target;
+
+    // Stage thread state, published through the volatile fields below.
+    private double smoothed = Double.NaN;
+    private long previousRead = 0;
+    private long readsInWindow = 0;
+    private long windowStart = 0;
+    private int seenGeneration = 0;
+
+    private volatile double smoothedRssi = Double.NaN;
+    private volatile long lastReadAt = 0;
+    private volatile int readsPerSecond = 0;
+    private volatile int generation = 0;
+
+    /**
+     * Attaches the locator to the read pipeline. Call once.
+     */
+    void attach(TagPipeline pipeline) {
+        pipeline.addStage("locate", this, false);
+    }
+
+    /**
+     * Sets the tag to follow, or null to stop; resets the filter.
+     */
+    void setTarget(String epc) {
+        target = epc;
+        generation++;
+        smoothedRssi = Double.NaN;
+        lastReadAt = 0;
+        readsPerSecond = 0;
+    }
+
+    String getTarget() {
+        return target;
+    }
+
+    boolean isActive() {
+        return target != null;
+    }
+
+    /**
+     * @return Smoothed RSSI in dBm, or NaN before the first read.
+     */
+    double getSmoothedRssi() {
+        return smoothedRssi;
+    }
+
+    int getReadsPerSecond() {
+        return readsPerSecond;
+    }
+
+    /**
+     * @param now Current time on the {@code SystemClock.elapsedRealtime()} clock.
+     * @return Proximity from 0 (far or lost) to 100 (at the antenna).
+     */
+    int getProximity(long now) {
+        double rssi = smoothedRssi;
+        if (Double.isNaN(rssi) || now - lastReadAt > LOST_MS) return 0;
+        return proximity(rssi);
+    }
+
+    static int proximity(double rssi) {
+        double p = (rssi - FAR_RSSI) * 100.0 / (NEAR_RSSI - FAR_RSSI);
+        return (int) Math.round(Math.max(0, Math.min(100, p)));
+    }
+
+    @Override
+    public void onRead(String epc, short rssi, long timestamp) {
+        String t = target;
+        if (t == null || !t.equals(epc)) return;
+        int g = generation;
+        if (g != seenGeneration) {
+            seenGeneration = g;
+            smoothed = Double.NaN;
+            readsInWindow = 0;
+            windowStart = timestamp;
+        }
+        if (Double.isNaN(smoothed) || timestamp - previousRead > LOST_MS) {
+            smoothed = rssi;
+        } else {
+            long gap = Math.max(MIN_GAP_MS, timestamp - previousRead);
+            double alpha = 1 - Math.exp(-gap / (double) SMOOTHING_MS);
+            smoothed += alpha * (rssi - smoothed);
+        }
+        previousRead = timestamp;
+        readsInWindow++;
+        if (timestamp - windowStart >= 1000) {
+            readsPerSecond = (int) (readsInWindow * 1000 / (timestamp - windowStart));
+            readsInWindow = 0;
+            windowStart = timestamp;
+        }
+        smoothedRssi = smoothed;
+        lastReadAt = timestamp;
+    }
+
+    @Override
+    public void onEndOfBatch() {
+    }
+}
@@ -0,0 +1,290 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.zebra.rfid.api3.TagData;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tag read pipeline: the SDK read callback publishes into a {@link TagRingBuffer} and independent
+ * stages consume it on their own threads.
+ * <p>
+ * Built-in stages are <b>dedup</b>, the single writer of the {@link TagStore}, and <b>ui</b>, which
+ * runs behind dedup and reports store changes to the listener at most once per consumed run of
+ * reads. Further stages (persistence, export, ...) are attached with {@link #addStage}.
+ * <p>
+ * Read and new tag counts, ring backlog and tag-to-screen latency are reported to {@link Metrics}.
+ */
+class TagPipeline {
+    private static final String TAG = "RFID_SAMPLE Pipeline";
+    static final int RING_CAPACITY = 16384;
+    private static final long INGEST_STATS_INTERVAL_MS = 5000;
+    /**
+     * Window of the read rate gauge; the rate reads 0 once a window passes without reads.
+     */
+    private static final long READ_RATE_WINDOW_MS = 1000;
+
+    /**
+     * Receives store change notifications on the ui stage thread.
+     */
+    interface Listener {
+        void onTagStoreChanged();
+    }
+
+    private final TagStore store = new TagStore();
+    private final TagRingBuffer ring;
+    private final TagRingBuffer.Consumer dedupStage;
+    private final TagRingBuffer.Consumer uiStage;
+    private volatile boolean clearRequested = false;
+    /** Reads consumed by dedup, published once per batch. */
+    private volatile long totalReads = 0;
+    /** Read rate over the last full window and when it was measured. */
+    private volatile long readsPerSecond = 0;
+    private volatile long readRateAt = 0;
+    private volatile Listener listener;
+    private final Metrics.Counter readCounter;
+    private final Metrics.Counter newTagCounter;
+    private final Metrics.Histogram tagToScreen;
+    /**
+     * Time of the oldest read whose store change was reported but not yet shown; 0 if none.
+     */
+    private final AtomicLong unrenderedSince = new AtomicLong();
+
+    /**
+     * @param waitStrategy How stages wait for new reads.
+     * @param metrics Registry receiving pipeline counters and gauges.
+     */
+    TagPipeline(WaitStrategy waitStrategy, Metrics metrics) {
+        ring = new TagRingBuffer(RING_CAPACITY, waitStrategy);
+        dedupStage = ring.addConsumer("dedup", new DedupHandler(), null);
+        uiStage = ring.addConsumer("ui", new UiHandler(), dedupStage);
+        readCounter = metrics.counter(Metrics.TAG_READS);
+        newTagCounter = metrics.counter(Metrics.TAGS_NEW);
+        tagToScreen = metrics.histogram(Metrics.TAG_TO_SCREEN, "ms");
+        metrics.gauge(Metrics.TAGS_UNIQUE, store::size);
+        metrics.gauge(Metrics.TAG_RING_BACKLOG, dedupStage::getBacklog);
+        metrics.gauge(Metrics.TAG_READS_DROPPED, dedupStage::getDropped);
+        metrics.gauge(Metrics.TAG_READS_PER_SECOND, this::getReadsPerSecond);
+    }
+
+    void start() {
+        dedupStage.start();
+        uiStage.start();
+    }
+
+    /**
+     * Lets every stage handle the reads published so far, then stops and joins the stage threads.
+     * Call after the reader has stopped publishing.
+     * @param timeoutMs Time to wait for each stage.
+     * @return True if every stage thread has ended.
+     */
+    boolean shutdown(long timeoutMs) throws InterruptedException {
+        return ring.shutdown(timeoutMs);
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return The unique tag store; read-only for callers.
+     */
+    TagStore getStore() {
+        return store;
+    }
+
+    /**
+     * Publishes the tags of one read notification. SDK read callback thread only.
+     * @param tags Tags returned by {@code getReadTags}.
+     */
+    void publish(TagData[] tags) {
+        long timestamp = SystemClock.elapsedRealtime();
+        for (TagData tag : tags) {
+            if (tag == null) continue;
+            String tagId = tag.getTagID();
+            if (tagId == null) continue;
+            ring.add(tagId, tag.getPeakRSSI(), timestamp);
+        }
+        ring.publish();
+    }
+
+    /**
+     * Publishes reads that do not come from the SDK, e.g. from the {@link SimulatedReader}.
+     * Same threading contract as {@link #publish(TagData[])}.
+     */
+    void publish(String[] tagIds, short[] rssi, int count) {
+        long timestamp = SystemClock.elapsedRealtime();
+        for (int i = 0; i < count; i++) {
+            if (tagIds[i] != null) ring.add(tagIds[i], rssi[i], timestamp);
+        }
+        ring.publish();
+    }
+
+    /**
+     * Clears the store; applied by the dedup stage before it processes further reads.
+     */
+    void clear() {
+        clearRequested = true;
+        dedupStage.alert();
+    }
+
+    /**
+     * Attaches a stage.
+     * @param name Stage name used for its thread.
+     * @param handler Receives reads on the stage thread.
+     * @param afterDedup True if the stage must observe the store only after dedup has applied each read.
+     * @return The started stage.
+     */
+    TagRingBuffer.Consumer addStage(String name, TagRingBuffer.Handler handler, boolean afterDedup) {
+        TagRingBuffer.Consumer stage = ring.addConsumer(name, handler, afterDedup ? dedupStage : null);
+        stage.start();
+        return stage;
+    }
+
+    /**
+     * @return Reads consumed by the dedup stage since start, updated once per batch.
+     */
+    long getTotalReads() {
+        return totalReads;
+    }
+
+    /**
+     * @return Reads per second over the last second with reads, or 0 if none arrived since.
+     */
+    long getReadsPerSecond() {
+        return SystemClock.elapsedRealtime() - readRateAt > 2 * READ_RATE_WINDOW_MS ? 0 : readsPerSecond;
+    }
+
+    /**
+     * @return Reads the dedup stage skipped because it fell a full ring behind.
+     */
+    long getDroppedReads() {
+        return dedupStage.getDropped();
+    }
+
+    /**
+     * Records the tag-to-screen latency of the store changes shown now. Call after the UI redrew the
+     * tag list.
+     * @param now Current time on the {@code SystemClock.elapsedRealtime()} clock.
+     */
+    void markRendered(long now) {
+        long since = unrenderedSince.getAndSet(0);
+        if (since > 0) tagToScreen.record(now - since);
+    }
+
+    /**
+     * Single writer of the tag store.
+     */
+    private final class DedupHandler implements TagRingBuffer.Handler {
+        private long reads = 0;
+        private long allReads = 0;
+        private long newTags = 0;
+        private long windowStart = 0;
+        private long bytesBaseline = 0;
+        private long batchReads = 0;
+        private long batchNewTags = 0;
+        private long rateWindowStart = 0;
+        private long rateWindowReads = 0;
+
+        @Override
+        public void onRead(String epc, short rssi, long timestamp) {
+            applyPendingClear();
+            if (store.record(epc, rssi, timestamp) >= 0) {
+                newTags++;
+                batchNewTags++;
+            }
+            reads++;
+            allReads++;
+            batchReads++;
+        }
+
+        @Override
+        public void onEndOfBatch() {
+            applyPendingClear();
+            totalReads = allReads;
+            // One counter update per batch keeps the metrics off the per-read path.
+            if (batchReads > 0) readCounter.add(batchReads);
+            if (batchNewTags > 0) newTagCounter.add(batchNewTags);
+            updateReadRate();
+            batchReads = 0;
+            batchNewTags = 0;
+            if (BuildConfig.DEBUG) logIngestStats();
+        }
+
+        private void updateReadRate() {
+            long now = SystemClock.elapsedRealtime();
+            if (now - rateWindowStart > 2 * READ_RATE_WINDOW_MS) {
+                // First reads after a pause start a new window rather than averaging over the gap.
+                rateWindowStart = now;
+                rateWindowReads = batchReads;
+                return;
+            }
+            rateWindowReads += batchReads;
+            long elapsed = now - rateWindowStart;
+            if (elapsed >= READ_RATE_WINDOW_MS) {
+                readsPerSecond = rateWindowReads * 1000 / elapsed;
+                readRateAt = now;
+                rateWindowStart = now;
+                rateWindowReads = 0;
+            }
+        }
+
+        private void applyPendingClear() {
+            if (clearRequested) {
+                clearRequested = false;
+                store.clear();
+                uiStage.alert();
+            }
+        }
+
+        /**
+         * Debug builds: periodically logs ingest volume against bytes allocated by the process.
+         */
+        private void logIngestStats() {
+            long now = SystemClock.elapsedRealtime();
+            if (windowStart == 0) {
+                windowStart = now;
+                bytesBaseline = AllocationMeter.bytesAllocated();
+                return;
+            }
+            if (now - windowStart < INGEST_STATS_INTERVAL_MS) return;
+            long bytes = AllocationMeter.bytesAllocated();
+            if (reads > 0 && bytes >= 0 && bytesBaseline >= 0) {
+                Log.d(TAG, "Ingest: " + reads + " reads, " + newTags + " new tags, "
+                        + (bytes - bytesBaseline) / reads + " B allocated/read, dropped=" + dedupStage.getDropped());
+            }
+            reads = 0;
+            newTags = 0;
+            windowStart = now;
+            bytesBaseline = bytes;
+        }
+    }
+
+    /**
+     * Notifies the listener when the store changed since the last notification.
+     */
+    private final class UiHandler implements TagRingBuffer.Handler {
+        private int notifiedSize = 0;
+        /** Time of the first read of the current batch; 0 before it. */
+        private long batchStart = 0;
+
+        @Override
+        public void onRead(String epc, short rssi, long timestamp) {
+            if (batchStart == 0) batchStart = timestamp;
+        }
+
+        @Override
+        public void onEndOfBatch() {
+            long start = batchStart;
+            batchStart = 0;
+            int size = store.size();
+            if (size == notifiedSize) return;
+            notifiedSize = size;
+            if (start > 0) unrenderedSince.compareAndSet(0, start);
+            Listener l = listener;
+            if (l != null) l.onTagStoreChanged();
+        }
+    }
+}
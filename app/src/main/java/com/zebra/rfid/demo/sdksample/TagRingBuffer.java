@@ -0,0 +1,291 @@
+package com.zebra.rfid.demo.sdksample;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pre-allocated single-producer / multi-consumer ring of tag reads between the SDK read callback
+ * and the tag pipeline stages.
+ * <p>
+ * The producer ({@code eventReadNotify}) never waits: it claims slots, fills them and publishes the
+ * cursor once per notification. Each {@link Consumer} runs on its own thread with its own sequence
+ * and reads at its own pace. A consumer that falls more than {@link #capacity()} reads behind skips
+ * the overwritten range and counts it as dropped, so a slow stage can lose reads but never stalls
+ * the reader. Consumers may depend on another consumer's sequence (e.g. the UI stage waits for
+ * dedup) to observe its results in order.
+ * <p>
+ * Slots are stamped with their sequence before and after each write; a consumer accepts a slot
+ * only if the stamp matches on both sides of its read, which detects concurrent overwrites.
+ */
+class TagRingBuffer {
+    private static final String TAG = "RFID_SAMPLE Ring";
+    private static final long EMPTY = -1;
+
+    /**
+     * Handles reads for one consumer, always on that consumer's thread.
+     */
+    interface Handler {
+        void onRead(String epc, short rssi, long timestamp);
+
+        /**
+         * Called after each run of reads and whenever the consumer is alerted.
+         */
+        void onEndOfBatch();
+
+        /**
+         * Called once after the final batch when the ring shuts down, e.g. to write out staged state.
+         */
+        default void onShutdown() {
+        }
+    }
+
+    /**
+     * A consumer's view of what it may read: the producer cursor, limited by an optional dependency.
+     */
+    static final class Barrier {
+        private final AtomicLong cursor;
+        private final AtomicLong dependency;
+        private volatile boolean alerted = false;
+
+        Barrier(AtomicLong cursor, AtomicLong dependency) {
+            this.cursor = cursor;
+            this.dependency = dependency;
+        }
+
+        long available() {
+            long available = cursor.get();
+            return dependency == null ? available : Math.min(available, dependency.get());
+        }
+
+        boolean isAlerted() {
+            return alerted;
+        }
+    }
+
+    private final int mask;
+    private final AtomicReferenceArray<String> epcs;
+    /** Peak RSSI in the low 16 bits, timestamp in the upper 48. */
+    private final AtomicLongArray packed;
+    private final AtomicLongArray stamps;
+    private final AtomicLong cursor = new AtomicLong(EMPTY);
+    private long claimed = EMPTY;
+    private final WaitStrategy waitStrategy;
+    private final ArrayList<Consumer> consumers = new ArrayList<>();
+
+    /**
+     * @param capacity Number of slots, rounded up to a power of two.
+     * @param waitStrategy How consumers wait for reads.
+     */
+    TagRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.mask = size - 1;
+        this.epcs = new AtomicReferenceArray<>(size);
+        this.packed = new AtomicLongArray(size);
+        this.stamps = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) stamps.set(i, EMPTY);
+        this.waitStrategy = waitStrategy;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Writes one read into the next slot. Producer thread only; invisible to consumers until {@link #publish()}.
+     */
+    void add(String epc, short rssi, long timestamp) {
+        long sequence = ++claimed;
+        int index = (int) (sequence & mask);
+        stamps.set(index, EMPTY);
+        epcs.set(index, epc);
+        packed.set(index, (timestamp << 16) | (rssi & 0xFFFFL));
+        stamps.set(index, sequence);
+    }
+
+    /**
+     * Makes all added reads visible and wakes waiting consumers. Producer thread only.
+     */
+    void publish() {
+        if (cursor.get() == claimed) return;
+        cursor.set(claimed);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * @return Sequence of the last published read, -1 before the first.
+     */
+    long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * Creates a consumer starting at the next published read. Call {@link Consumer#start()} to run it.
+     * @param name Thread name suffix.
+     * @param handler Receives the reads.
+     * @param dependsOn Consumer whose progress this one must not overtake, or null.
+     */
+    Consumer addConsumer(String name, Handler handler, Consumer dependsOn) {
+        Consumer consumer = new Consumer(name, handler, dependsOn == null ? null : dependsOn.sequence);
+        synchronized (consumers) {
+            consumers.add(consumer);
+        }
+        return consumer;
+    }
+
+    /**
+     * Stops all consumer threads after they have handled every published read, and waits for them.
+     * Consumers are stopped in the order they were added, so each one's dependency has already
+     * drained. Call after the producer has stopped; reads published later are not handled.
+     * @param timeoutMs Time to wait for each consumer.
+     * @return True if every consumer thread has ended.
+     */
+    boolean shutdown(long timeoutMs) throws InterruptedException {
+        ArrayList<Consumer> stopping;
+        synchronized (consumers) {
+            stopping = new ArrayList<>(consumers);
+            consumers.clear();
+        }
+        boolean ended = true;
+        for (Consumer consumer : stopping) {
+            consumer.stop();
+            if (!consumer.join(timeoutMs)) {
+                Log.w(TAG, consumer.name + " did not end within " + timeoutMs + " ms");
+                ended = false;
+            }
+        }
+        return ended;
+    }
+
+    /**
+     * A pipeline stage reading the ring on its own thread.
+     */
+    final class Consumer implements Runnable {
+        private final String name;
+        private final Handler handler;
+        private final AtomicLong sequence = new AtomicLong();
+        private final Barrier barrier;
+        private volatile boolean running = false;
+        private Thread thread;
+        private volatile long dropped = 0;
+
+        private Consumer(String name, Handler handler, AtomicLong dependency) {
+            this.name = name;
+            this.handler = handler;
+            this.sequence.set(cursor.get());
+            this.barrier = new Barrier(cursor, dependency);
+        }
+
+        synchronized void start() {
+            if (running) return;
+            running = true;
+            thread = new Thread(this, "tag-ring-" + name);
+            thread.start();
+        }
+
+        /**
+         * Lets the consumer finish the reads published so far, then end. Not interrupted, so a
+         * handler is never cut off in the middle of a write.
+         */
+        void stop() {
+            running = false;
+            alert();
+        }
+
+        /**
+         * @return True if the consumer thread has ended, or never started.
+         */
+        boolean join(long timeoutMs) throws InterruptedException {
+            Thread t;
+            synchronized (this) {
+                t = thread;
+            }
+            if (t == null) return true;
+            t.join(timeoutMs);
+            return !t.isAlive();
+        }
+
+        /**
+         * Wakes the consumer so it runs {@link Handler#onEndOfBatch()} even without new reads.
+         */
+        void alert() {
+            barrier.alerted = true;
+            waitStrategy.signalAllWhenBlocking();
+        }
+
+        /**
+         * @return Reads skipped because this consumer fell behind by more than the ring capacity.
+         */
+        long getDropped() {
+            return dropped;
+        }
+
+        /**
+         * @return Published reads this consumer has not processed yet.
+         */
+        long getBacklog() {
+            return cursor.get() - sequence.get();
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            boolean last = false;
+            while (!last) {
+                // Once stopped, take one more pass over everything published so far.
+                last = !running;
+                long available;
+                if (last) {
+                    available = barrier.available();
+                } else {
+                    try {
+                        available = waitStrategy.waitFor(next, barrier);
+                    } catch (InterruptedException e) {
+                        available = barrier.available();
+                        last = true;
+                    }
+                }
+                barrier.alerted = false;
+                if (available - next >= capacity()) {
+                    long skipped = available - capacity() + 1 - next;
+                    dropped += skipped;
+                    Log.w(TAG, name + " fell behind, skipped " + skipped + " reads");
+                    next += skipped;
+                }
+                for (; next <= available; next++) {
+                    int index = (int) (next & mask);
+                    long before = stamps.get(index);
+                    String epc = epcs.get(index);
+                    long value = packed.get(index);
+                    if (before != next || stamps.get(index) != next) {
+                        dropped++;
+                        continue;
+                    }
+                    try {
+                        handler.onRead(epc, (short) value, value >>> 16);
+                    } catch (RuntimeException e) {
+                        Log.e(TAG, name + " failed on read", e);
+                    }
+                }
+                try {
+                    handler.onEndOfBatch();
+                } catch (RuntimeException e) {
+                    Log.e(TAG, name + " failed at end of batch", e);
+                }
+                if (sequence.get() != next - 1) {
+                    sequence.set(next - 1);
+                    // Dependent consumers wait on this sequence.
+                    waitStrategy.signalAllWhenBlocking();
+                }
+            }
+            try {
+                handler.onShutdown();
+            } catch (RuntimeException e) {
+                Log.e(TAG, name + " failed at shutdown", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.zebra.rfid.demo.sdksample;
+
+import java.util.Arrays;
+
+/**
+ * Compact, single-writer store of unique tags seen during an inventory.
+ * <p>
+ * Tags live in parallel primitive columns indexed in discovery order, with an open-addressing
+ * hash table from EPC to index. Recording a read of a known tag only updates primitives, so the
+ * steady-state read path allocates nothing; the columns grow by doubling when full.
+ * <p>
+ * Exactly one thread (the ingest thread) may call {@link #record(String, short, long)} and
+ * {@link #clear()}. Any thread may read: the column arrays are published through a volatile
+ * reference after each append, so readers see every entry below {@link #size()}.
+ */
+class TagStore {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Column arrays, swapped as a unit on growth.
+     */
+    private static final class Columns {
+        final String[] epc;
+        final short[] rssi;
+        final long[] firstSeen;
+        final long[] lastSeen;
+        final int[] readCount;
+        /** Hash slots holding index + 1, 0 when empty; length is a power of two, at least 2x capacity. */
+        final int[] table;
+
+        Columns(int capacity) {
+            epc = new String[capacity];
+            rssi = new short[capacity];
+            firstSeen = new long[capacity];
+            lastSeen = new long[capacity];
+            readCount = new int[capacity];
+            table = new int[Integer.highestOneBit(capacity) << 2];
+        }
+    }
+
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+    private volatile int size = 0;
+    private volatile int generation = 0;
+
+    /**
+     * Records one read.
+     * @param epc Tag ID as reported by the SDK; the reference is kept, not copied.
+     * @param rssi Peak RSSI of this read.
+     * @param timestamp Read time on a monotonic clock.
+     * @return The tag index if this is a new tag, otherwise {@code -1 - index}.
+     */
+    int record(String epc, short rssi, long timestamp) {
+        Columns c = columns;
+        int mask = c.table.length - 1;
+        int slot = mix(epc.hashCode()) & mask;
+        int entry;
+        while ((entry = c.table[slot]) != 0) {
+            int index = entry - 1;
+            if (epc.equals(c.epc[index])) {
+                c.rssi[index] = rssi;
+                c.lastSeen[index] = timestamp;
+                c.readCount[index]++;
+                return -1 - index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int index = size;
+        if (index == c.epc.length) {
+            c = grow(c);
+            mask = c.table.length - 1;
+            slot = mix(epc.hashCode()) & mask;
+            while (c.table[slot] != 0) slot = (slot + 1) & mask;
+        }
+        c.epc[index] = epc;
+        c.rssi[index] = rssi;
+        c.firstSeen[index] = timestamp;
+        c.lastSeen[index] = timestamp;
+        c.readCount[index] = 1;
+        c.table[slot] = index + 1;
+        size = index + 1;
+        return index;
+    }
+
+    /**
+     * Removes all tags. Writer thread only.
+     */
+    void clear() {
+        Columns c = columns;
+        generation++;
+        size = 0;
+        Arrays.fill(c.epc, null);
+        Arrays.fill(c.table, 0);
+    }
+
+    /**
+     * @return A counter incremented by every {@link #clear()}, letting readers detect index reuse.
+     */
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return Number of unique tags.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The index of the tag, or -1 if it has not been seen.
+     */
+    int indexOf(String epc) {
+        Columns c = columns;
+        int mask = c.table.length - 1;
+        int slot = mix(epc.hashCode()) & mask;
+        int entry;
+        while ((entry = c.table[slot]) != 0) {
+            if (epc.equals(c.epc[entry - 1])) return entry - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    String getEpc(int index) {
+        return columns.epc[index];
+    }
+
+    short getRssi(int index) {
+        return columns.rssi[index];
+    }
+
+    long getFirstSeen(int index) {
+        return columns.firstSeen[index];
+    }
+
+    long getLastSeen(int index) {
+        return columns.lastSeen[index];
+    }
+
+    int getReadCount(int index) {
+        return columns.readCount[index];
+    }
+
+    private Columns grow(Columns old) {
+        int n = old.epc.length;
+        Columns c = new Columns(n << 1);
+        System.arraycopy(old.epc, 0, c.epc, 0, n);
+        System.arraycopy(old.rssi, 0, c.rssi, 0, n);
+        System.arraycopy(old.firstSeen, 0, c.firstSeen, 0, n);
+        System.arraycopy(old.lastSeen, 0, c.lastSeen, 0, n);
+        System.arraycopy(old.readCount, 0, c.readCount, 0, n);
+        int mask = c.table.length - 1;
+        for (int i = 0; i < n; i++) {
+            int slot = mix(c.epc[i].hashCode()) & mask;
+            while (c.table[slot] != 0) slot = (slot + 1) & mask;
+            c.table[slot] = i + 1;
+        }
+        columns = c;
+        return c;
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,137 @@
+package com.zebra.rfid.demo.sdksample;
+
+/**
+ * Debounce and rate-limit engine for hardware trigger press/release events.
+ * <p>
+ * Decisions are driven purely by the event timestamps passed in, so the same sequence of events
+ * always yields the same inventory start/stop calls:
+ * <ul>
+ *     <li><b>Minimum hold time</b>: a release arriving sooner than {@code minHoldMs} after the accepted
+ *     press is deferred until the hold time is reached.</li>
+ *     <li><b>Release suppression window</b>: a release is only committed after {@code releaseSuppressMs};
+ *     a press within that window is treated as contact bounce and both events are dropped, so the
+ *     running inventory continues untouched.</li>
+ *     <li><b>Rate limit</b>: presses closer than {@code minPressIntervalMs} to the previous accepted
+ *     press are ignored together with their release.</li>
+ * </ul>
+ * Deferred releases are committed by the caller through {@link #commitRelease(int)} once the delay
+ * returned by {@link #onRelease(long)} has elapsed. All methods are thread-safe.
+ */
+class TriggerDebouncer {
+    static final long DEFAULT_MIN_HOLD_MS = 100;
+    static final long DEFAULT_RELEASE_SUPPRESS_MS = 40;
+    static final long DEFAULT_MIN_PRESS_INTERVAL_MS = 200;
+
+    /**
+     * Returned by {@link #onRelease(long)} when the release must not stop the inventory.
+     */
+    static final long IGNORE_RELEASE = -1;
+
+    private long minHoldMs = DEFAULT_MIN_HOLD_MS;
+    private long releaseSuppressMs = DEFAULT_RELEASE_SUPPRESS_MS;
+    private long minPressIntervalMs = DEFAULT_MIN_PRESS_INTERVAL_MS;
+
+    private boolean pressed = false;
+    private boolean releasePending = false;
+    private boolean pressSwallowed = false;
+    private long pressTimeMs = 0;
+    private long lastAcceptedPressMs = Long.MIN_VALUE / 2;
+    private int releaseGeneration = 0;
+
+    private long bouncesSuppressed = 0;
+    private long pressesRateLimited = 0;
+
+    /**
+     * Updates the timing parameters; values below zero are treated as zero.
+     * @param minHoldMs Minimum time between an accepted press and the stop it causes.
+     * @param releaseSuppressMs Window after a release in which a new press counts as bounce.
+     * @param minPressIntervalMs Minimum time between two accepted presses.
+     */
+    synchronized void configure(long minHoldMs, long releaseSuppressMs, long minPressIntervalMs) {
+        this.minHoldMs = Math.max(0, minHoldMs);
+        this.releaseSuppressMs = Math.max(0, releaseSuppressMs);
+        this.minPressIntervalMs = Math.max(0, minPressIntervalMs);
+    }
+
+    /**
+     * Handles a trigger press.
+     * @param timestampMs Event time on a monotonic clock.
+     * @return True if the press should start an inventory.
+     */
+    synchronized boolean onPress(long timestampMs) {
+        if (releasePending) {
+            // Bounce: the contact reopened within the suppression window, keep the inventory running.
+            releasePending = false;
+            releaseGeneration++;
+            bouncesSuppressed++;
+            return false;
+        }
+        if (pressed) return false;
+        if (timestampMs - lastAcceptedPressMs < minPressIntervalMs) {
+            pressSwallowed = true;
+            pressesRateLimited++;
+            return false;
+        }
+        pressed = true;
+        pressSwallowed = false;
+        pressTimeMs = timestampMs;
+        lastAcceptedPressMs = timestampMs;
+        return true;
+    }
+
+    /**
+     * Handles a trigger release.
+     * @param timestampMs Event time on a monotonic clock.
+     * @return {@link #IGNORE_RELEASE}, or the delay in ms after which {@link #commitRelease(int)}
+     *         must be called with {@link #getReleaseGeneration()} to stop the inventory.
+     */
+    synchronized long onRelease(long timestampMs) {
+        if (pressSwallowed) {
+            pressSwallowed = false;
+            return IGNORE_RELEASE;
+        }
+        if (!pressed || releasePending) return IGNORE_RELEASE;
+        long held = timestampMs - pressTimeMs;
+        releasePending = true;
+        releaseGeneration++;
+        return Math.max(releaseSuppressMs, minHoldMs - held);
+    }
+
+    /**
+     * @return Generation of the most recent deferred release.
+     */
+    synchronized int getReleaseGeneration() {
+        return releaseGeneration;
+    }
+
+    /**
+     * Commits a deferred release unless a bounce press cancelled it in the meantime.
+     * @param generation Value of {@link #getReleaseGeneration()} taken right after {@link #onRelease(long)}.
+     * @return True if the inventory should be stopped now.
+     */
+    synchronized boolean commitRelease(int generation) {
+        if (!releasePending || generation != releaseGeneration) return false;
+        releasePending = false;
+        pressed = false;
+        return true;
+    }
+
+    /**
+     * Forgets the current press state, e.g. after trigger events were unsubscribed and a release may
+     * have been missed. The rate limit history is kept.
+     */
+    synchronized void reset() {
+        pressed = false;
+        releasePending = false;
+        pressSwallowed = false;
+        releaseGeneration++;
+    }
+
+    synchronized long getBouncesSuppressed() {
+        return bouncesSuppressed;
+    }
+
+    synchronized long getPressesRateLimited() {
+        return pressesRateLimited;
+    }
+}
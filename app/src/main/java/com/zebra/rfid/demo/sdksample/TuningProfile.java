@@ -0,0 +1,89 @@
+package com.zebra.rfid.demo.sdksample;
+
+import com.zebra.rfid.api3.INVENTORY_STATE;
+import com.zebra.rfid.api3.SESSION;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Named set of air-interface settings applied through {@code reader.Config} by {@link ReaderTuner}.
+ * <p>
+ * The API3 SDK does not expose the Gen2 Q value directly; the expected tag population sets the
+ * reader's starting Q instead.
+ */
+final class TuningProfile {
+    /** Transmit power meaning "highest level the reader supports". */
+    static final int MAX_POWER = -1;
+    /** Link profile meaning "keep the reader's current RF mode". */
+    static final long KEEP_LINK_PROFILE = -1;
+
+    /**
+     * Dense shelves: full power, session S2 with state A only so each tag answers once per
+     * persistence period, a large population estimate, and no power optimization.
+     */
+    static final TuningProfile DENSE = new TuningProfile("Dense", MAX_POWER, SESSION.SESSION_S2,
+            (short) 300, INVENTORY_STATE.INVENTORY_STATE_A, KEEP_LINK_PROFILE, false);
+    /**
+     * Mixed populations: high power, session S1, moderate population, power optimization on.
+     */
+    static final TuningProfile BALANCED = new TuningProfile("Balanced", 270, SESSION.SESSION_S1,
+            (short) 30, INVENTORY_STATE.INVENTORY_STATE_AB_FLIP, KEEP_LINK_PROFILE, true);
+    /**
+     * Single-item commissioning: low power so only the tag at the reader answers, session S0 so it
+     * answers on every round, tiny population estimate.
+     */
+    static final TuningProfile SINGLE_ITEM = new TuningProfile("Single item", 150, SESSION.SESSION_S0,
+            (short) 4, INVENTORY_STATE.INVENTORY_STATE_A, KEEP_LINK_PROFILE, true);
+
+    final String name;
+    /** Transmit power in tenths of dBm, or {@link #MAX_POWER}. */
+    final int powerDbm10;
+    final SESSION session;
+    final short tagPopulation;
+    final INVENTORY_STATE inventoryState;
+    /** Index into the reader's RF mode table, or {@link #KEEP_LINK_PROFILE}. */
+    final long linkProfile;
+    final boolean dynamicPower;
+
+    TuningProfile(String name, int powerDbm10, SESSION session, short tagPopulation,
+                  INVENTORY_STATE inventoryState, long linkProfile, boolean dynamicPower) {
+        this.name = name;
+        this.powerDbm10 = powerDbm10;
+        this.session = session;
+        this.tagPopulation = tagPopulation;
+        this.inventoryState = inventoryState;
+        this.linkProfile = linkProfile;
+        this.dynamicPower = dynamicPower;
+    }
+
+    /**
+     * @return The built-in profiles.
+     */
+    static List<TuningProfile> presets() {
+        return Arrays.asList(DENSE, BALANCED, SINGLE_ITEM);
+    }
+
+    /**
+     * Candidate grid for auto-tuning: the presets plus session and population variations at full power.
+     */
+    static List<TuningProfile> autoTuneCandidates() {
+        ArrayList<TuningProfile> candidates = new ArrayList<>(presets());
+        candidates.add(new TuningProfile("S1 pop 100", MAX_POWER, SESSION.SESSION_S1,
+                (short) 100, INVENTORY_STATE.INVENTORY_STATE_AB_FLIP, KEEP_LINK_PROFILE, false));
+        candidates.add(new TuningProfile("S0 pop 30", MAX_POWER, SESSION.SESSION_S0,
+                (short) 30, INVENTORY_STATE.INVENTORY_STATE_A, KEEP_LINK_PROFILE, false));
+        candidates.add(new TuningProfile("S3 pop 300", MAX_POWER, SESSION.SESSION_S3,
+                (short) 300, INVENTORY_STATE.INVENTORY_STATE_A, KEEP_LINK_PROFILE, false));
+        return candidates;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (power=" + (powerDbm10 == MAX_POWER ? "max" : powerDbm10 / 10.0 + " dBm")
+                + ", " + session + ", population=" + tagPopulation + ", " + inventoryState
+                + (linkProfile == KEEP_LINK_PROFILE ? "" : ", link profile " + linkProfile)
+                + (dynamicPower ? ", DPO" : "") + ")";
+    }
+}
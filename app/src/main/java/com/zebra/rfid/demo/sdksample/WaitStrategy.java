@@ -0,0 +1,134 @@
+package com.zebra.rfid.demo.sdksample;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * How a {@link TagRingBuffer} consumer waits for new reads.
+ * <p>
+ * {@link #blocking()} parks consumers on a condition and costs the producer one lock per
+ * published batch; {@link #sleeping()} spins briefly then parks for short intervals without any
+ * producer-side cost; {@link #yielding()} trades CPU for the lowest latency.
+ */
+interface WaitStrategy {
+
+    /**
+     * Waits until the barrier's available sequence reaches {@code sequence} or the barrier is alerted.
+     * @return The highest available sequence, which is below {@code sequence} only when alerted.
+     * @throws InterruptedException If the consumer thread is interrupted while waiting.
+     */
+    long waitFor(long sequence, TagRingBuffer.Barrier barrier) throws InterruptedException;
+
+    /**
+     * Wakes consumers blocked in {@link #waitFor}; called after publishing or advancing a sequence.
+     */
+    void signalAllWhenBlocking();
+
+    static WaitStrategy blocking() {
+        return new Blocking();
+    }
+
+    static WaitStrategy sleeping() {
+        return new Sleeping();
+    }
+
+    static WaitStrategy yielding() {
+        return new Yielding();
+    }
+
+    /**
+     * Lock and condition based waiting; lowest CPU use while the reader is idle.
+     */
+    final class Blocking implements WaitStrategy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private volatile int waiters = 0;
+
+        @Override
+        public long waitFor(long sequence, TagRingBuffer.Barrier barrier) throws InterruptedException {
+            long available = barrier.available();
+            if (available >= sequence || barrier.isAlerted()) return available;
+            lock.lock();
+            try {
+                waiters++;
+                while ((available = barrier.available()) < sequence && !barrier.isAlerted()) {
+                    published.await(100, TimeUnit.MILLISECONDS);
+                }
+            } finally {
+                waiters--;
+                lock.unlock();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            if (waiters == 0) return;
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Spins, then yields, then parks in 1 ms steps; no cost on the producer side.
+     */
+    final class Sleeping implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 100;
+        private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+        @Override
+        public long waitFor(long sequence, TagRingBuffer.Barrier barrier) throws InterruptedException {
+            long available;
+            int counter = SPIN_TRIES + YIELD_TRIES;
+            while ((available = barrier.available()) < sequence && !barrier.isAlerted()) {
+                if (Thread.interrupted()) throw new InterruptedException();
+                if (counter > YIELD_TRIES) {
+                    counter--;
+                } else if (counter > 0) {
+                    counter--;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+
+    /**
+     * Spins briefly, then yields continuously; keeps a core busy while waiting.
+     */
+    final class Yielding implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+
+        @Override
+        public long waitFor(long sequence, TagRingBuffer.Barrier barrier) throws InterruptedException {
+            long available;
+            int counter = SPIN_TRIES;
+            while ((available = barrier.available()) < sequence && !barrier.isAlerted()) {
+                if (Thread.interrupted()) throw new InterruptedException();
+                if (counter > 0) {
+                    counter--;
+                } else {
+                    Thread.yield();
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.zebra.rfid.demo.sdksample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+public class EpcDecoderTest {
+    // EPC Tag Data Standard examples.
+    private static final String SGTIN_96 = "3074257BF7194E4000001A85";
+    private static final String SSCC_96 = "3174257BF4499602D2000000";
+    private static final String GRAI_96 = "3374257BF40C0E400000162E";
+
+    private static final int[] COMPANY_BITS = {40, 37, 34, 30, 27, 24, 20};
+    private static final int[] COMPANY_DIGITS = {12, 11, 10, 9, 8, 7, 6};
+
+    /**
+     * Encodes a 96-bit EPC field by field, independently of the decoder's bit reader.
+     */
+    private static String encode(EpcDecoder.Scheme scheme, int filter, int partition, long company, long reference,
+                                 long serial) {
+        int companyBits = COMPANY_BITS[Math.min(partition, COMPANY_BITS.length - 1)];
+        BigInteger value = BigInteger.valueOf(scheme.header);
+        value = value.shiftLeft(3).or(BigInteger.valueOf(filter));
+        value = value.shiftLeft(3).or(BigInteger.valueOf(partition));
+        value = value.shiftLeft(companyBits).or(BigInteger.valueOf(company));
+        value = value.shiftLeft(scheme.partitionedBits - companyBits).or(BigInteger.valueOf(reference));
+        value = value.shiftLeft(96 - 14 - scheme.partitionedBits).or(BigInteger.valueOf(serial));
+        return String.format("%024X", value);
+    }
+
+    private static long maxValue(int digits) {
+        return BigInteger.TEN.pow(digits).longValue() - 1;
+    }
+
+    @Test
+    public void decodesSgtin96() {
+        Gs1Epc epc = EpcDecoder.decode(SGTIN_96);
+        assertNotNull(epc);
+        assertEquals(EpcDecoder.Scheme.SGTIN_96, epc.scheme);
+        assertEquals(3, epc.filter);
+        assertEquals("0614141", epc.companyPrefix);
+        assertEquals("812345", epc.reference);
+        assertEquals("6789", epc.serial);
+        assertEquals("80614141123458", epc.getGs1Key());
+        assertEquals("urn:epc:id:sgtin:0614141.812345.6789", epc.toUri());
+        assertEquals("(01)80614141123458(21)6789", epc.toElementString());
+        assertEquals("80614141123458", EpcDecoder.toGtin(SGTIN_96));
+    }
+
+    @Test
+    public void decodesSscc96() {
+        Gs1Epc epc = EpcDecoder.decode(SSCC_96);
+        assertNotNull(epc);
+        assertEquals(EpcDecoder.Scheme.SSCC_96, epc.scheme);
+        assertEquals(3, epc.filter);
+        assertEquals("0614141", epc.companyPrefix);
+        assertEquals("1234567890", epc.reference);
+        assertNull(epc.serial);
+        assertEquals("106141412345678908", epc.getGs1Key());
+        assertEquals("urn:epc:id:sscc:0614141.1234567890", epc.toUri());
+        assertEquals("(00)106141412345678908", epc.toElementString());
+        assertNull(EpcDecoder.toGtin(SSCC_96));
+    }
+
+    @Test
+    public void decodesGrai96() {
+        Gs1Epc epc = EpcDecoder.decode(GRAI_96);
+        assertNotNull(epc);
+        assertEquals(EpcDecoder.Scheme.GRAI_96, epc.scheme);
+        assertEquals(3, epc.filter);
+        assertEquals("0614141", epc.companyPrefix);
+        assertEquals("12345", epc.reference);
+        assertEquals("5678", epc.serial);
+        assertEquals("00614141123452", epc.getGs1Key());
+        assertEquals("urn:epc:id:grai:0614141.12345.5678", epc.toUri());
+        assertEquals("(8003)006141411234525678", epc.toElementString());
+    }
+
+    @Test
+    public void lowerCaseHexDecodesTheSame() {
+        assertEquals(EpcDecoder.decode(SGTIN_96).toUri(), EpcDecoder.decode(SGTIN_96.toLowerCase()).toUri());
+    }
+
+    @Test
+    public void bytesDecodeLikeHex() {
+        byte[] bytes = new BigInteger(GRAI_96, 16).toByteArray();
+        assertEquals(12, bytes.length);
+        assertEquals("urn:epc:id:grai:0614141.12345.5678", EpcDecoder.decode(bytes).toUri());
+    }
+
+    @Test
+    public void everyPartitionSplitsDigitsAsSpecified() {
+        for (EpcDecoder.Scheme scheme : EpcDecoder.Scheme.values()) {
+            for (int partition = 0; partition < COMPANY_DIGITS.length; partition++) {
+                int companyDigits = COMPANY_DIGITS[partition];
+                int referenceDigits = scheme.referenceDigits - companyDigits;
+                long serial = scheme.serialBits > 0 ? 274877906943L : 0; // 2^38 - 1
+                String context = scheme + " partition " + partition;
+
+                // Largest values that fit the digit counts.
+                Gs1Epc max = EpcDecoder.decode(encode(scheme, 1, partition, maxValue(companyDigits),
+                        maxValue(referenceDigits), serial));
+                assertNotNull(context, max);
+                assertEquals(context, repeat('9', companyDigits), max.companyPrefix);
+                assertEquals(context, repeat('9', referenceDigits), max.reference);
+                assertEquals(context, scheme.serialBits > 0 ? Long.toString(serial) : null, max.serial);
+
+                // Small values keep their leading zeros; GRAI partition 0 leaves no asset type digits.
+                long reference = referenceDigits > 0 ? 2 : 0;
+                Gs1Epc small = EpcDecoder.decode(encode(scheme, 1, partition, 1, reference, 0));
+                assertNotNull(context, small);
+                assertEquals(context, repeat('0', companyDigits - 1) + "1", small.companyPrefix);
+                assertEquals(context, referenceDigits > 0 ? repeat('0', referenceDigits - 1) + "2" : "", small.reference);
+
+                int keyLength = scheme == EpcDecoder.Scheme.SSCC_96 ? 18 : 14;
+                assertEquals(context, keyLength, max.getGs1Key().length());
+                assertEquals(context, keyLength, small.getGs1Key().length());
+            }
+        }
+    }
+
+    @Test
+    public void gs1KeysCarryTheirCheckDigit() {
+        String[] keys = {
+                EpcDecoder.decode(SGTIN_96).getGs1Key(),
+                EpcDecoder.decode(SSCC_96).getGs1Key(),
+                EpcDecoder.decode(GRAI_96).getGs1Key(),
+                EpcDecoder.decode(encode(EpcDecoder.Scheme.SGTIN_96, 1, 0, 123456789012L, 9, 1)).getGs1Key(),
+                EpcDecoder.decode(encode(EpcDecoder.Scheme.SSCC_96, 0, 6, 999999, 12345678901L, 0)).getGs1Key(),
+        };
+        for (String key : keys) {
+            char[] digits = key.toCharArray();
+            assertEquals(key, digits[digits.length - 1] - '0', referenceCheckDigit(key.substring(0, key.length() - 1)));
+            assertEquals(key, digits[digits.length - 1] - '0', EpcDecoder.checkDigit(digits, digits.length - 1));
+        }
+    }
+
+    @Test
+    public void checkDigitOfKnownKeys() {
+        // GTIN-13 4006381333931 and GTIN-8 96385074 from the GS1 check digit examples.
+        assertEquals(1, EpcDecoder.checkDigit("400638133393".toCharArray(), 12));
+        assertEquals(4, EpcDecoder.checkDigit("9638507".toCharArray(), 7));
+    }
+
+    @Test
+    public void rejectsUnsupportedHeaders() {
+        // A TID, GID-96 and SGTIN-198 header.
+        assertNull(EpcDecoder.decode("E2801170200001234567ABCD"));
+        assertNull(EpcDecoder.decode("3574257BF7194E4000001A85"));
+        assertNull(EpcDecoder.decode("3674257BF7194E4000001A85"));
+    }
+
+    @Test
+    public void rejectsPartitionSeven() {
+        for (EpcDecoder.Scheme scheme : EpcDecoder.Scheme.values()) {
+            assertNull(scheme.toString(), EpcDecoder.decode(encode(scheme, 0, 7, 1, 1, 0)));
+        }
+    }
+
+    @Test
+    public void rejectsCompanyPrefixOverflow() {
+        for (EpcDecoder.Scheme scheme : EpcDecoder.Scheme.values()) {
+            for (int partition = 0; partition < COMPANY_DIGITS.length; partition++) {
+                long overflow = maxValue(COMPANY_DIGITS[partition]) + 1;
+                assertNull(scheme + " partition " + partition, EpcDecoder.decode(encode(scheme, 0, partition, overflow, 0, 0)));
+            }
+        }
+    }
+
+    @Test
+    public void rejectsReferenceOverflow() {
+        for (EpcDecoder.Scheme scheme : EpcDecoder.Scheme.values()) {
+            for (int partition = 0; partition < COMPANY_DIGITS.length; partition++) {
+                int referenceBits = scheme.partitionedBits - COMPANY_BITS[partition];
+                long overflow = maxValue(scheme.referenceDigits - COMPANY_DIGITS[partition]) + 1;
+                // Only testable where the field is wide enough to hold the overflowing value.
+                if (overflow >= 1L << referenceBits) continue;
+                assertNull(scheme + " partition " + partition, EpcDecoder.decode(encode(scheme, 0, partition, 0, overflow, 0)));
+            }
+        }
+    }
+
+    @Test
+    public void rejectsSsccWithReservedBitsSet() {
+        assertNull(EpcDecoder.decode("3174257BF4499602D2000001"));
+        assertNull(EpcDecoder.decode("3174257BF4499602D2800000"));
+    }
+
+    @Test
+    public void rejectsWrongLengthAndNonHex() {
+        assertNull(EpcDecoder.decode((String) null));
+        assertNull(EpcDecoder.decode(""));
+        assertNull(EpcDecoder.decode(SGTIN_96.substring(1)));
+        assertNull(EpcDecoder.decode(SGTIN_96 + "0"));
+        assertNull(EpcDecoder.decode(SGTIN_96 + "00000000"));
+        assertNull(EpcDecoder.decode("3074257BF7194E4000001AG5"));
+        assertNull(EpcDecoder.decode("3074257BF7194E4000001Aé5"));
+        assertNull(EpcDecoder.decode((byte[]) null));
+        assertNull(EpcDecoder.decode(new byte[11]));
+    }
+
+    /**
+     * GS1 mod-10 written from the specification: weights 3 and 1 from the right.
+     */
+    private static int referenceCheckDigit(String data) {
+        int sum = 0;
+        for (int i = data.length() - 1, weight = 3; i >= 0; i--, weight = 4 - weight) {
+            sum += (data.charAt(i) - '0') * weight;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
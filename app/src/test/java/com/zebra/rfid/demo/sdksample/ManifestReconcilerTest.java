@@ -0,0 +1,116 @@
+package com.zebra.rfid.demo.sdksample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class ManifestReconcilerTest {
+    private static final long TIMEOUT_MS = 2000;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private TagPipeline pipeline;
+    private ManifestReconciler reconciler;
+    private final Semaphore changes = new Semaphore(0);
+
+    @Before
+    public void setUp() {
+        Metrics metrics = new Metrics();
+        pipeline = new TagPipeline(WaitStrategy.blocking(), metrics);
+        pipeline.start();
+        reconciler = new ManifestReconciler(pipeline.getStore(), metrics);
+        reconciler.attach(pipeline);
+        reconciler.setListener(changes::release);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (pipeline != null) pipeline.shutdown(TIMEOUT_MS);
+    }
+
+    private ShipmentManifest manifest(String... epcs) throws IOException {
+        File file = folder.newFile();
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            for (String epc : epcs) out.println(epc);
+        }
+        return ShipmentManifest.load(file);
+    }
+
+    private void publish(String... epcs) {
+        pipeline.publish(epcs, new short[epcs.length], epcs.length);
+    }
+
+    /**
+     * Stops the pipeline, so every published read has been reconciled.
+     */
+    private void drain() throws InterruptedException {
+        assertTrue(pipeline.shutdown(TIMEOUT_MS));
+        pipeline = null;
+    }
+
+    @Test
+    public void countsFoundMissingAndUnexpectedTags() throws Exception {
+        reconciler.setManifest(manifest("A1", "A2", "A3", "A4"));
+        // The rescan of the empty store reports once; reads published after it arrive through onRead.
+        assertTrue(changes.tryAcquire(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        publish("A1", "B1", "A3", "A1", "B1", "B2", "A3");
+        drain();
+
+        assertEquals(4, reconciler.getExpected());
+        assertEquals(2, reconciler.getFound());
+        assertEquals(2, reconciler.getMissing());
+        assertEquals(2, reconciler.getUnexpected());
+        ManifestReconciler.Diff diff = reconciler.diff();
+        assertEquals(4, diff.expected);
+        assertEquals(2, diff.found);
+        Collections.sort(diff.missing);
+        assertEquals(Arrays.asList("A2", "A4"), diff.missing);
+        Collections.sort(diff.unexpected);
+        assertEquals(Arrays.asList("B1", "B2"), diff.unexpected);
+    }
+
+    @Test
+    public void loadingManifestReconcilesStoredTagsOnce() throws Exception {
+        for (int trial = 0; trial < 50; trial++) {
+            if (trial > 0) setUp();
+            publish("A1", "B1", "B2");
+            long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            while (pipeline.getStore().size() < 3 && System.currentTimeMillis() < deadline) Thread.yield();
+            // Reads racing the rescan reach onRead while it is pending.
+            reconciler.setManifest(manifest("A1", "A2", "A3"));
+            publish("A2", "B3", "B1");
+            drain();
+
+            assertEquals(2, reconciler.getFound());
+            assertEquals(1, reconciler.getMissing());
+            assertEquals(3, reconciler.getUnexpected());
+            assertEquals(3, reconciler.diff().unexpected.size());
+        }
+    }
+
+    @Test
+    public void withoutManifestNothingIsReconciled() throws Exception {
+        publish("A1", "B1");
+        drain();
+        assertEquals(0, reconciler.getExpected());
+        assertEquals(0, reconciler.getFound());
+        assertEquals(0, reconciler.getUnexpected());
+        assertNull(reconciler.diff());
+    }
+}
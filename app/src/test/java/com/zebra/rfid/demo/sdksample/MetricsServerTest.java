@@ -0,0 +1,125 @@
+package com.zebra.rfid.demo.sdksample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+public class MetricsServerTest {
+    private static final long BIND_TIMEOUT_MS = 2000;
+
+    private MetricsServer server;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        Metrics metrics = new Metrics();
+        metrics.counter(Metrics.TAG_READS).add(42);
+        metrics.gauge(Metrics.TAGS_UNIQUE, () -> 7);
+        metrics.histogram(Metrics.COMMAND_TIME, "us").record(1500);
+        server = new MetricsServer(metrics, 0);
+        server.start();
+        long deadline = System.currentTimeMillis() + BIND_TIMEOUT_MS;
+        while (server.getPort() < 0) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("Server did not bind");
+            Thread.sleep(10);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    /**
+     * Sends one raw request and returns the whole response; the server closes after each one.
+     */
+    private String request(String method, String path) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.setSoTimeout((int) BIND_TIMEOUT_MS);
+            OutputStream out = socket.getOutputStream();
+            out.write((method + " " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) > 0) response.write(buffer, 0, n);
+            return new String(response.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String statusLine(String response) {
+        return response.substring(0, response.indexOf("\r\n"));
+    }
+
+    private static String body(String response) {
+        return response.substring(response.indexOf("\r\n\r\n") + 4);
+    }
+
+    @Test
+    public void servesPrometheusText() throws IOException {
+        String response = request("GET", "/metrics");
+        assertEquals("HTTP/1.1 200 OK", statusLine(response));
+        assertTrue(response.contains("Content-Type: " + MetricsExporter.PROMETHEUS_CONTENT_TYPE));
+        String body = body(response);
+        assertTrue(body, body.contains("# TYPE rfid_" + Metrics.TAG_READS + " counter\nrfid_" + Metrics.TAG_READS + " 42\n"));
+        assertTrue(body, body.contains("rfid_" + Metrics.TAGS_UNIQUE + " 7\n"));
+        assertTrue(body, body.contains("rfid_" + Metrics.COMMAND_TIME + "_count 1\n"));
+    }
+
+    @Test
+    public void servesJson() throws IOException {
+        String response = request("GET", "/metrics.json?pretty");
+        assertEquals("HTTP/1.1 200 OK", statusLine(response));
+        assertTrue(response.contains("Content-Type: " + MetricsExporter.JSON_CONTENT_TYPE));
+        String body = body(response);
+        assertTrue(body, body.startsWith("{") && body.trim().endsWith("}"));
+        assertTrue(body, body.contains("\"" + Metrics.TAG_READS + "\":42"));
+        assertTrue(body, body.contains("\"" + Metrics.TAGS_UNIQUE + "\":7"));
+    }
+
+    @Test
+    public void contentLengthMatchesBody() throws IOException {
+        String response = request("GET", "/metrics");
+        String header = "Content-Length: ";
+        int start = response.indexOf(header) + header.length();
+        int length = Integer.parseInt(response.substring(start, response.indexOf("\r\n", start)));
+        assertEquals(length, body(response).getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void headSendsHeadersOnly() throws IOException {
+        String response = request("HEAD", "/metrics");
+        assertEquals("HTTP/1.1 200 OK", statusLine(response));
+        assertEquals("", body(response));
+    }
+
+    @Test
+    public void unknownPathIsNotFound() throws IOException {
+        assertEquals("HTTP/1.1 404 Not Found", statusLine(request("GET", "/")));
+        assertEquals("HTTP/1.1 404 Not Found", statusLine(request("GET", "/metrics/extra")));
+    }
+
+    @Test
+    public void otherMethodsAreNotAllowed() throws IOException {
+        assertEquals("HTTP/1.1 405 Method Not Allowed", statusLine(request("POST", "/metrics")));
+        assertEquals("HTTP/1.1 405 Method Not Allowed", statusLine(request("DELETE", "/metrics.json")));
+    }
+
+    @Test
+    public void servesRequestsOneAfterAnother() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            assertEquals("HTTP/1.1 200 OK", statusLine(request("GET", "/metrics")));
+        }
+    }
+}
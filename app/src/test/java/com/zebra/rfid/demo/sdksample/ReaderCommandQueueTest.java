@@ -0,0 +1,143 @@
+package com.zebra.rfid.demo.sdksample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ReaderCommandQueueTest {
+    private ReaderCommandExecutor lane;
+    private ReaderCommandQueue queue;
+    private final Metrics metrics = new Metrics();
+    private final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        lane = new ReaderCommandExecutor(metrics);
+        queue = new ReaderCommandQueue(lane, 1000, metrics);
+        // Holds the lane so that everything submitted by a test is pending at once.
+        lane.run("block", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 0);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        lane.shutdown();
+    }
+
+    private Callable<Boolean> action(String name, boolean result) {
+        return () -> {
+            executed.add(name);
+            return result;
+        };
+    }
+
+    private static boolean await(CompletableFuture<Boolean> future) throws Exception {
+        return future.get(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void startStopStartCollapsesToOneStart() throws Exception {
+        CompletableFuture<Boolean> start1 = queue.startInventory(action("start1", true));
+        CompletableFuture<Boolean> stop = queue.stopInventory(action("stop", true));
+        CompletableFuture<Boolean> start2 = queue.startInventory(action("start2", true));
+        release.countDown();
+
+        assertTrue(await(start2));
+        assertFalse("first start was overridden by the stop", await(start1));
+        assertFalse("stop was overridden by the second start", await(stop));
+        assertEquals(Collections.singletonList("start2"), executed);
+        assertEquals(3, metrics.value(Metrics.COMMANDS_SUBMITTED));
+        assertEquals(2, metrics.value(Metrics.COMMANDS_COALESCED));
+    }
+
+    @Test
+    public void droppedStopDoesNotTakeTheStartResult() throws Exception {
+        CompletableFuture<Boolean> stop = queue.stopInventory(action("stop", true));
+        CompletableFuture<Boolean> start = queue.startInventory(action("start", true));
+        release.countDown();
+
+        assertTrue(await(start));
+        assertFalse(await(stop));
+        assertEquals(Collections.singletonList("start"), executed);
+    }
+
+    @Test
+    public void duplicateStopsRunOnce() throws Exception {
+        CompletableFuture<Boolean> stop1 = queue.stopInventory(action("stop1", true));
+        CompletableFuture<Boolean> stop2 = queue.stopInventory(action("stop2", true));
+        release.countDown();
+
+        assertTrue(await(stop1));
+        assertTrue(await(stop2));
+        assertEquals(Collections.singletonList("stop2"), executed);
+    }
+
+    @Test
+    public void configWriteKeepsItsPositionAheadOfInventory() throws Exception {
+        CompletableFuture<Boolean> trigger1 = queue.config("trigger", action("trigger1", true));
+        CompletableFuture<Boolean> start = queue.startInventory(action("start", true));
+        CompletableFuture<Boolean> trigger2 = queue.config("trigger", action("trigger2", true));
+        release.countDown();
+
+        assertTrue(await(start));
+        assertTrue(await(trigger1));
+        assertTrue(await(trigger2));
+        assertEquals(Arrays.asList("trigger2", "start"), executed);
+        assertEquals(1, metrics.value(Metrics.COMMANDS_COALESCED));
+    }
+
+    @Test
+    public void configWritesWithOtherKeysAreKept() throws Exception {
+        queue.config("trigger", action("trigger", true));
+        queue.config("power", action("power", true));
+        CompletableFuture<Boolean> last = queue.config("session", action("session", false));
+        release.countDown();
+
+        assertFalse(await(last));
+        assertEquals(Arrays.asList("trigger", "power", "session"), executed);
+        assertEquals(0, metrics.value(Metrics.COMMANDS_COALESCED));
+    }
+
+    @Test
+    public void inventoryRunBehindConfigIsNotMergedAcrossIt() throws Exception {
+        queue.stopInventory(action("stop", true));
+        queue.config("trigger", action("trigger", true));
+        CompletableFuture<Boolean> start = queue.startInventory(action("start", true));
+        release.countDown();
+
+        assertTrue(await(start));
+        assertEquals(Arrays.asList("stop", "trigger", "start"), executed);
+    }
+
+    @Test
+    public void failedCommandFailsOnlyItsFuture() throws Exception {
+        CompletableFuture<Boolean> failing = queue.config("trigger", () -> {
+            throw new IllegalStateException("reader gone");
+        });
+        CompletableFuture<Boolean> next = queue.startInventory(action("start", true));
+        release.countDown();
+
+        assertTrue(await(next));
+        assertTrue(failing.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,87 @@
+package com.zebra.rfid.demo.sdksample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class ShipmentManifestTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File write(String... lines) throws IOException {
+        File file = folder.newFile();
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            for (String line : lines) out.println(line);
+        }
+        return file;
+    }
+
+    @Test
+    public void interleavedDuplicatesCountOnce() throws IOException {
+        ShipmentManifest manifest = ShipmentManifest.load(write("A", "A", "B", "C", "B"));
+        assertEquals(3, manifest.size());
+        assertEquals("A", manifest.epcAt(manifest.indexOf("A")));
+        assertEquals("B", manifest.epcAt(manifest.indexOf("B")));
+        assertEquals("C", manifest.epcAt(manifest.indexOf("C")));
+    }
+
+    @Test
+    public void randomDuplicatesGiveOneDenseIndexPerEpc() throws IOException {
+        Random random = new Random(48);
+        for (int trial = 0; trial < 20; trial++) {
+            String[] lines = new String[2000];
+            Set<String> distinct = new HashSet<>();
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = String.format("E280%020X", random.nextInt(1100));
+                distinct.add(lines[i]);
+            }
+            ShipmentManifest manifest = ShipmentManifest.load(write(lines));
+            assertEquals(distinct.size(), manifest.size());
+            Set<Integer> indexes = new HashSet<>();
+            for (String epc : distinct) {
+                int index = manifest.indexOf(epc);
+                assertTrue(index >= 0 && index < manifest.size());
+                assertEquals(epc, manifest.epcAt(index));
+                indexes.add(index);
+            }
+            assertEquals(distinct.size(), indexes.size());
+        }
+    }
+
+    @Test
+    public void readsFirstCsvColumnAndSkipsCommentsHeaderAndBlankLines() throws IOException {
+        ShipmentManifest manifest = ShipmentManifest.load(write(
+                "epc,description", "# pallet 1", "", "3074257bf7194e4000001a85,case", " 3174257BF4499602D2000000 "));
+        assertEquals(2, manifest.size());
+        // Lookups ignore case; reports are upper case.
+        assertEquals("3074257BF7194E4000001A85", manifest.epcAt(manifest.indexOf("3074257BF7194E4000001A85")));
+        assertTrue(manifest.indexOf("3174257bf4499602d2000000") >= 0);
+        assertEquals(-1, manifest.indexOf("3374257BF40C0E400000162E"));
+        assertEquals(-1, manifest.indexOf("not hex"));
+    }
+
+    @Test
+    public void keepsLeadingZerosOfLongEpcs() throws IOException {
+        String epc = "000000000000000000000000000000AB";
+        ShipmentManifest manifest = ShipmentManifest.load(write(epc, "AB"));
+        assertEquals(2, manifest.size());
+        assertEquals(epc, manifest.epcAt(manifest.indexOf(epc)));
+        assertEquals("AB", manifest.epcAt(manifest.indexOf("AB")));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsFileWithoutEpcs() throws IOException {
+        ShipmentManifest.load(write("# nothing", "epc"));
+    }
+}
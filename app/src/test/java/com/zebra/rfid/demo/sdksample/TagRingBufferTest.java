@@ -0,0 +1,284 @@
+package com.zebra.rfid.demo.sdksample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TagRingBufferTest {
+    private static final long TIMEOUT_MS = 2000;
+
+    private TagRingBuffer ring;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (ring != null) ring.shutdown(TIMEOUT_MS);
+    }
+
+    /**
+     * Collects reads; {@link #awaitReads(int)} waits until at least that many arrived.
+     */
+    private static class Recorder implements TagRingBuffer.Handler {
+        final List<String> epcs = new ArrayList<>();
+        final List<Short> rssis = new ArrayList<>();
+        final List<Long> timestamps = new ArrayList<>();
+
+        @Override
+        public synchronized void onRead(String epc, short rssi, long timestamp) {
+            epcs.add(epc);
+            rssis.add(rssi);
+            timestamps.add(timestamp);
+            notifyAll();
+        }
+
+        @Override
+        public void onEndOfBatch() {
+        }
+
+        synchronized void awaitReads(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            while (epcs.size() < count) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) throw new AssertionError("Got " + epcs.size() + " of " + count + " reads");
+                wait(left);
+            }
+        }
+    }
+
+    @Test
+    public void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(8, new TagRingBuffer(8, WaitStrategy.blocking()).capacity());
+        assertEquals(16, new TagRingBuffer(9, WaitStrategy.blocking()).capacity());
+        assertEquals(4, new TagRingBuffer(3, WaitStrategy.blocking()).capacity());
+    }
+
+    @Test
+    public void readsAreInvisibleUntilPublished() {
+        ring = new TagRingBuffer(8, WaitStrategy.blocking());
+        assertEquals(-1, ring.getCursor());
+        ring.add("A", (short) 0, 0);
+        ring.add("B", (short) 0, 0);
+        assertEquals(-1, ring.getCursor());
+        ring.publish();
+        assertEquals(1, ring.getCursor());
+    }
+
+    @Test
+    public void fieldsSurviveTheRoundTrip() throws Exception {
+        ring = new TagRingBuffer(8, WaitStrategy.blocking());
+        Recorder recorder = new Recorder();
+        ring.addConsumer("test", recorder, null).start();
+
+        long timestamp = (1L << 47) - 1;
+        ring.add("E200A1", (short) -71, timestamp);
+        ring.publish();
+        recorder.awaitReads(1);
+
+        assertEquals("E200A1", recorder.epcs.get(0));
+        assertEquals(Short.valueOf((short) -71), recorder.rssis.get(0));
+        assertEquals(Long.valueOf(timestamp), recorder.timestamps.get(0));
+    }
+
+    @Test
+    public void wrapsAroundTheRingInOrder() throws Exception {
+        ring = new TagRingBuffer(8, WaitStrategy.blocking());
+        Recorder recorder = new Recorder();
+        TagRingBuffer.Consumer consumer = ring.addConsumer("test", recorder, null);
+        consumer.start();
+
+        int total = 0;
+        for (int batch = 0; batch < 25; batch++) {
+            for (int i = 0; i < 5; i++, total++) ring.add("T" + total, (short) 0, total);
+            ring.publish();
+            // Stay within capacity of the consumer so nothing is overwritten.
+            recorder.awaitReads(total);
+        }
+
+        assertEquals(total, recorder.epcs.size());
+        for (int i = 0; i < total; i++) assertEquals("T" + i, recorder.epcs.get(i));
+        assertEquals(0, consumer.getDropped());
+    }
+
+    @Test
+    public void slowConsumerSkipsOverwrittenReadsWithoutBlockingProducer() throws Exception {
+        ring = new TagRingBuffer(8, WaitStrategy.blocking());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onRead(String epc, short rssi, long timestamp) {
+                if (epc.equals("T0")) {
+                    entered.countDown();
+                    try {
+                        gate.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.onRead(epc, rssi, timestamp);
+            }
+        };
+        TagRingBuffer.Consumer consumer = ring.addConsumer("slow", recorder, null);
+        consumer.start();
+
+        ring.add("T0", (short) 0, 0);
+        ring.publish();
+        assertTrue(entered.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        // The consumer is stuck in T0; the producer laps it without waiting.
+        int total = 1;
+        for (; total < 40; total++) ring.add("T" + total, (short) 0, total);
+        ring.publish();
+        gate.countDown();
+
+        // T0 was already in hand. Of the rest, only the last capacity reads are still in the ring.
+        recorder.awaitReads(1 + ring.capacity());
+        Thread.sleep(50);
+        assertEquals(1 + ring.capacity(), recorder.epcs.size());
+        assertEquals("T0", recorder.epcs.get(0));
+        for (int i = 1; i <= ring.capacity(); i++) {
+            assertEquals("T" + (total - ring.capacity() + i - 1), recorder.epcs.get(i));
+        }
+        assertEquals(total - 1 - ring.capacity(), consumer.getDropped());
+        assertEquals(0, consumer.getBacklog());
+    }
+
+    @Test
+    public void dependentConsumerNeverOvertakesItsDependency() throws Exception {
+        ring = new TagRingBuffer(64, WaitStrategy.blocking());
+        Recorder first = new Recorder();
+        List<String> violations = new ArrayList<>();
+        Recorder second = new Recorder() {
+            @Override
+            public void onRead(String epc, short rssi, long timestamp) {
+                synchronized (first) {
+                    if (!first.epcs.contains(epc)) violations.add(epc);
+                }
+                super.onRead(epc, rssi, timestamp);
+            }
+        };
+        TagRingBuffer.Consumer upstream = ring.addConsumer("first", first, null);
+        ring.addConsumer("second", second, upstream).start();
+        upstream.start();
+
+        for (int i = 0; i < 50; i++) {
+            ring.add("T" + i, (short) 0, i);
+            ring.publish();
+        }
+        second.awaitReads(50);
+        assertTrue("Read before dependency: " + violations, violations.isEmpty());
+    }
+
+    @Test
+    public void shutdownDrainsPublishedReadsBeforeEnding() throws Exception {
+        ring = new TagRingBuffer(64, WaitStrategy.blocking());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        List<String> events = new ArrayList<>();
+        TagRingBuffer.Handler slow = new TagRingBuffer.Handler() {
+            @Override
+            public void onRead(String epc, short rssi, long timestamp) {
+                if (epc.equals("T0")) {
+                    entered.countDown();
+                    try {
+                        gate.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                events.add(epc);
+            }
+
+            @Override
+            public void onEndOfBatch() {
+            }
+
+            @Override
+            public void onShutdown() {
+                events.add("shutdown");
+            }
+        };
+        Recorder downstream = new Recorder();
+        TagRingBuffer.Consumer upstream = ring.addConsumer("slow", slow, null);
+        ring.addConsumer("downstream", downstream, upstream).start();
+        upstream.start();
+
+        ring.add("T0", (short) 0, 0);
+        ring.publish();
+        assertTrue(entered.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        for (int i = 1; i < 20; i++) ring.add("T" + i, (short) 0, i);
+        ring.publish();
+
+        // Shutdown waits on the stalled stage instead of cutting it off.
+        Thread release = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            gate.countDown();
+        });
+        release.start();
+        assertTrue(ring.shutdown(TIMEOUT_MS));
+        ring = null;
+
+        assertEquals(21, events.size());
+        for (int i = 0; i < 20; i++) assertEquals("T" + i, events.get(i));
+        assertEquals("shutdown", events.get(20));
+        assertEquals(20, downstream.epcs.size());
+    }
+
+    @Test
+    public void shutdownReportsStageThatDoesNotEnd() throws Exception {
+        ring = new TagRingBuffer(8, WaitStrategy.blocking());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        ring.addConsumer("stuck", new TagRingBuffer.Handler() {
+            @Override
+            public void onRead(String epc, short rssi, long timestamp) {
+                entered.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void onEndOfBatch() {
+            }
+        }, null).start();
+        ring.add("T0", (short) 0, 0);
+        ring.publish();
+        assertTrue(entered.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        assertFalse(ring.shutdown(50));
+        gate.countDown();
+        ring = null;
+    }
+
+    @Test
+    public void alertRunsEndOfBatchWithoutReads() throws Exception {
+        ring = new TagRingBuffer(8, WaitStrategy.blocking());
+        CountDownLatch endOfBatch = new CountDownLatch(1);
+        TagRingBuffer.Consumer consumer = ring.addConsumer("alert", new TagRingBuffer.Handler() {
+            @Override
+            public void onRead(String epc, short rssi, long timestamp) {
+            }
+
+            @Override
+            public void onEndOfBatch() {
+                endOfBatch.countDown();
+            }
+        }, null);
+        consumer.start();
+        consumer.alert();
+        assertTrue(endOfBatch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,87 @@
+package com.zebra.rfid.demo.sdksample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class TagStoreTest {
+
+    @Test
+    public void recordReturnsIndexForNewTagAndEncodedIndexForKnownTag() {
+        TagStore store = new TagStore();
+        assertEquals(0, store.record("E200A1", (short) -50, 10));
+        assertEquals(1, store.record("E200A2", (short) -60, 20));
+        assertEquals(-1, store.record("E200A1", (short) -45, 30));
+        assertEquals(-1 - 1, store.record("E200A2", (short) -70, 40));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void repeatedReadsUpdateColumns() {
+        TagStore store = new TagStore();
+        store.record("E200A1", (short) -50, 10);
+        store.record("E200A1", (short) -42, 25);
+        store.record("E200A1", (short) -48, 30);
+
+        assertEquals("E200A1", store.getEpc(0));
+        assertEquals(-48, store.getRssi(0));
+        assertEquals(10, store.getFirstSeen(0));
+        assertEquals(30, store.getLastSeen(0));
+        assertEquals(3, store.getReadCount(0));
+    }
+
+    @Test
+    public void indexOfFindsOnlyRecordedTags() {
+        TagStore store = new TagStore();
+        store.record("E200A1", (short) 0, 0);
+        store.record("E200A2", (short) 0, 0);
+        assertEquals(0, store.indexOf("E200A1"));
+        assertEquals(1, store.indexOf("E200A2"));
+        assertEquals(-1, store.indexOf("E200A3"));
+        // Equal content, different instance.
+        assertEquals(1, store.indexOf(new String("E200A2")));
+    }
+
+    @Test
+    public void growsPastInitialCapacityKeepingIndexes() {
+        TagStore store = new TagStore();
+        int count = 5000;
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, store.record(epc(i), (short) i, i));
+        }
+        assertEquals(count, store.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, store.indexOf(epc(i)));
+            assertEquals(epc(i), store.getEpc(i));
+            assertEquals((short) i, store.getRssi(i));
+            assertEquals(i, store.getFirstSeen(i));
+        }
+        assertEquals(-1 - 4321, store.record(epc(4321), (short) 0, 9999));
+        assertEquals(2, store.getReadCount(4321));
+    }
+
+    @Test
+    public void clearEmptiesStoreAndAdvancesGeneration() {
+        TagStore store = new TagStore();
+        store.record("E200A1", (short) 0, 0);
+        store.record("E200A2", (short) 0, 0);
+        int generation = store.getGeneration();
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(generation + 1, store.getGeneration());
+        assertEquals(-1, store.indexOf("E200A1"));
+        assertNull(store.getEpc(0));
+
+        // Indexes are reused from 0 after a clear.
+        assertEquals(0, store.record("E200A2", (short) 0, 5));
+        assertEquals(1, store.getReadCount(0));
+        assertEquals(5, store.getFirstSeen(0));
+        assertEquals(generation + 1, store.getGeneration());
+    }
+
+    private static String epc(int i) {
+        return String.format("E28011700000020%09X", i);
+    }
+}
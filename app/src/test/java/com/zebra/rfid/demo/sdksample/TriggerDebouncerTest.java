@@ -0,0 +1,133 @@
+package com.zebra.rfid.demo.sdksample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TriggerDebouncerTest {
+    private static final long HOLD = 100;
+    private static final long SUPPRESS = 40;
+    private static final long INTERVAL = 200;
+
+    private TriggerDebouncer debouncer;
+
+    @Before
+    public void setUp() {
+        debouncer = new TriggerDebouncer();
+        debouncer.configure(HOLD, SUPPRESS, INTERVAL);
+    }
+
+    /** Releases at {@code timestampMs} and commits the deferred release as the caller would. */
+    private boolean releaseAndCommit(long timestampMs) {
+        long delay = debouncer.onRelease(timestampMs);
+        if (delay == TriggerDebouncer.IGNORE_RELEASE) return false;
+        return debouncer.commitRelease(debouncer.getReleaseGeneration());
+    }
+
+    @Test
+    public void cleanPressAndReleaseStartAndStop() {
+        assertTrue(debouncer.onPress(1000));
+        assertEquals(SUPPRESS, debouncer.onRelease(1500));
+        assertTrue(debouncer.commitRelease(debouncer.getReleaseGeneration()));
+    }
+
+    @Test
+    public void pressWithinSuppressionWindowIsBounce() {
+        assertTrue(debouncer.onPress(1000));
+        long delay = debouncer.onRelease(1500);
+        int generation = debouncer.getReleaseGeneration();
+        assertEquals(SUPPRESS, delay);
+
+        // Contact reopens 10 ms later: neither the release nor the press reach the reader.
+        assertFalse(debouncer.onPress(1510));
+        assertFalse(debouncer.commitRelease(generation));
+        assertEquals(1, debouncer.getBouncesSuppressed());
+
+        // The inventory is still running, so the next real release stops it.
+        assertTrue(releaseAndCommit(1800));
+    }
+
+    @Test
+    public void repeatedPressWhileHeldIsIgnored() {
+        assertTrue(debouncer.onPress(1000));
+        assertFalse(debouncer.onPress(1005));
+        assertTrue(releaseAndCommit(1500));
+    }
+
+    @Test
+    public void releaseWithoutPressIsIgnored() {
+        assertEquals(TriggerDebouncer.IGNORE_RELEASE, debouncer.onRelease(1000));
+    }
+
+    @Test
+    public void shortPressIsHeldForMinimumTime() {
+        assertTrue(debouncer.onPress(1000));
+        // Released after 20 ms: the stop is deferred until the 100 ms hold is reached.
+        assertEquals(HOLD - 20, debouncer.onRelease(1020));
+        assertTrue(debouncer.commitRelease(debouncer.getReleaseGeneration()));
+    }
+
+    @Test
+    public void holdLongerThanSuppressionUsesSuppressionDelay() {
+        debouncer.configure(HOLD, 150, INTERVAL);
+        assertTrue(debouncer.onPress(1000));
+        assertEquals(150, debouncer.onRelease(1020));
+    }
+
+    @Test
+    public void bouncePressDuringDeferredHoldKeepsInventory() {
+        assertTrue(debouncer.onPress(1000));
+        debouncer.onRelease(1010);
+        int generation = debouncer.getReleaseGeneration();
+        assertFalse(debouncer.onPress(1030));
+        assertFalse(debouncer.commitRelease(generation));
+    }
+
+    @Test
+    public void pressesTooCloseTogetherAreRateLimited() {
+        assertTrue(debouncer.onPress(1000));
+        assertTrue(releaseAndCommit(1100));
+
+        // 150 ms after the previous accepted press: dropped together with its release.
+        assertFalse(debouncer.onPress(1150));
+        assertEquals(TriggerDebouncer.IGNORE_RELEASE, debouncer.onRelease(1180));
+        assertEquals(1, debouncer.getPressesRateLimited());
+
+        // Interval measured from the accepted press, not the swallowed one.
+        assertTrue(debouncer.onPress(1200));
+        assertTrue(releaseAndCommit(1400));
+    }
+
+    @Test
+    public void commitIsOneShot() {
+        assertTrue(debouncer.onPress(1000));
+        debouncer.onRelease(1200);
+        int generation = debouncer.getReleaseGeneration();
+        assertTrue(debouncer.commitRelease(generation));
+        assertFalse(debouncer.commitRelease(generation));
+    }
+
+    @Test
+    public void resetDropsPendingRelease() {
+        assertTrue(debouncer.onPress(1000));
+        debouncer.onRelease(1200);
+        int generation = debouncer.getReleaseGeneration();
+        debouncer.reset();
+        assertFalse(debouncer.commitRelease(generation));
+        // Rate limit history survives the reset.
+        assertFalse(debouncer.onPress(1100));
+        assertTrue(debouncer.onPress(1300));
+    }
+
+    @Test
+    public void negativeConfigurationIsClamped() {
+        debouncer.configure(-1, -1, -1);
+        assertTrue(debouncer.onPress(1000));
+        assertEquals(0, debouncer.onRelease(1000));
+        assertTrue(debouncer.commitRelease(debouncer.getReleaseGeneration()));
+        assertTrue(debouncer.onPress(1000));
+    }
+}
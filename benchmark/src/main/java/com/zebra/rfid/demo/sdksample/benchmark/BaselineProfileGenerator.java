@@ -0,0 +1,49 @@
+package com.zebra.rfid.demo.sdksample.benchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import kotlin.Unit;
+
+/**
+ * Collects the baseline profile of the app's hot paths: start, connect, inventory, trigger mode
+ * switches and barcode scans on the simulated reader.
+ * <p>
+ * Needs a rooted device or emulator, or Android 13 and later. The rule writes
+ * {@code BaselineProfileGenerator_generate-baseline-prof.txt} to the test output; copy it over
+ * {@code app/src/main/baseline-prof.txt}. Rules are limited to {@code com/zebra/} classes, the app
+ * and the reader SDK; AndroidX libraries ship their own profiles.
+ */
+@RunWith(JUnit4.class)
+public class BaselineProfileGenerator {
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+
+    @Rule
+    public final BaselineProfileRule rule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        rule.collect(ReaderFlows.PACKAGE,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                null,
+                false,
+                false,
+                line -> line.contains("Lcom/zebra/"),
+                scope -> {
+                    ReaderFlows.grantPermissions(scope);
+                    scope.pressHome();
+                    ReaderFlows.launch(scope);
+                    ReaderFlows.awaitConnected(scope.getDevice());
+                    ReaderFlows.inventory(scope.getDevice());
+                    ReaderFlows.switchTriggerModes(scope.getDevice());
+                    ReaderFlows.scanBarcode(scope.getDevice());
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,73 @@
+package com.zebra.rfid.demo.sdksample.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+import kotlin.jvm.functions.Function1;
+
+/**
+ * Frame timing of the main screen while the reader works: inventory with a filling tag list,
+ * trigger mode switches through the menu and barcode scans. Janky frames here are what users see
+ * as a stuttering list during a trigger pull.
+ */
+@RunWith(JUnit4.class)
+public class InventoryBenchmark {
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public final MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    @Test
+    public void inventory() {
+        measure(scope -> {
+            ReaderFlows.inventory(scope.getDevice());
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void triggerModes() {
+        measure(scope -> {
+            ReaderFlows.switchTriggerModes(scope.getDevice());
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void barcodeScan() {
+        measure(scope -> {
+            for (int i = 0; i < 5; i++) ReaderFlows.scanBarcode(scope.getDevice());
+            return Unit.INSTANCE;
+        });
+    }
+
+    /**
+     * Measures a flow on a freshly started, connected app compiled with the baseline profile.
+     */
+    private void measure(Function1<MacrobenchmarkScope, Unit> flow) {
+        rule.measureRepeated(ReaderFlows.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require, 0),
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    ReaderFlows.grantPermissions(scope);
+                    ReaderFlows.launch(scope);
+                    ReaderFlows.awaitConnected(scope.getDevice());
+                    return Unit.INSTANCE;
+                },
+                flow);
+    }
+}
@@ -0,0 +1,141 @@
+package com.zebra.rfid.demo.sdksample.benchmark;
+
+import android.content.Intent;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.io.IOException;
+
+/**
+ * UI flows of the sample app shared by the benchmarks and the baseline profile generator.
+ * <p>
+ * The app is launched with the simulated reader extra, so connect, inventory and scans work without
+ * a sled; the benchmark build of the app honours the extra. Views are found by resource id, menu
+ * items by their title.
+ */
+final class ReaderFlows {
+    static final String PACKAGE = "com.zebra.rfid.demo.sdksample";
+    /**
+     * Launch extra selecting the app's simulated reader; see SimulatedReader.EXTRA in the app.
+     */
+    private static final String EXTRA_SIMULATED_READER = PACKAGE + ".SIMULATED_READER";
+    private static final long CONNECT_TIMEOUT_MS = 10000;
+    private static final long UI_TIMEOUT_MS = 3000;
+    /**
+     * Inventory duration per start/stop cycle; at the simulated 600 reads/s this fills the list.
+     */
+    private static final long INVENTORY_MS = 3000;
+
+    private ReaderFlows() {
+    }
+
+    /**
+     * Grants the runtime permissions the app requests on first start, so no dialog covers the UI.
+     */
+    static void grantPermissions(MacrobenchmarkScope scope) {
+        grantPermissions(scope.getDevice());
+    }
+
+    /**
+     * @see #grantPermissions(MacrobenchmarkScope)
+     */
+    static void grantPermissions(UiDevice device) {
+        for (String permission : new String[]{"android.permission.BLUETOOTH_SCAN",
+                "android.permission.BLUETOOTH_CONNECT", "android.permission.POST_NOTIFICATIONS"}) {
+            try {
+                device.executeShellCommand("pm grant " + PACKAGE + " " + permission);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot grant " + permission, e);
+            }
+        }
+    }
+
+    /**
+     * Launches the main activity on the simulated reader and waits for its first frame.
+     */
+    static void launch(MacrobenchmarkScope scope) {
+        Intent intent = new Intent(Intent.ACTION_MAIN)
+                .setClassName(PACKAGE, PACKAGE + ".MainActivity")
+                .putExtra(EXTRA_SIMULATED_READER, true);
+        scope.startActivityAndWait(intent);
+    }
+
+    /**
+     * Cold-starts the main activity on the simulated reader from outside a benchmark, e.g. in a plain
+     * instrumentation test: the app process is killed first.
+     */
+    static void coldLaunch(UiDevice device) {
+        try {
+            device.executeShellCommand("am start -W -S -n " + PACKAGE + "/.MainActivity --ez " + EXTRA_SIMULATED_READER + " true");
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot launch " + PACKAGE, e);
+        }
+    }
+
+    /**
+     * Waits until the simulated reader is connected, shown by the Start button being enabled.
+     */
+    static void awaitConnected(UiDevice device) {
+        if (!device.wait(Until.hasObject(By.res(PACKAGE, "StartButton").enabled(true)), CONNECT_TIMEOUT_MS)) {
+            throw new AssertionError("Reader did not connect within " + CONNECT_TIMEOUT_MS + " ms");
+        }
+    }
+
+    /**
+     * Starts an inventory with the Start button, lets the tag list fill and scroll, then stops it.
+     */
+    static void inventory(UiDevice device) {
+        click(device, By.res(PACKAGE, "StartButton").enabled(true));
+        device.wait(Until.hasObject(By.res(PACKAGE, "btnStop").enabled(true)), UI_TIMEOUT_MS);
+        UiObject2 list = device.findObject(By.res(PACKAGE, "tag_list"));
+        if (list != null) {
+            // Scroll while reads arrive, the worst case for the list's frame time.
+            list.setGestureMargin(device.getDisplayWidth() / 5);
+            list.fling(Direction.DOWN);
+            list.fling(Direction.UP);
+        }
+        device.waitForIdle(INVENTORY_MS);
+        click(device, By.res(PACKAGE, "btnStop").enabled(true));
+        device.wait(Until.hasObject(By.res(PACKAGE, "StartButton").enabled(true)), UI_TIMEOUT_MS);
+    }
+
+    /**
+     * Switches the triggers to barcode, back to RFID and restores the defaults from the overflow menu.
+     */
+    static void switchTriggerModes(UiDevice device) {
+        menuItem(device, "Test Both Triggers as Barcode");
+        menuItem(device, "Test Both Triggers as RFID");
+        menuItem(device, "Restore Default Settings");
+    }
+
+    /**
+     * Scans a barcode with the Scan button and waits for the result to be shown.
+     */
+    static void scanBarcode(UiDevice device) {
+        click(device, By.res(PACKAGE, "scan").enabled(true));
+        device.wait(Until.hasObject(By.res(PACKAGE, "scanResult").textContains("4006381")), UI_TIMEOUT_MS);
+    }
+
+    private static void menuItem(UiDevice device, String title) {
+        UiObject2 overflow = device.findObject(By.desc("More options"));
+        if (overflow != null) {
+            overflow.click();
+        } else {
+            device.pressMenu();
+        }
+        click(device, By.text(title));
+        device.waitForIdle();
+    }
+
+    private static void click(UiDevice device, BySelector selector) {
+        UiObject2 view = device.wait(Until.findObject(selector), UI_TIMEOUT_MS);
+        if (view == null) throw new AssertionError("Not found: " + selector);
+        view.click();
+    }
+}
@@ -0,0 +1,63 @@
+package com.zebra.rfid.demo.sdksample.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Cold start of the main activity, without AOT compilation and with the baseline profile.
+ * <p>
+ * Reports time to initial display and, through {@code reportFullyDrawn}, to the service being
+ * bound. The difference between the two compilation modes is the gain of the baseline profile.
+ */
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public final MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public StartupBenchmark(String name, CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> compilationModes() {
+        return Arrays.asList(
+                new Object[]{"none", new CompilationMode.None()},
+                new Object[]{"baselineProfile", new CompilationMode.Partial(BaselineProfileMode.Require, 0)});
+    }
+
+    @Test
+    public void coldStart() {
+        rule.measureRepeated(ReaderFlows.PACKAGE,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    ReaderFlows.grantPermissions(scope);
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    ReaderFlows.launch(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
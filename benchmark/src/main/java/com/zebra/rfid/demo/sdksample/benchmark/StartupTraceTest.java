@@ -0,0 +1,103 @@
+package com.zebra.rfid.demo.sdksample.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checks the cold-start phases the app traces, read from its {@code startup_*_ms} gauges on the
+ * loopback metrics endpoint: every phase is reached, and each one after the phase before it.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupTraceTest {
+    /**
+     * MetricsServer.DEFAULT_PORT in the app.
+     */
+    private static final int METRICS_PORT = 9464;
+    private static final long METRICS_TIMEOUT_MS = 5000;
+    /**
+     * StartupTrace.Phase in declaration order, which is the expected order.
+     */
+    private static final String[] PHASES = {"activity_create", "ui_ready", "first_frame", "service_create",
+            "service_ready", "sdk_loaded", "readers_found", "reader_connected"};
+    /**
+     * Reader discovery is skipped with the simulated reader.
+     */
+    private static final String SKIPPED_PHASE = "readers_found";
+
+    @Test
+    public void coldStartPhasesAreOrdered() throws Exception {
+        UiDevice device = UiDevice.getInstance(InstrumentationRegistry.getInstrumentation());
+        ReaderFlows.grantPermissions(device);
+        ReaderFlows.coldLaunch(device);
+        ReaderFlows.awaitConnected(device);
+
+        Map<String, Long> phases = awaitStartupGauges();
+        long previous = -1;
+        String previousPhase = null;
+        for (String phase : PHASES) {
+            long ms = phases.get(phase);
+            if (phase.equals(SKIPPED_PHASE)) {
+                assertEquals(phase + " with the simulated reader", -1, ms);
+                continue;
+            }
+            assertTrue(phase + " not reached: " + phases, ms >= 0);
+            assertTrue(phase + " (" + ms + " ms) before " + previousPhase + " (" + previous + " ms)", ms >= previous);
+            previous = ms;
+            previousPhase = phase;
+        }
+    }
+
+    /**
+     * Polls the endpoint until the last phase has been exported.
+     */
+    private static Map<String, Long> awaitStartupGauges() throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + METRICS_TIMEOUT_MS;
+        while (true) {
+            Map<String, Long> phases = readStartupGauges();
+            Long connected = phases.get(PHASES[PHASES.length - 1]);
+            if (phases.size() == PHASES.length && connected != null && connected >= 0) return phases;
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("Startup trace incomplete: " + phases);
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * @return Phase name to milliseconds, from the Prometheus text at /metrics.
+     */
+    private static Map<String, Long> readStartupGauges() throws IOException {
+        Map<String, Long> phases = new HashMap<>();
+        // A plain socket, since cleartext HTTP through HttpURLConnection is blocked from API 28.
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), METRICS_PORT)) {
+            OutputStream out = socket.getOutputStream();
+            out.write("GET /metrics HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.startsWith("rfid_startup_")) continue;
+                int space = line.indexOf(' ');
+                String name = line.substring("rfid_startup_".length(), space);
+                if (!name.endsWith("_ms")) continue;
+                phases.put(name.substring(0, name.length() - 3), Long.parseLong(line.substring(space + 1).trim()));
+            }
+        }
+        return phases;
+    }
+}
@@ -0,0 +1,76 @@
+#!/bin/bash
+# measure_release.sh
+# Compares the release build without and with R8: APK size, cold start time and the app's own
+# startup/ingest metrics. Builds the "benchmark" variant (release code, debug signing) twice.
+#
+# Usage: ./measure_release.sh [runs]
+#   runs       Cold starts per variant (default 10).
+#   INGEST=1   Also pause after each variant so an inventory can be run, then report ingest metrics.
+
+set -e
+
+RUNS="${1:-10}"
+PKG="com.zebra.rfid.demo.sdksample"
+ACTIVITY="$PKG/.MainActivity"
+METRICS_PORT=9464
+DEVICE_ID="${DEVICE_ID:-${ANDROID_SERIAL:-$(adb devices | awk '/\tdevice$/{print $1; exit}')}}"
+
+if [ -z "$DEVICE_ID" ]; then
+  echo "No connected Android device found."
+  exit 1
+fi
+ADB="adb -s $DEVICE_ID"
+
+metric() {
+  # Prints one value from the app's Prometheus endpoint, forwarded to the host.
+  curl -s "http://127.0.0.1:$METRICS_PORT/metrics" | awk -v name="rfid_$1" '$1 == name {print $2}'
+}
+
+measure() {
+  local label="$1" r8="$2"
+  ./gradlew -q assembleBenchmark -Pr8="$r8"
+  local apk
+  apk=$(find ./app/build/outputs/apk/benchmark -name "*.apk" | head -n 1)
+  local size
+  size=$(stat -c %s "$apk" 2>/dev/null || stat -f %z "$apk")
+
+  $ADB install -r "$apk" > /dev/null
+  # Compile as Play would after install, including the baseline profile.
+  $ADB shell cmd package compile -f -m speed-profile "$PKG" > /dev/null
+
+  local total=0
+  for i in $(seq 1 "$RUNS"); do
+    $ADB shell am force-stop "$PKG"
+    sleep 1
+    local t
+    t=$($ADB shell am start -W -n "$ACTIVITY" | awk -F': ' '/TotalTime/{print $2}' | tr -d '\r')
+    total=$((total + t))
+  done
+
+  # Startup phases of the last run, once the reader had time to connect.
+  sleep 5
+  $ADB forward tcp:$METRICS_PORT tcp:$METRICS_PORT > /dev/null
+  echo "== $label"
+  echo "APK size:              $size bytes"
+  echo "Cold start (am start): $((total / RUNS)) ms average over $RUNS runs"
+  for phase in first_frame service_ready sdk_loaded readers_found reader_connected; do
+    printf "%-22s %s ms\n" "startup $phase:" "$(metric startup_${phase}_ms)"
+  done
+
+  if [ -n "$INGEST" ]; then
+    local reads0 alloc0
+    reads0=$(metric tag_reads_total)
+    alloc0=$(metric allocated_bytes)
+    read -r -p "Run an inventory now, then press Enter... "
+    local reads alloc
+    reads=$(metric tag_reads_total)
+    alloc=$(metric allocated_bytes)
+    echo "Reads:                 $((reads - reads0))"
+    [ "$reads" -gt "$reads0" ] && echo "Allocated per read:    $(((alloc - alloc0) / (reads - reads0))) bytes"
+    curl -s "http://127.0.0.1:$METRICS_PORT/metrics.json" | grep -o '"tag_to_screen_ms":{[^}]*}'
+  fi
+  $ADB forward --remove tcp:$METRICS_PORT > /dev/null
+}
+
+measure "Without R8" false
+measure "With R8" true